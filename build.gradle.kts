@@ -1,10 +1,17 @@
 plugins {
     id("java")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "br.com.dio"
 version = "1.0-SNAPSHOT"
 
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
 repositories {
     mavenCentral()
 }
@@ -15,8 +22,70 @@ dependencies {
     implementation("org.projectlombok:lombok:1.18.34")
 
     annotationProcessor("org.projectlombok:lombok:1.18.34")
+
+    testImplementation(platform("org.junit:junit-bom:5.10.3"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+val benchmarkDatasetParameters = listOf("boards", "columns", "cardsPerBoard", "movementsPerCard")
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+    benchmarkDatasetParameters.forEach { name ->
+        providers.gradleProperty("jmh.$name").orNull?.let { value ->
+            benchmarkParameters.put(name, objects.listProperty(String::class.java).value(value.split(",")))
+        }
+    }
+    jvmArgsAppend.add(
+        "-Dboard.db.url=" + providers.gradleProperty("benchmarkDbUrl")
+            .getOrElse("jdbc:mysql://localhost/board_bench?createDatabaseIfNotExist=true&rewriteBatchedStatements=true")
+    )
+    jvmArgsAppend.add("-Dboard.storage=" + providers.gradleProperty("jmh.storage").getOrElse("mysql"))
+}
+
+val queryPlan: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += output + compileClasspath + sourceSets.main.get().runtimeClasspath
+}
+
+tasks.register<JavaExec>("queryPlanCheck") {
+    group = "verification"
+    description = "Runs EXPLAIN on every DAO statement against a seeded local database and fails on large scans or filesorts."
+    classpath = queryPlan.runtimeClasspath
+    mainClass.set("br.com.dio.queryplan.QueryPlanCheck")
+    systemProperty(
+        "board.db.url", providers.gradleProperty("queryPlanDbUrl")
+            .getOrElse("jdbc:mysql://localhost/board_plan?createDatabaseIfNotExist=true&rewriteBatchedStatements=true")
+    )
+    systemProperty("queryplan.rowThreshold", providers.gradleProperty("queryPlanRowThreshold").getOrElse("1000"))
+}
+
+val loadgen: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += output + compileClasspath + sourceSets.main.get().runtimeClasspath
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Seeds boards and cards, then drives a weighted operation mix through the services and reports throughput and latency percentiles."
+    classpath = loadgen.runtimeClasspath
+    mainClass.set("br.com.dio.loadgen.LoadGenerator")
+    systemProperty(
+        "board.db.url", providers.gradleProperty("loadDbUrl")
+            .getOrElse("jdbc:mysql://localhost/board_load?createDatabaseIfNotExist=true&rewriteBatchedStatements=true")
+    )
+    systemProperty("board.storage", providers.gradleProperty("loadStorage").getOrElse("mysql"))
+    systemProperty("loadgen.output", layout.buildDirectory.file("reports/loadgen/results.json").get().asFile.path)
+    systemProperties(providers.gradlePropertiesPrefixedBy("loadgen.").get())
+    doFirst {
+        layout.buildDirectory.dir("reports/loadgen").get().asFile.mkdirs()
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.dio.benchmark;
+
+import br.com.dio.service.CardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CardServiceBenchmark {
+
+    private Connection connection;
+    private final Map<Long, Integer> movesPerCard = new HashMap<>();
+    private SeededDatabase.SeededBoard nextBoard;
+    private Long nextCardId;
+
+    @Setup(Level.Trial)
+    public void openConnection() throws SQLException {
+        connection = getConnection();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeConnection() throws SQLException {
+        connection.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void pickCard(final SeededDatabase database) throws SQLException {
+        var random = ThreadLocalRandom.current();
+        nextBoard = database.board(random.nextInt());
+        nextCardId = nextBoard.cardIds().get(random.nextInt(nextBoard.cardIds().size()));
+        var moves = movesPerCard.getOrDefault(nextCardId, 0);
+        if (moves >= nextBoard.movesUntilFinal()) {
+            database.resetCard(nextBoard, nextCardId);
+            moves = 0;
+        }
+        movesPerCard.put(nextCardId, moves + 1);
+    }
+
+    @Benchmark
+    public void moveToNextColumn() throws SQLException {
+        new CardService(connection).moveToNextColumn(nextCardId, nextBoard.columnsInfo());
+    }
+
+}
@@ -0,0 +1,63 @@
+package br.com.dio.benchmark;
+
+import br.com.dio.dto.BoardColumnDTO;
+import br.com.dio.dto.CardDetailsDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.repository.Repositories.boardColumnRepository;
+import static br.com.dio.persistence.repository.Repositories.cardRepository;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DaoBenchmark {
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void openConnection() throws SQLException {
+        connection = getConnection();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeConnection() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public Optional<CardDetailsDTO> cardFindById(final SeededDatabase database) throws SQLException {
+        var random = ThreadLocalRandom.current();
+        var board = database.board(random.nextInt());
+        var cardId = board.cardIds().get(random.nextInt(board.cardIds().size()));
+        return cardRepository(connection).findById(cardId);
+    }
+
+    @Benchmark
+    public List<BoardColumnDTO> boardColumnFindByBoardIdWithDetails(final SeededDatabase database) throws SQLException {
+        var board = database.board(ThreadLocalRandom.current().nextInt());
+        return boardColumnRepository(connection).findByBoardIdWithDetails(board.boardId());
+    }
+
+}
@@ -0,0 +1,59 @@
+package br.com.dio.benchmark;
+
+import br.com.dio.dto.BoardTimeReportDTO;
+import br.com.dio.dto.CardBlockReportDTO;
+import br.com.dio.service.ReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ReportServiceBenchmark {
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void openConnection() throws SQLException {
+        connection = getConnection();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeConnection() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public BoardTimeReportDTO generateBoardTimeReport(final SeededDatabase database) throws SQLException {
+        var board = database.board(ThreadLocalRandom.current().nextInt());
+        return new ReportService(connection).generateBoardTimeReport(board.boardId());
+    }
+
+    @Benchmark
+    public List<CardBlockReportDTO> generateBlockReport(final SeededDatabase database) throws SQLException {
+        var board = database.board(ThreadLocalRandom.current().nextInt());
+        return new ReportService(connection).generateBlockReport(board.boardId());
+    }
+
+}
@@ -0,0 +1,216 @@
+package br.com.dio.benchmark;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.config.JdbcStorageEngine;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.entity.CardMovementEntity;
+import br.com.dio.persistence.migration.MigrationStrategy;
+import br.com.dio.service.BoardColumnCounterService;
+import br.com.dio.service.BoardService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.config.ConnectionConfig.getStorageEngine;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+import static br.com.dio.persistence.repository.Repositories.blockRepository;
+import static br.com.dio.persistence.repository.Repositories.cardMovementRepository;
+import static br.com.dio.persistence.repository.Repositories.cardRepository;
+
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    @Param({"1"})
+    public int boards;
+
+    @Param({"5"})
+    public int columns;
+
+    @Param({"1000"})
+    public int cardsPerBoard;
+
+    @Param({"4"})
+    public int movementsPerCard;
+
+    private final List<SeededBoard> seededBoards = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void seed() throws SQLException {
+        if (columns < 3) {
+            throw new IllegalArgumentException("A board needs at least an initial, a final and a cancel column");
+        }
+        if (getStorageEngine().requiresMigration()) {
+            try (var connection = getConnection()) {
+                new MigrationStrategy(connection).executeMigration();
+            }
+        }
+        for (int b = 0; b < boards; b++) {
+            var board = createBoard("benchmark-" + b);
+            var cardIds = insertCards(board);
+            insertMovements(board, cardIds);
+            insertBlocks(cardIds);
+            seededBoards.add(new SeededBoard(board.getId(), toColumnsInfo(board), cardIds));
+        }
+        try (var connection = getConnection()) {
+            new BoardColumnCounterService(connection).rebuild();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws SQLException {
+        if (!(getStorageEngine() instanceof JdbcStorageEngine)) {
+            seededBoards.clear();
+            return;
+        }
+        try (var connection = getConnection();
+             var movements = connection.prepareStatement(
+                     "DELETE cm FROM CARD_MOVEMENTS cm JOIN BOARDS_COLUMNS bc ON cm.to_column_id = bc.id WHERE bc.board_id = ?;");
+             var board = connection.prepareStatement("DELETE FROM BOARDS WHERE id = ?;")) {
+            for (var seeded : seededBoards) {
+                movements.setLong(1, seeded.boardId());
+                movements.executeUpdate();
+                board.setLong(1, seeded.boardId());
+                board.executeUpdate();
+            }
+            connection.commit();
+        }
+        seededBoards.clear();
+    }
+
+    public List<SeededBoard> getSeededBoards() {
+        return seededBoards;
+    }
+
+    public SeededBoard board(final int index) {
+        return seededBoards.get(Math.floorMod(index, seededBoards.size()));
+    }
+
+    public void resetCard(final SeededBoard board, final Long cardId) throws SQLException {
+        try (var connection = getConnection()) {
+            var cards = cardRepository(connection);
+            var version = cards.findById(cardId).orElseThrow().version();
+            cards.moveToColumn(board.initialColumnId(), cardId, version);
+            connection.commit();
+        }
+    }
+
+    private BoardEntity createBoard(final String name) throws SQLException {
+        var entity = new BoardEntity();
+        entity.setName(name);
+        var boardColumns = new ArrayList<BoardColumnEntity>();
+        boardColumns.add(column("Backlog", INITIAL, 0));
+        for (int i = 1; i <= columns - 3; i++) {
+            boardColumns.add(column("Doing " + i, PENDING, i));
+        }
+        boardColumns.add(column("Done", FINAL, columns - 2));
+        boardColumns.add(column("Canceled", CANCEL, columns - 1));
+        entity.setBoardColumns(boardColumns);
+        try (var connection = getConnection()) {
+            return new BoardService(connection).insert(entity);
+        }
+    }
+
+    private List<Long> insertCards(final BoardEntity board) throws SQLException {
+        var cardIds = new ArrayList<Long>(cardsPerBoard);
+        try (var connection = getConnection()) {
+            var cards = cardRepository(connection);
+            for (int from = 0; from < cardsPerBoard; from += BATCH_SIZE) {
+                var chunk = new ArrayList<CardEntity>(BATCH_SIZE);
+                for (int c = from; c < Math.min(from + BATCH_SIZE, cardsPerBoard); c++) {
+                    var card = new CardEntity();
+                    card.setTitle("Card " + c);
+                    card.setDescription("Seeded card " + c + " of board " + board.getName());
+                    card.setBoardColumn(board.getInitialColumn());
+                    chunk.add(card);
+                }
+                cards.insertAll(chunk).forEach(card -> cardIds.add(card.getId()));
+                connection.commit();
+            }
+        }
+        return cardIds;
+    }
+
+    private void insertMovements(final BoardEntity board, final List<Long> cardIds) throws SQLException {
+        var workflow = board.getBoardColumns().stream()
+                .filter(c -> !c.getKind().equals(CANCEL))
+                .toList();
+        var start = OffsetDateTime.now().minus(Duration.ofDays(30));
+        try (var connection = getConnection()) {
+            var movementRepository = cardMovementRepository(connection);
+            var pending = new ArrayList<CardMovementEntity>(BATCH_SIZE);
+            for (var cardId : cardIds) {
+                for (int m = 0; m < movementsPerCard; m++) {
+                    var movement = new CardMovementEntity();
+                    movement.setCardId(cardId);
+                    movement.setFromColumnId(workflow.get(m % (workflow.size() - 1)).getId());
+                    movement.setToColumnId(workflow.get(m % (workflow.size() - 1) + 1).getId());
+                    movement.setMovedAt(start.plus(Duration.ofHours(m * 7L + cardId % 24)));
+                    pending.add(movement);
+                    if (pending.size() == BATCH_SIZE) {
+                        movementRepository.recordMovements(pending);
+                        connection.commit();
+                        pending.clear();
+                    }
+                }
+            }
+            movementRepository.recordMovements(pending);
+            connection.commit();
+        }
+    }
+
+    private void insertBlocks(final List<Long> cardIds) throws SQLException {
+        try (var connection = getConnection()) {
+            var blocks = blockRepository(connection);
+            for (int i = 0; i < cardIds.size(); i += 10) {
+                blocks.block("Waiting on review", cardIds.get(i), 0);
+                blocks.unblock("Reviewed", cardIds.get(i), 1);
+            }
+            connection.commit();
+        }
+    }
+
+    private static List<BoardColumnInfoDTO> toColumnsInfo(final BoardEntity board) {
+        return board.getBoardColumns().stream()
+                .map(c -> new BoardColumnInfoDTO(c.getId(), c.getOrder(), c.getKind()))
+                .toList();
+    }
+
+    private static BoardColumnEntity column(final String name, final BoardColumnKindEnum kind, final int order) {
+        var column = new BoardColumnEntity();
+        column.setName(name);
+        column.setKind(kind);
+        column.setOrder(order);
+        return column;
+    }
+
+    public record SeededBoard(Long boardId, List<BoardColumnInfoDTO> columnsInfo, List<Long> cardIds) {
+
+        public Long initialColumnId() {
+            return columnsInfo.stream().filter(c -> c.kind().equals(INITIAL)).findFirst().orElseThrow().id();
+        }
+
+        public int movesUntilFinal() {
+            return (int) columnsInfo.stream().filter(c -> !c.kind().equals(CANCEL)).count() - 1;
+        }
+
+    }
+
+}
@@ -0,0 +1,204 @@
+package br.com.dio.loadgen;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.json.JsonWriter;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.migration.MigrationStrategy;
+import br.com.dio.service.BoardService;
+import br.com.dio.service.CardService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.config.ConnectionConfig.getStorageEngine;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+
+public class LoadGenerator {
+
+    private final LoadGeneratorSettings settings;
+    private final List<SeededBoard> seededBoards = new ArrayList<>();
+    private final List<List<Long>> cardsPerWorker = new ArrayList<>();
+
+    public LoadGenerator(final LoadGeneratorSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws SQLException, IOException, InterruptedException {
+        var settings = LoadGeneratorSettings.fromSystemProperties();
+        if (System.getProperty("board.pool.maxSize") == null) {
+            System.setProperty("board.pool.maxSize", String.valueOf(settings.workers() + 2));
+        }
+        var generator = new LoadGenerator(settings);
+        generator.seed();
+        var report = generator.run();
+        print(report);
+        if (settings.output() != null) {
+            Files.writeString(settings.output(), JsonWriter.write(report));
+            System.out.printf("JSON report written to %s\n", settings.output());
+        }
+        System.exit(report.operations().stream().anyMatch(operation -> operation.failed() > 0) ? 1 : 0);
+    }
+
+    public void seed() throws SQLException {
+        if (getStorageEngine().requiresMigration()) {
+            try (var connection = getConnection()) {
+                new MigrationStrategy(connection).executeMigration();
+            }
+        }
+        var start = System.nanoTime();
+        for (int w = 0; w < settings.workers(); w++) {
+            cardsPerWorker.add(new ArrayList<>());
+        }
+        for (int b = 0; b < settings.boards(); b++) {
+            try (var connection = getConnection()) {
+                var board = new BoardService(connection).insert(newBoard("load-" + b));
+                var cards = new ArrayList<CardEntity>(settings.cardsPerBoard());
+                for (int c = 0; c < settings.cardsPerBoard(); c++) {
+                    var card = new CardEntity();
+                    card.setTitle("Seeded card %s-%s".formatted(b, c));
+                    card.setDescription("Load generator seed card %s on board %s".formatted(c, b));
+                    card.setBoardColumn(board.getInitialColumn());
+                    cards.add(card);
+                }
+                new CardService(connection).createAll(cards);
+                seededBoards.add(SeededBoard.of(board));
+                distribute(b, cards);
+            }
+        }
+        System.out.printf("Seeded %s board(s) with %s card(s) each in %s ms\n", settings.boards(),
+                settings.cardsPerBoard(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    public LoadReport run() throws InterruptedException {
+        var start = System.nanoTime();
+        var measureFrom = start + settings.warmup().toNanos();
+        var deadline = measureFrom + settings.duration().toNanos();
+        var workers = new ArrayList<LoadWorker>(settings.workers());
+        var threads = new ArrayList<Thread>(settings.workers());
+        for (int w = 0; w < settings.workers(); w++) {
+            var worker = new LoadWorker(w, settings, seededBoards.get(w % seededBoards.size()),
+                    cardsPerWorker.get(w), measureFrom, deadline);
+            workers.add(worker);
+            threads.add(Thread.ofPlatform().name("load-worker-" + w).start(worker));
+        }
+        System.out.printf("Running %s worker(s) %s for %ss after a %ss warmup\n", settings.workers(),
+                settings.closedLoop() ? "closed-loop" : "at %.1f ops/s".formatted(settings.rate()),
+                settings.duration().toSeconds(), settings.warmup().toSeconds());
+        reportIntervals(workers, measureFrom, deadline);
+        for (var thread : threads) {
+            thread.join();
+        }
+        var elapsed = Duration.ofNanos(Math.min(System.nanoTime(), deadline) - measureFrom);
+        var totals = LoadWorker.statsByOperation();
+        workers.forEach(worker -> worker.drainTotal(totals));
+        return toReport(totals, elapsed);
+    }
+
+    private void reportIntervals(final List<LoadWorker> workers, final long measureFrom, final long deadline)
+            throws InterruptedException {
+        var interval = settings.reportInterval().toNanos();
+        if (interval <= 0) {
+            return;
+        }
+        var sleepUntil = measureFrom + interval;
+        while (sleepUntil <= deadline) {
+            Thread.sleep(Duration.ofNanos(Math.max(0, sleepUntil - System.nanoTime())));
+            var stats = LoadWorker.statsByOperation();
+            workers.forEach(worker -> worker.drainInterval(stats));
+            var seconds = interval / 1e9;
+            var line = new StringBuilder("[%5ss]".formatted((sleepUntil - measureFrom) / 1_000_000_000L));
+            for (var entry : stats.entrySet()) {
+                var result = entry.getValue().toResult(entry.getKey(), seconds);
+                if (result.completed() + result.rejected() + result.failed() > 0) {
+                    line.append(" %s %.0f/s p99=%sus".formatted(entry.getKey().name().toLowerCase(),
+                            result.throughput(), result.p99Micros()));
+                }
+            }
+            System.out.println(line);
+            sleepUntil += interval;
+        }
+    }
+
+    private LoadReport toReport(final Map<LoadOperation, OperationStats> totals, final Duration elapsed) {
+        var seconds = elapsed.toNanos() / 1e9;
+        var operations = totals.entrySet().stream()
+                .filter(entry -> settings.mix().getOrDefault(entry.getKey(), 0) > 0)
+                .map(entry -> entry.getValue().toResult(entry.getKey(), seconds))
+                .toList();
+        var executed = totals.values().stream().mapToLong(OperationStats::executed).sum();
+        return new LoadReport(settings, getStorageEngine().getClass().getSimpleName(), elapsed,
+                seconds > 0 ? executed / seconds : 0, operations);
+    }
+
+    private void distribute(final int boardIndex, final List<CardEntity> cards) {
+        var owners = new ArrayList<Integer>();
+        for (int w = boardIndex; w < settings.workers(); w += settings.boards()) {
+            owners.add(w);
+        }
+        if (owners.isEmpty()) {
+            return;
+        }
+        for (int c = 0; c < cards.size(); c++) {
+            cardsPerWorker.get(owners.get(c % owners.size())).add(cards.get(c).getId());
+        }
+    }
+
+    private static void print(final LoadReport report) {
+        System.out.printf("\n%s over %.1fs on %s: %.1f ops/s\n", report.settings().closedLoop() ? "Closed-loop" : "Open-loop",
+                report.elapsed().toNanos() / 1e9, report.storage(), report.throughput());
+        System.out.printf("%-8s %10s %9s %7s %8s %10s %9s %9s %9s %9s %9s\n", "op", "completed", "rejected",
+                "failed", "skipped", "ops/s", "mean(us)", "p50(us)", "p99(us)", "p999(us)", "max(us)");
+        for (var operation : report.operations()) {
+            System.out.printf("%-8s %10s %9s %7s %8s %10.1f %9s %9s %9s %9s %9s\n",
+                    operation.operation().name().toLowerCase(), operation.completed(), operation.rejected(),
+                    operation.failed(), operation.skipped(), operation.throughput(), operation.meanMicros(),
+                    operation.p50Micros(), operation.p99Micros(), operation.p999Micros(), operation.maxMicros());
+        }
+    }
+
+    private static BoardEntity newBoard(final String name) {
+        var board = new BoardEntity();
+        board.setName(name);
+        board.setBoardColumns(List.of(
+                column("Backlog", INITIAL, 0),
+                column("Doing", PENDING, 1),
+                column("Review", PENDING, 2),
+                column("Done", FINAL, 3),
+                column("Canceled", CANCEL, 4)
+        ));
+        return board;
+    }
+
+    private static BoardColumnEntity column(final String name, final BoardColumnKindEnum kind, final int order) {
+        var column = new BoardColumnEntity();
+        column.setName(name);
+        column.setKind(kind);
+        column.setOrder(order);
+        return column;
+    }
+
+    record SeededBoard(Long id, BoardColumnEntity initialColumn, BoardColumnEntity cancelColumn,
+                       List<BoardColumnInfoDTO> columnsInfo) {
+
+        static SeededBoard of(final BoardEntity board) {
+            var columnsInfo = board.getBoardColumns().stream()
+                    .map(column -> new BoardColumnInfoDTO(column.getId(), column.getOrder(), column.getKind()))
+                    .toList();
+            return new SeededBoard(board.getId(), board.getInitialColumn(), board.getCancelColumn(), columnsInfo);
+        }
+
+    }
+
+}
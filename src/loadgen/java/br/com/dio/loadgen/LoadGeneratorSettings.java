@@ -0,0 +1,75 @@
+package br.com.dio.loadgen;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+public record LoadGeneratorSettings(int workers,
+                                    int boards,
+                                    int cardsPerBoard,
+                                    Duration warmup,
+                                    Duration duration,
+                                    Duration reportInterval,
+                                    double rate,
+                                    Map<LoadOperation, Integer> mix,
+                                    long seed,
+                                    Path output) {
+
+    public static final String DEFAULT_MIX = "create:10,move:40,block:10,unblock:10,cancel:5,report:5";
+
+    public LoadGeneratorSettings {
+        if (workers < 1 || boards < 1) {
+            throw new IllegalArgumentException("At least one worker and one board are required");
+        }
+        if (rate < 0) {
+            throw new IllegalArgumentException("The target rate cannot be negative");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() < 1) {
+            throw new IllegalArgumentException("The operation mix needs at least one positive weight");
+        }
+    }
+
+    public static LoadGeneratorSettings fromSystemProperties() {
+        var output = System.getProperty("loadgen.output");
+        return new LoadGeneratorSettings(
+                Integer.getInteger("loadgen.workers", 8),
+                Integer.getInteger("loadgen.boards", 4),
+                Integer.getInteger("loadgen.cardsPerBoard", 1_000),
+                Duration.ofSeconds(Long.getLong("loadgen.warmupSeconds", 10L)),
+                Duration.ofSeconds(Long.getLong("loadgen.durationSeconds", 60L)),
+                Duration.ofSeconds(Long.getLong("loadgen.reportIntervalSeconds", 10L)),
+                Double.parseDouble(System.getProperty("loadgen.rate", "0")),
+                parseMix(System.getProperty("loadgen.mix", DEFAULT_MIX)),
+                Long.getLong("loadgen.seed", 42L),
+                isNull(output) || output.isBlank() ? null : Path.of(output)
+        );
+    }
+
+    public boolean closedLoop() {
+        return rate == 0;
+    }
+
+    static Map<LoadOperation, Integer> parseMix(final String mix) {
+        var weights = new EnumMap<LoadOperation, Integer>(LoadOperation.class);
+        for (var entry : mix.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            var parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '%s', expected operation:weight".formatted(entry));
+            }
+            var weight = Integer.parseInt(parts[1].strip());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights cannot be negative: '%s'".formatted(entry));
+            }
+            weights.put(LoadOperation.parse(parts[0]), weight);
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+
+}
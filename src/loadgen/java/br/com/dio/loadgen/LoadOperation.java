@@ -0,0 +1,16 @@
+package br.com.dio.loadgen;
+
+public enum LoadOperation {
+
+    CREATE,
+    MOVE,
+    BLOCK,
+    UNBLOCK,
+    CANCEL,
+    REPORT;
+
+    public static LoadOperation parse(final String name) {
+        return valueOf(name.strip().toUpperCase());
+    }
+
+}
@@ -0,0 +1,14 @@
+package br.com.dio.loadgen;
+
+public record LoadOperationResult(LoadOperation operation,
+                                  long completed,
+                                  long rejected,
+                                  long failed,
+                                  long skipped,
+                                  double throughput,
+                                  long meanMicros,
+                                  long p50Micros,
+                                  long p99Micros,
+                                  long p999Micros,
+                                  long maxMicros) {
+}
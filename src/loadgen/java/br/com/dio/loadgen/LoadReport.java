@@ -0,0 +1,11 @@
+package br.com.dio.loadgen;
+
+import java.time.Duration;
+import java.util.List;
+
+public record LoadReport(LoadGeneratorSettings settings,
+                         String storage,
+                         Duration elapsed,
+                         double throughput,
+                         List<LoadOperationResult> operations) {
+}
@@ -0,0 +1,223 @@
+package br.com.dio.loadgen;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.service.CardService;
+import br.com.dio.service.ReportService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+
+final class LoadWorker implements Runnable {
+
+    private final int index;
+    private final LoadGeneratorSettings settings;
+    private final LoadGenerator.SeededBoard board;
+    private final long measureFrom;
+    private final long deadline;
+    private final SplittableRandom random;
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+
+    private final List<TrackedCard> open = new ArrayList<>();
+    private final List<TrackedCard> blocked = new ArrayList<>();
+    private final Map<LoadOperation, OperationStats> total = statsByOperation();
+    private final Map<LoadOperation, OperationStats> interval = statsByOperation();
+    private long created;
+
+    LoadWorker(final int index, final LoadGeneratorSettings settings, final LoadGenerator.SeededBoard board,
+               final List<Long> cardIds, final long measureFrom, final long deadline) {
+        this.index = index;
+        this.settings = settings;
+        this.board = board;
+        this.measureFrom = measureFrom;
+        this.deadline = deadline;
+        this.random = new SplittableRandom(settings.seed() + index);
+        cardIds.forEach(id -> open.add(new TrackedCard(id, 0)));
+        var weighted = settings.mix().entrySet().stream().filter(e -> e.getValue() > 0).toList();
+        this.operations = new LoadOperation[weighted.size()];
+        this.cumulativeWeights = new int[weighted.size()];
+        var sum = 0;
+        for (int i = 0; i < weighted.size(); i++) {
+            operations[i] = weighted.get(i).getKey();
+            sum += weighted.get(i).getValue();
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    @Override
+    public void run() {
+        var perWorkerRate = settings.rate() / settings.workers();
+        var intervalNanos = settings.closedLoop() ? 0 : (long) (TimeUnit.SECONDS.toNanos(1) / perWorkerRate);
+        var intended = System.nanoTime();
+        try (var connection = getConnection()) {
+            var cardService = new CardService(connection);
+            var reportService = new ReportService(connection);
+            while (intended < deadline) {
+                if (!settings.closedLoop()) {
+                    var wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+                var start = settings.closedLoop() ? System.nanoTime() : intended;
+                execute(nextOperation(), start, connection, cardService, reportService);
+                intended = settings.closedLoop() ? System.nanoTime() : intended + intervalNanos;
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    synchronized void drainInterval(final Map<LoadOperation, OperationStats> into) {
+        interval.forEach((operation, stats) -> {
+            into.get(operation).merge(stats);
+            stats.reset();
+        });
+    }
+
+    synchronized void drainTotal(final Map<LoadOperation, OperationStats> into) {
+        total.forEach((operation, stats) -> into.get(operation).merge(stats));
+    }
+
+    static Map<LoadOperation, OperationStats> statsByOperation() {
+        var stats = new EnumMap<LoadOperation, OperationStats>(LoadOperation.class);
+        for (var operation : LoadOperation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        return stats;
+    }
+
+    private LoadOperation nextOperation() {
+        var pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void execute(final LoadOperation operation, final long start, final Connection connection,
+                         final CardService cardService, final ReportService reportService) {
+        var card = switch (operation) {
+            case MOVE, BLOCK, CANCEL -> take(open);
+            case UNBLOCK -> take(blocked);
+            case CREATE, REPORT -> null;
+        };
+        if (card == null && operation != LoadOperation.CREATE && operation != LoadOperation.REPORT) {
+            record(operation, start, Outcome.SKIPPED);
+            return;
+        }
+        try {
+            switch (operation) {
+                case CREATE -> open.add(new TrackedCard(create(cardService).getId(), 0));
+                case MOVE -> {
+                    cardService.moveToNextColumn(card.id, board.columnsInfo());
+                    card.order++;
+                    if (kindOf(card.order) != FINAL) {
+                        open.add(card);
+                    }
+                }
+                case BLOCK -> {
+                    cardService.block(card.id, "Load generator block", board.columnsInfo());
+                    blocked.add(card);
+                }
+                case UNBLOCK -> {
+                    cardService.unblock(card.id, "Load generator unblock");
+                    open.add(card);
+                }
+                case CANCEL -> cardService.cancel(card.id, board.cancelColumn().getId(), board.columnsInfo());
+                case REPORT -> reportService.generateBoardTimeReport(board.id());
+            }
+            record(operation, start, Outcome.COMPLETED);
+        } catch (RuntimeException ex) {
+            record(operation, start, Outcome.REJECTED);
+        } catch (SQLException ex) {
+            rollbackQuietly(connection);
+            record(operation, start, Outcome.FAILED);
+        }
+    }
+
+    private CardEntity create(final CardService cardService) throws SQLException {
+        var card = new CardEntity();
+        card.setTitle("Load card %s-%s".formatted(index, ++created));
+        card.setDescription("Created by load worker %s".formatted(index));
+        card.setBoardColumn(board.initialColumn());
+        return cardService.create(card);
+    }
+
+    private TrackedCard take(final List<TrackedCard> cards) {
+        if (cards.isEmpty()) {
+            return null;
+        }
+        var position = random.nextInt(cards.size());
+        var last = cards.removeLast();
+        if (position == cards.size()) {
+            return last;
+        }
+        return cards.set(position, last);
+    }
+
+    private BoardColumnKindEnum kindOf(final int order) {
+        return board.columnsInfo().stream()
+                .filter(column -> column.order() == order)
+                .map(BoardColumnInfoDTO::kind)
+                .findFirst()
+                .orElse(FINAL);
+    }
+
+    private synchronized void record(final LoadOperation operation, final long start, final Outcome outcome) {
+        if (start < measureFrom) {
+            return;
+        }
+        var micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        for (var stats : List.of(total.get(operation), interval.get(operation))) {
+            switch (outcome) {
+                case COMPLETED -> stats.completed(micros);
+                case REJECTED -> stats.rejected(micros);
+                case FAILED -> stats.failed(micros);
+                case SKIPPED -> stats.skipped();
+            }
+        }
+    }
+
+    private static void rollbackQuietly(final Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private enum Outcome {
+        COMPLETED,
+        REJECTED,
+        FAILED,
+        SKIPPED
+    }
+
+    private static final class TrackedCard {
+
+        private final long id;
+        private int order;
+
+        private TrackedCard(final long id, final int order) {
+            this.id = id;
+            this.order = order;
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package br.com.dio.loadgen;
+
+import br.com.dio.metrics.LogHistogram;
+
+final class OperationStats {
+
+    private final LogHistogram latencyMicros = new LogHistogram();
+    private long completed;
+    private long rejected;
+    private long failed;
+    private long skipped;
+
+    void completed(final long micros) {
+        latencyMicros.record(micros);
+        completed++;
+    }
+
+    void rejected(final long micros) {
+        latencyMicros.record(micros);
+        rejected++;
+    }
+
+    void failed(final long micros) {
+        latencyMicros.record(micros);
+        failed++;
+    }
+
+    void skipped() {
+        skipped++;
+    }
+
+    OperationStats merge(final OperationStats other) {
+        latencyMicros.merge(other.latencyMicros);
+        completed += other.completed;
+        rejected += other.rejected;
+        failed += other.failed;
+        skipped += other.skipped;
+        return this;
+    }
+
+    void reset() {
+        latencyMicros.reset();
+        completed = 0;
+        rejected = 0;
+        failed = 0;
+        skipped = 0;
+    }
+
+    long executed() {
+        return completed + rejected + failed;
+    }
+
+    LoadOperationResult toResult(final LoadOperation operation, final double seconds) {
+        return new LoadOperationResult(
+                operation,
+                completed,
+                rejected,
+                failed,
+                skipped,
+                seconds > 0 ? executed() / seconds : 0,
+                latencyMicros.mean(),
+                latencyMicros.percentile(50),
+                latencyMicros.percentile(99),
+                latencyMicros.percentile(99.9),
+                latencyMicros.max()
+        );
+    }
+
+}
@@ -1,20 +1,126 @@
 package br.com.dio;
 
+import br.com.dio.api.ApiServer;
+import br.com.dio.api.ApiServerSettings;
+import br.com.dio.metrics.StartupPhases;
+import br.com.dio.persistence.config.ConnectionConfig;
+import br.com.dio.persistence.config.StorageEngine;
+import br.com.dio.persistence.journal.JournalCardMovementRepository;
+import br.com.dio.persistence.memory.InMemoryStorageEngine;
 import br.com.dio.persistence.migration.MigrationStrategy;
+import br.com.dio.service.CardSearchService;
+import br.com.dio.service.archive.CardArchiver;
+import br.com.dio.service.archive.CardArchiverSettings;
 import br.com.dio.ui.MainMenu;
 
+import java.io.IOException;
 import java.sql.SQLException;
 
 import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.repository.Repositories.cardMovementRepository;
 
 
 public class Main {
 
-    public static void main(String[] args) throws SQLException {
-        try(var connection = getConnection()){
-            new MigrationStrategy(connection).executeMigration();
+    public static void main(String[] args) throws SQLException, IOException {
+        var startup = new StartupPhases();
+        var command = args.length > 0 ? args[0] : "";
+        if (command.equals("serve") && System.getProperty("board.pool.borrowTimeoutMs") == null) {
+            // requests that got past the API semaphore should not wait on the pool longer than they queued for it
+            System.setProperty("board.pool.borrowTimeoutMs", System.getProperty("board.api.queueTimeoutMs", "2000"));
+        }
+        var engine = startup.measure("storage engine", ConnectionConfig::getStorageEngine);
+        if (engine instanceof InMemoryStorageEngine memory && memory.getReplayedTransactions() > 0) {
+            System.out.printf("Replayed %s transactions from the write-ahead log\n", memory.getReplayedTransactions());
+        }
+        if (command.equals("migrate")) {
+            migrate(engine, startup);
+            System.out.println(startup);
+            return;
+        }
+        if (engine.requiresMigration()) {
+            startup.measure("schema check", Main::migrateIfNeeded);
+        }
+        startup.measure("movement journal", Main::importMovementHistory);
+        startup.measure("search index", Main::buildSearchIndex);
+        if (StartupPhases.enabled()) {
+            System.out.println(startup);
+        }
+        startArchiver(engine);
+        if (command.equals("serve")) {
+            serve();
+            return;
         }
         new MainMenu().execute();
     }
 
+    private static boolean migrateIfNeeded() throws SQLException {
+        try (var connection = getConnection()) {
+            var migration = new MigrationStrategy(connection);
+            if (Boolean.parseBoolean(System.getProperty("board.migration.auto", "true"))) {
+                return migration.executeMigration();
+            }
+            if (!migration.isCurrent()) {
+                throw new IllegalStateException(
+                        "The database schema is out of date, run the application with the 'migrate' argument");
+            }
+            return false;
+        }
+    }
+
+    private static void migrate(final StorageEngine engine, final StartupPhases startup) throws SQLException {
+        if (!engine.requiresMigration()) {
+            System.out.println("The selected storage engine has no schema to migrate");
+            return;
+        }
+        var migrated = startup.measure("migration", () -> {
+            try (var connection = getConnection()) {
+                return new MigrationStrategy(connection).migrate();
+            }
+        });
+        System.out.println(migrated ?
+                "Database schema is up to date" :
+                "Database migration failed, see liquibase.log for details");
+    }
+
+    private static long importMovementHistory() throws SQLException {
+        try (var connection = getConnection()) {
+            if (cardMovementRepository(connection) instanceof JournalCardMovementRepository journal) {
+                var reconciled = journal.reconcileInDoubt();
+                if (reconciled > 0) {
+                    System.out.printf("Reconciled %s in-doubt movement journal records\n", reconciled);
+                }
+                var imported = journal.importTableIfEmpty();
+                if (imported > 0) {
+                    System.out.printf("Imported %s card movements into the movement journal\n", imported);
+                }
+                return imported;
+            }
+            return 0;
+        }
+    }
+
+    private static long buildSearchIndex() throws SQLException {
+        try (var connection = getConnection()) {
+            return new CardSearchService(connection).rebuildIndex();
+        }
+    }
+
+    private static void startArchiver(final StorageEngine engine) {
+        var settings = CardArchiverSettings.fromSystemProperties();
+        if (!settings.enabled()) {
+            return;
+        }
+        var archiver = new CardArchiver(engine, settings);
+        Runtime.getRuntime().addShutdownHook(new Thread(archiver::close, "card-archiver-shutdown"));
+        archiver.start();
+    }
+
+    private static void serve() throws IOException {
+        var server = new ApiServer(ApiServerSettings.fromSystemProperties());
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "api-server-shutdown"));
+        server.start();
+        System.out.printf("Board API listening on %s\n", server.getAddress());
+    }
+
 }
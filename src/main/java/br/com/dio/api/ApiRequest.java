@@ -0,0 +1,135 @@
+package br.com.dio.api;
+
+import br.com.dio.json.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+
+public class ApiRequest {
+
+    private final HttpExchange exchange;
+    private final Matcher path;
+    private final Map<String, String> query;
+    private Map<String, Object> body;
+
+    ApiRequest(final HttpExchange exchange, final Matcher path) {
+        this.exchange = exchange;
+        this.path = path;
+        this.query = parseQuery(exchange.getRequestURI().getRawQuery());
+    }
+
+    public HttpExchange getExchange() {
+        return exchange;
+    }
+
+    public Long pathId(final String name) {
+        try {
+            return Long.valueOf(path.group(name));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid %s: %s".formatted(name, path.group(name)));
+        }
+    }
+
+    public String query(final String name, final String defaultValue) {
+        return query.getOrDefault(name, defaultValue);
+    }
+
+    public int queryInt(final String name, final int defaultValue) {
+        var value = query.get(name);
+        return isNull(value) ? defaultValue : Integer.parseInt(value);
+    }
+
+    public OffsetDateTime queryTime(final String name) {
+        var value = query.get(name);
+        try {
+            return isNull(value) || value.isBlank() ? null : OffsetDateTime.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid %s: %s".formatted(name, value));
+        }
+    }
+
+    public List<Long> queryLongs(final String name) {
+        var value = query.get(name);
+        if (isNull(value) || value.isBlank()) {
+            throw new IllegalArgumentException("Query parameter '%s' is required".formatted(name));
+        }
+        try {
+            return Arrays.stream(value.split(",")).map(String::trim).map(Long::valueOf).toList();
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid %s: %s".formatted(name, value));
+        }
+    }
+
+    public String string(final String field) {
+        if (body().get(field) instanceof String value && !value.isBlank()) {
+            return value;
+        }
+        throw new IllegalArgumentException("Field '%s' is required".formatted(field));
+    }
+
+    public String string(final String field, final String defaultValue) {
+        return body().get(field) instanceof String value ? value : defaultValue;
+    }
+
+    public List<Long> longs(final String field) {
+        if (!(body().get(field) instanceof List<?> values)) {
+            throw new IllegalArgumentException("Field '%s' must be an array".formatted(field));
+        }
+        return values.stream()
+                .map(v -> {
+                    if (v instanceof Number number) {
+                        return number.longValue();
+                    }
+                    throw new IllegalArgumentException("Field '%s' must only contain numbers".formatted(field));
+                })
+                .toList();
+    }
+
+    public List<String> strings(final String field) {
+        if (isNull(body().get(field))) {
+            return List.of();
+        }
+        if (!(body().get(field) instanceof List<?> values)) {
+            throw new IllegalArgumentException("Field '%s' must be an array".formatted(field));
+        }
+        return values.stream().map(String::valueOf).toList();
+    }
+
+    private Map<String, Object> body() {
+        if (isNull(body)) {
+            try (var input = exchange.getRequestBody()) {
+                var text = new String(input.readAllBytes(), UTF_8);
+                body = text.isBlank() ? Map.of() : JsonParser.parseObject(text);
+            } catch (IOException ex) {
+                throw new IllegalArgumentException("Could not read request body", ex);
+            }
+        }
+        return body;
+    }
+
+    private static Map<String, String> parseQuery(final String rawQuery) {
+        var parameters = new HashMap<String, String>();
+        if (isNull(rawQuery) || rawQuery.isBlank()) {
+            return parameters;
+        }
+        for (var pair : rawQuery.split("&")) {
+            var separator = pair.indexOf('=');
+            var name = separator < 0 ? pair : pair.substring(0, separator);
+            var value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, UTF_8), URLDecoder.decode(value, UTF_8));
+        }
+        return parameters;
+    }
+
+}
@@ -0,0 +1,39 @@
+package br.com.dio.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+
+public record ApiResponse(int status, Object body) {
+
+    public static ApiResponse ok(final Object body) {
+        return new ApiResponse(200, body);
+    }
+
+    public static ApiResponse created(final Object body) {
+        return new ApiResponse(201, body);
+    }
+
+    public static ApiResponse noContent() {
+        return new ApiResponse(204, null);
+    }
+
+    public static ApiResponse notFound(final String message) {
+        return new ApiResponse(404, new ErrorBody(message));
+    }
+
+    public static ApiResponse streaming(final BodyWriter writer) {
+        return new ApiResponse(200, writer);
+    }
+
+    public record ErrorBody(String error) {
+    }
+
+    @FunctionalInterface
+    public interface BodyWriter {
+
+        void writeTo(final OutputStream output) throws IOException, SQLException;
+
+    }
+
+}
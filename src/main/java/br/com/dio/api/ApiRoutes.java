@@ -0,0 +1,362 @@
+package br.com.dio.api;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.dto.BoardTimeReportDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.json.JsonWriter;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.instrument.SqlMetrics;
+import br.com.dio.persistence.journal.MovementJournal;
+import br.com.dio.persistence.writebehind.MovementWriteBehind;
+import br.com.dio.service.BoardColumnQueryService;
+import br.com.dio.service.BoardReportProgress;
+import br.com.dio.service.BoardQueryService;
+import br.com.dio.service.BoardService;
+import br.com.dio.service.CardQueryService;
+import br.com.dio.service.CardSearchService;
+import br.com.dio.service.CardService;
+import br.com.dio.service.CycleTimeService;
+import br.com.dio.service.MultiBoardReportService;
+import br.com.dio.service.ReportService;
+import br.com.dio.service.cache.BoardSnapshot;
+import br.com.dio.service.cache.BoardSnapshotCache;
+import br.com.dio.service.concurrency.OptimisticRetry;
+import lombok.AllArgsConstructor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.config.ConnectionConfig.getPoolMetrics;
+import static br.com.dio.persistence.config.ConnectionConfig.getQueryStats;
+import static br.com.dio.persistence.config.ConnectionConfig.getSqlMetrics;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@AllArgsConstructor
+class ApiRoutes {
+
+    private static final String ID = "(?<id>\\d+)";
+    private static final String CARD_ID = "(?<cardId>\\d+)";
+    private static final String COLUMN_ID = "(?<columnId>\\d+)";
+
+    private final ApiServer server;
+
+    void register() {
+        server.route("POST", "/boards", this::createBoard);
+        server.route("GET", "/boards/" + ID, this::showBoard);
+        server.route("DELETE", "/boards/" + ID, this::deleteBoard);
+        server.route("GET", "/boards/" + ID + "/columns/" + COLUMN_ID + "/cards", this::listColumnCards);
+        server.route("POST", "/boards/" + ID + "/cards", this::createCard);
+        server.route("POST", "/boards/" + ID + "/cards/move", this::moveCards);
+        server.route("POST", "/boards/" + ID + "/cards/cancel", this::cancelCards);
+        server.route("POST", "/boards/" + ID + "/cards/" + CARD_ID + "/move", this::moveCard);
+        server.route("POST", "/boards/" + ID + "/cards/" + CARD_ID + "/cancel", this::cancelCard);
+        server.route("POST", "/boards/" + ID + "/cards/" + CARD_ID + "/block", this::blockCard);
+        server.route("POST", "/cards/" + CARD_ID + "/unblock", this::unblockCard);
+        server.route("GET", "/cards/" + CARD_ID, this::showCard);
+        server.route("GET", "/cards/search", request -> searchCards(request, null));
+        server.route("GET", "/boards/" + ID + "/cards/search", request -> searchCards(request, request.pathId("id")));
+        server.route("GET", "/boards/" + ID + "/reports/time", this::timeReport);
+        server.route("GET", "/boards/" + ID + "/reports/blocks", this::blockReport);
+        server.route("GET", "/boards/" + ID + "/reports/cycle-time", this::cycleTimeReport);
+        server.route("GET", "/reports/cycle-time", this::crossBoardCycleTimeReport);
+        server.route("GET", "/reports/time", this::crossBoardTimeReport);
+        server.route("GET", "/reports/blocks", this::crossBoardBlockReport);
+        server.route("GET", "/metrics", request -> ApiResponse.ok(metrics()));
+        server.route("GET", "/metrics/sql", request -> ApiResponse.ok(getSqlMetrics()
+                .map(SqlMetrics::stats)
+                .orElse(List.of())));
+        server.route("GET", "/metrics/queries", request -> ApiResponse.ok(getQueryStats()));
+    }
+
+    private ApiResponse createBoard(final ApiRequest request) throws SQLException {
+        var entity = new BoardEntity();
+        entity.setName(request.string("name"));
+        List<BoardColumnEntity> columns = new ArrayList<>();
+        columns.add(column(request.string("initialColumn"), INITIAL, 0));
+        var pendingColumns = request.strings("pendingColumns");
+        for (int i = 0; i < pendingColumns.size(); i++) {
+            columns.add(column(pendingColumns.get(i), PENDING, i + 1));
+        }
+        columns.add(column(request.string("finalColumn"), FINAL, pendingColumns.size() + 1));
+        columns.add(column(request.string("cancelColumn"), CANCEL, pendingColumns.size() + 2));
+        entity.setBoardColumns(columns);
+        try (var connection = getConnection()) {
+            new BoardService(connection).insert(entity);
+            return ApiResponse.created(BoardSnapshot.of(entity));
+        }
+    }
+
+    private ApiResponse showBoard(final ApiRequest request) throws SQLException {
+        var id = request.pathId("id");
+        try (var connection = getConnection()) {
+            return new BoardQueryService(connection).showBoardDetails(id)
+                    .map(ApiResponse::ok)
+                    .orElseGet(() -> ApiResponse.notFound("No board found with ID %s".formatted(id)));
+        }
+    }
+
+    private ApiResponse deleteBoard(final ApiRequest request) throws SQLException {
+        var id = request.pathId("id");
+        try (var connection = getConnection()) {
+            return new BoardService(connection).delete(id) ?
+                    ApiResponse.noContent() :
+                    ApiResponse.notFound("No board found with ID %s".formatted(id));
+        }
+    }
+
+    private ApiResponse listColumnCards(final ApiRequest request) throws SQLException {
+        var columnId = request.pathId("columnId");
+        try (var connection = getConnection()) {
+            var board = snapshot(connection, request.pathId("id"));
+            if (board.columns().stream().noneMatch(c -> c.id().equals(columnId))) {
+                throw new EntityNotFoundException("Column %s does not belong to board %s".formatted(columnId, board.id()));
+            }
+            var page = new BoardColumnQueryService(connection)
+                    .findCardsPage(columnId, request.queryInt("pageSize", 50), request.query("pageToken", null));
+            return ApiResponse.ok(page);
+        }
+    }
+
+    private ApiResponse createCard(final ApiRequest request) throws SQLException {
+        var card = new CardEntity();
+        card.setTitle(request.string("title"));
+        card.setDescription(request.string("description", ""));
+        try (var connection = getConnection()) {
+            card.setBoardColumn(snapshot(connection, request.pathId("id")).toEntity().getInitialColumn());
+            new CardService(connection).create(card);
+        }
+        var body = new LinkedHashMap<String, Object>();
+        body.put("id", card.getId());
+        body.put("title", card.getTitle());
+        body.put("description", card.getDescription());
+        body.put("columnId", card.getBoardColumn().getId());
+        return ApiResponse.created(body);
+    }
+
+    private ApiResponse moveCard(final ApiRequest request) throws SQLException {
+        try (var connection = getConnection()) {
+            var board = snapshot(connection, request.pathId("id"));
+            new CardService(connection).moveToNextColumn(request.pathId("cardId"), board.columnsInfo());
+            return ApiResponse.noContent();
+        }
+    }
+
+    private ApiResponse cancelCard(final ApiRequest request) throws SQLException {
+        try (var connection = getConnection()) {
+            var board = snapshot(connection, request.pathId("id"));
+            new CardService(connection).cancel(request.pathId("cardId"), cancelColumnId(board), board.columnsInfo());
+            return ApiResponse.noContent();
+        }
+    }
+
+    private ApiResponse moveCards(final ApiRequest request) throws SQLException {
+        var cardIds = request.longs("cardIds");
+        try (var connection = getConnection()) {
+            var board = snapshot(connection, request.pathId("id"));
+            return ApiResponse.ok(new CardService(connection).moveAllToNextColumn(cardIds, board.columnsInfo()));
+        }
+    }
+
+    private ApiResponse cancelCards(final ApiRequest request) throws SQLException {
+        var cardIds = request.longs("cardIds");
+        try (var connection = getConnection()) {
+            var board = snapshot(connection, request.pathId("id"));
+            return ApiResponse.ok(new CardService(connection).cancelAll(cardIds, cancelColumnId(board), board.columnsInfo()));
+        }
+    }
+
+    private ApiResponse blockCard(final ApiRequest request) throws SQLException {
+        var reason = request.string("reason");
+        try (var connection = getConnection()) {
+            var board = snapshot(connection, request.pathId("id"));
+            new CardService(connection).block(request.pathId("cardId"), reason, board.columnsInfo());
+            return ApiResponse.noContent();
+        }
+    }
+
+    private ApiResponse unblockCard(final ApiRequest request) throws SQLException {
+        var reason = request.string("reason");
+        try (var connection = getConnection()) {
+            new CardService(connection).unblock(request.pathId("cardId"), reason);
+            return ApiResponse.noContent();
+        }
+    }
+
+    private ApiResponse showCard(final ApiRequest request) throws SQLException {
+        var cardId = request.pathId("cardId");
+        try (var connection = getConnection()) {
+            return new CardQueryService(connection).findById(cardId)
+                    .map(ApiResponse::ok)
+                    .orElseGet(() -> ApiResponse.notFound("No card found with ID %s".formatted(cardId)));
+        }
+    }
+
+    private ApiResponse searchCards(final ApiRequest request, final Long boardId) throws SQLException {
+        var query = request.query("q", "");
+        if (query.isBlank()) {
+            throw new IllegalArgumentException("Query parameter 'q' is required");
+        }
+        try (var connection = getConnection()) {
+            return ApiResponse.ok(new CardSearchService(connection)
+                    .search(query, boardId, request.queryInt("limit", CardSearchService.DEFAULT_LIMIT)));
+        }
+    }
+
+    private ApiResponse timeReport(final ApiRequest request) throws SQLException {
+        try (var connection = getConnection()) {
+            var report = new ReportService(connection)
+                    .generateBoardTimeReport(request.pathId("id"), includeArchived(request));
+            return ApiResponse.ok(timeReportBody(report));
+        }
+    }
+
+    private static Map<String, Object> timeReportBody(final BoardTimeReportDTO report) {
+        var cards = report.cards().stream()
+                .map(c -> Map.of(
+                        "cardTitle", c.getCardTitle(),
+                        "timePerColumn", c.getTimePerColumn(),
+                        "totalTime", c.getTotalTime()))
+                .toList();
+        var body = new LinkedHashMap<String, Object>();
+        body.put("boardId", report.boardId());
+        body.put("boardName", report.boardName());
+        body.put("averageCompletionTime", report.averageCompletionTime());
+        body.put("cards", cards);
+        return body;
+    }
+
+    private ApiResponse cycleTimeReport(final ApiRequest request) throws SQLException {
+        var boardId = request.pathId("id");
+        try (var connection = getConnection()) {
+            snapshot(connection, boardId);
+            var service = new CycleTimeService(connection);
+            return ApiResponse.ok(service.generateReport(boardId, request.queryTime("from"), request.queryTime("to")));
+        }
+    }
+
+    private ApiResponse crossBoardCycleTimeReport(final ApiRequest request) throws SQLException {
+        var boardIds = request.queryLongs("boards");
+        try (var connection = getConnection()) {
+            for (var boardId : boardIds) {
+                snapshot(connection, boardId);
+            }
+        }
+        return ApiResponse.ok(CycleTimeService.generateReport(MultiBoardReportService.fromSystemProperties(), boardIds,
+                request.queryTime("from"), request.queryTime("to")));
+    }
+
+    private ApiResponse crossBoardTimeReport(final ApiRequest request) throws SQLException {
+        var reports = MultiBoardReportService.fromSystemProperties();
+        var result = reports.timeReports(boardIds(request, reports), BoardReportProgress.NONE);
+        var body = new LinkedHashMap<String, Object>();
+        body.put("reports", result.reports().values().stream().map(ApiRoutes::timeReportBody).toList());
+        body.put("failures", result.failures());
+        body.put("cancelled", result.cancelled());
+        body.put("elapsed", result.elapsed());
+        return ApiResponse.ok(body);
+    }
+
+    private ApiResponse crossBoardBlockReport(final ApiRequest request) throws SQLException {
+        var reports = MultiBoardReportService.fromSystemProperties();
+        return ApiResponse.ok(reports.blockReports(boardIds(request, reports), BoardReportProgress.NONE));
+    }
+
+    private static List<Long> boardIds(final ApiRequest request, final MultiBoardReportService reports)
+            throws SQLException {
+        if (request.query("boards", "").isBlank()) {
+            return reports.findAllBoardIds();
+        }
+        var boardIds = request.queryLongs("boards");
+        try (var connection = getConnection()) {
+            for (var boardId : boardIds) {
+                snapshot(connection, boardId);
+            }
+        }
+        return boardIds;
+    }
+
+    private ApiResponse blockReport(final ApiRequest request) throws SQLException {
+        var boardId = request.pathId("id");
+        var includeArchived = includeArchived(request);
+        try (var connection = getConnection()) {
+            snapshot(connection, boardId);
+        }
+        return ApiResponse.streaming(output -> {
+            var writer = new BufferedWriter(new OutputStreamWriter(output, UTF_8));
+            try (var connection = getConnection()) {
+                new ReportService(connection).streamBlockReport(boardId, includeArchived, row -> {
+                    try {
+                        writer.write(JsonWriter.write(row));
+                        writer.write('\n');
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            writer.flush();
+        });
+    }
+
+    private static boolean includeArchived(final ApiRequest request) {
+        return Boolean.parseBoolean(request.query("archived", "false"));
+    }
+
+    private Map<String, Object> metrics() {
+        var body = new LinkedHashMap<String, Object>();
+        getPoolMetrics().ifPresent(pool -> body.put("pool", pool));
+        getSqlMetrics().ifPresent(sql -> body.put("sql", Map.of(
+                "calls", sql.getCalls(),
+                "errors", sql.getErrors(),
+                "slowCalls", sql.getSlowCalls(),
+                "statements", sql.getStatementCount())));
+        body.put("boardCache", BoardSnapshotCache.shared().stats());
+        body.put("contention", OptimisticRetry.shared().stats());
+        MovementJournal.shared().ifPresent(journal -> body.put("movementJournal",
+                Map.of("records", journal.size(), "segments", journal.segmentCount())));
+        MovementWriteBehind.shared().ifPresent(writeBehind -> body.put("movementWriteBehind", writeBehind.metrics()));
+        body.put("inFlightRequests", server.getInFlight());
+        body.put("queuedRequests", server.getQueued());
+        body.put("rejectedRequests", server.getRejected());
+        return body;
+    }
+
+    private static BoardSnapshot snapshot(final Connection connection, final Long boardId) throws SQLException {
+        return new BoardQueryService(connection).findSnapshot(boardId)
+                .orElseThrow(() -> new EntityNotFoundException("No board found with ID %s".formatted(boardId)));
+    }
+
+    private static Long cancelColumnId(final BoardSnapshot board) {
+        return board.columnsInfo().stream()
+                .filter(c -> c.kind().equals(CANCEL))
+                .map(BoardColumnInfoDTO::id)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static BoardColumnEntity column(final String name, final BoardColumnKindEnum kind, final int order) {
+        var column = new BoardColumnEntity();
+        column.setName(name);
+        column.setKind(kind);
+        column.setOrder(order);
+        return column;
+    }
+
+}
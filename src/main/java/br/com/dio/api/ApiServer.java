@@ -0,0 +1,178 @@
+package br.com.dio.api;
+
+import br.com.dio.exception.CardBlockedException;
+import br.com.dio.exception.CardConcurrentModificationException;
+import br.com.dio.exception.CardFinishedException;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.json.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+public class ApiServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore inFlight;
+    private final int maxConcurrentRequests;
+    private final Duration queueTimeout;
+    private final List<Route> routes = new ArrayList<>();
+    private final LongAdder rejected = new LongAdder();
+
+    public ApiServer(final ApiServerSettings settings) throws IOException {
+        this.maxConcurrentRequests = settings.maxConcurrentRequests();
+        this.inFlight = new Semaphore(maxConcurrentRequests, true);
+        this.queueTimeout = settings.queueTimeout();
+        this.server = HttpServer.create(new InetSocketAddress(settings.host(), settings.port()), settings.backlog());
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::dispatch);
+        new ApiRoutes(this).register();
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public int getInFlight() {
+        return maxConcurrentRequests - inFlight.availablePermits();
+    }
+
+    public int getQueued() {
+        return inFlight.getQueueLength();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    void route(final String method, final String pathPattern, final RouteHandler handler) {
+        routes.add(new Route(method, Pattern.compile(pathPattern), handler));
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    private void dispatch(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!acquire()) {
+                rejected.increment();
+                send(exchange, busy());
+                return;
+            }
+            try {
+                send(exchange, handle(exchange));
+            } finally {
+                inFlight.release();
+            }
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            return inFlight.tryAcquire(queueTimeout.toMillis(), MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private ApiResponse handle(final HttpExchange exchange) {
+        var path = exchange.getRequestURI().getPath();
+        var method = exchange.getRequestMethod();
+        var pathMatched = false;
+        for (var route : routes) {
+            Matcher matcher = route.pattern().matcher(path);
+            if (!matcher.matches()) {
+                continue;
+            }
+            pathMatched = true;
+            if (!route.method().equalsIgnoreCase(method)) {
+                continue;
+            }
+            try {
+                return route.handler().handle(new ApiRequest(exchange, matcher));
+            } catch (EntityNotFoundException ex) {
+                return ApiResponse.notFound(ex.getMessage());
+            } catch (CardBlockedException | CardFinishedException | CardConcurrentModificationException |
+                     IllegalStateException ex) {
+                return new ApiResponse(409, new ApiResponse.ErrorBody(ex.getMessage()));
+            } catch (IllegalArgumentException ex) {
+                return new ApiResponse(400, new ApiResponse.ErrorBody(ex.getMessage()));
+            } catch (SQLTransientConnectionException ex) {
+                rejected.increment();
+                return busy();
+            } catch (SQLException | IOException | RuntimeException ex) {
+                ex.printStackTrace();
+                return new ApiResponse(500, new ApiResponse.ErrorBody("Internal server error"));
+            }
+        }
+        return pathMatched ?
+                new ApiResponse(405, new ApiResponse.ErrorBody("Method %s not allowed".formatted(method))) :
+                ApiResponse.notFound("No route for %s".formatted(path));
+    }
+
+    private static ApiResponse busy() {
+        return new ApiResponse(503, new ApiResponse.ErrorBody("Server is busy, retry later"));
+    }
+
+    private void send(final HttpExchange exchange, final ApiResponse response) throws IOException {
+        var headers = exchange.getResponseHeaders();
+        if (response.status() == 503) {
+            headers.set("Retry-After", "1");
+        }
+        if (response.body() instanceof ApiResponse.BodyWriter writer) {
+            headers.set("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(response.status(), 0);
+            try (var output = exchange.getResponseBody()) {
+                writer.writeTo(output);
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+            }
+            return;
+        }
+        if (response.body() == null) {
+            exchange.sendResponseHeaders(response.status(), -1);
+            return;
+        }
+        var bytes = JsonWriter.write(response.body()).getBytes(UTF_8);
+        headers.set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(response.status(), bytes.length);
+        try (var output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    @FunctionalInterface
+    interface RouteHandler {
+
+        ApiResponse handle(final ApiRequest request) throws SQLException, IOException;
+
+    }
+
+    private record Route(String method, Pattern pattern, RouteHandler handler) {
+    }
+
+}
@@ -0,0 +1,21 @@
+package br.com.dio.api;
+
+import java.time.Duration;
+
+public record ApiServerSettings(String host,
+                                int port,
+                                int backlog,
+                                int maxConcurrentRequests,
+                                Duration queueTimeout) {
+
+    public static ApiServerSettings fromSystemProperties() {
+        return new ApiServerSettings(
+                System.getProperty("board.api.host", "0.0.0.0"),
+                Integer.getInteger("board.api.port", 8080),
+                Integer.getInteger("board.api.backlog", 1_024),
+                Integer.getInteger("board.api.maxConcurrentRequests", Integer.getInteger("board.pool.maxSize", 10)),
+                Duration.ofMillis(Long.getLong("board.api.queueTimeoutMs", 2_000L))
+        );
+    }
+
+}
@@ -0,0 +1,12 @@
+package br.com.dio.dto;
+
+import java.time.Duration;
+
+public record BoardDumpSummaryDTO(Long boardId,
+                                  long columns,
+                                  long cards,
+                                  long blocks,
+                                  long movements,
+                                  long bytes,
+                                  Duration elapsed) {
+}
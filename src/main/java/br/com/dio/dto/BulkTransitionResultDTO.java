@@ -0,0 +1,8 @@
+package br.com.dio.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record BulkTransitionResultDTO(List<Long> transitioned,
+                                      Map<Long, CardTransitionRejectionEnum> rejected) {
+}
@@ -0,0 +1,10 @@
+package br.com.dio.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record CardArchiveChunkDTO(List<CardTextDTO> cards,
+                                  Map<Long, Integer> cardsPerColumn,
+                                  int blocks,
+                                  int movements) {
+}
@@ -0,0 +1,12 @@
+package br.com.dio.dto;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+public record CardArchiveSummaryDTO(OffsetDateTime cutoff,
+                                    long cards,
+                                    long blocks,
+                                    long movements,
+                                    int chunks,
+                                    Duration elapsed) {
+}
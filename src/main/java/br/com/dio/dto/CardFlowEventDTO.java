@@ -0,0 +1,11 @@
+package br.com.dio.dto;
+
+import java.time.OffsetDateTime;
+
+public record CardFlowEventDTO(
+        Long cardId,
+        OffsetDateTime createdAt,
+        Long fromColumnId,
+        Long toColumnId,
+        OffsetDateTime movedAt
+) {}
@@ -0,0 +1,14 @@
+package br.com.dio.dto;
+
+import java.time.Duration;
+
+public record CardImportChunkDTO(int chunk,
+                                 int cards,
+                                 Duration elapsed) {
+
+    public double cardsPerSecond() {
+        var nanos = elapsed.toNanos();
+        return nanos == 0 ? cards : cards * 1_000_000_000D / nanos;
+    }
+
+}
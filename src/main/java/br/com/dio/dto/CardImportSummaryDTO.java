@@ -0,0 +1,8 @@
+package br.com.dio.dto;
+
+import java.time.Duration;
+
+public record CardImportSummaryDTO(long cards,
+                                   int chunks,
+                                   Duration elapsed) {
+}
@@ -0,0 +1,9 @@
+package br.com.dio.dto;
+
+import java.time.Duration;
+import java.util.List;
+
+public record CardSearchResultDTO(long total,
+                                  List<CardDetailsDTO> cards,
+                                  Duration elapsed) {
+}
@@ -0,0 +1,8 @@
+package br.com.dio.dto;
+
+public record CardStateDTO(Long id,
+                           Long columnId,
+                           Long boardId,
+                           long version,
+                           boolean blocked) {
+}
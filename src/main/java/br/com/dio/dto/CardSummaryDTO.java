@@ -0,0 +1,6 @@
+package br.com.dio.dto;
+
+public record CardSummaryDTO(Long id,
+                             String title,
+                             String description) {
+}
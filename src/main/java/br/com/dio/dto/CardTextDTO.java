@@ -0,0 +1,7 @@
+package br.com.dio.dto;
+
+public record CardTextDTO(Long id,
+                          Long boardId,
+                          String title,
+                          String description) {
+}
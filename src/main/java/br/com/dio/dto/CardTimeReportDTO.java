@@ -13,5 +13,8 @@ public class CardTimeReportDTO {
 
 
     public CardTimeReportDTO(String title, Map<String, Duration> timePerColumn, Duration totalTime) {
+        this.cardTitle = title;
+        this.timePerColumn = timePerColumn;
+        this.totalTime = totalTime;
     }
 }
@@ -0,0 +1,7 @@
+package br.com.dio.dto;
+
+public enum CardTransitionRejectionEnum {
+
+    NOT_FOUND, BLOCKED, FINISHED, CANCELED, OTHER_BOARD
+
+}
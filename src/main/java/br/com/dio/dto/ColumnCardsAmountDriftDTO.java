@@ -0,0 +1,8 @@
+package br.com.dio.dto;
+
+public record ColumnCardsAmountDriftDTO(Long columnId,
+                                       Long boardId,
+                                       String columnName,
+                                       int storedAmount,
+                                       int actualAmount) {
+}
@@ -0,0 +1,15 @@
+package br.com.dio.dto;
+
+import java.util.List;
+
+import static java.util.Objects.nonNull;
+
+public record ColumnCardsPageDTO(Long columnId,
+                                 List<CardSummaryDTO> cards,
+                                 String nextPageToken) {
+
+    public boolean hasNext() {
+        return nonNull(nextPageToken);
+    }
+
+}
@@ -0,0 +1,14 @@
+package br.com.dio.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+public record CycleTimeReportDTO(
+        List<Long> boardIds,
+        OffsetDateTime from,
+        OffsetDateTime to,
+        FlowPercentilesDTO leadTime,
+        FlowPercentilesDTO cycleTime,
+        Map<String, FlowPercentilesDTO> timePerColumn
+) {}
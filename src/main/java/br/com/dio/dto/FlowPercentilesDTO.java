@@ -0,0 +1,27 @@
+package br.com.dio.dto;
+
+import br.com.dio.metrics.LogHistogram;
+
+import java.time.Duration;
+
+public record FlowPercentilesDTO(
+        long count,
+        Duration p50,
+        Duration p85,
+        Duration p95,
+        Duration p99,
+        Duration max
+) {
+
+    public static FlowPercentilesDTO of(final LogHistogram histogram) {
+        return new FlowPercentilesDTO(
+                histogram.count(),
+                Duration.ofMillis(histogram.percentile(50)),
+                Duration.ofMillis(histogram.percentile(85)),
+                Duration.ofMillis(histogram.percentile(95)),
+                Duration.ofMillis(histogram.percentile(99)),
+                Duration.ofMillis(histogram.max())
+        );
+    }
+
+}
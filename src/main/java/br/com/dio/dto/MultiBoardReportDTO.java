@@ -0,0 +1,11 @@
+package br.com.dio.dto;
+
+import java.time.Duration;
+import java.util.Map;
+
+public record MultiBoardReportDTO<T>(
+        Map<Long, T> reports,
+        Map<Long, String> failures,
+        boolean cancelled,
+        Duration elapsed
+) {}
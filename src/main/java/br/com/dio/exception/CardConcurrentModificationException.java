@@ -0,0 +1,14 @@
+package br.com.dio.exception;
+
+import lombok.Getter;
+
+@Getter
+public class CardConcurrentModificationException extends RuntimeException {
+
+    private final Long boardId;
+
+    public CardConcurrentModificationException(final Long boardId, final String message) {
+        super(message);
+        this.boardId = boardId;
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.dio.json;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class JsonParser {
+
+    private final String text;
+    private int position;
+
+    private JsonParser(final String text) {
+        this.text = text;
+    }
+
+    public static Object parse(final String text) {
+        var parser = new JsonParser(text);
+        var value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.position != text.length()) {
+            throw parser.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> parseObject(final String text) {
+        if (parse(text) instanceof Map<?, ?> map) {
+            return (Map<String, Object>) map;
+        }
+        throw new IllegalArgumentException("Expected a JSON object");
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+        if (position >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        var current = text.charAt(position);
+        return switch (current) {
+            case '{' -> readObject();
+            case '[' -> readArray();
+            case '"' -> readString();
+            case 't' -> readLiteral("true", Boolean.TRUE);
+            case 'f' -> readLiteral("false", Boolean.FALSE);
+            case 'n' -> readLiteral("null", null);
+            default -> readNumber();
+        };
+    }
+
+    private Map<String, Object> readObject() {
+        var object = new LinkedHashMap<String, Object>();
+        position++;
+        skipWhitespace();
+        if (peek('}')) {
+            position++;
+            return object;
+        }
+        do {
+            skipWhitespace();
+            if (!peek('"')) {
+                throw error("Expected a field name");
+            }
+            var name = readString();
+            skipWhitespace();
+            expect(':');
+            object.put(name, readValue());
+            skipWhitespace();
+        } while (consume(','));
+        expect('}');
+        return object;
+    }
+
+    private List<Object> readArray() {
+        var array = new ArrayList<>();
+        position++;
+        skipWhitespace();
+        if (peek(']')) {
+            position++;
+            return array;
+        }
+        do {
+            array.add(readValue());
+            skipWhitespace();
+        } while (consume(','));
+        expect(']');
+        return array;
+    }
+
+    private String readString() {
+        var builder = new StringBuilder();
+        position++;
+        while (position < text.length()) {
+            var current = text.charAt(position++);
+            if (current == '"') {
+                return builder.toString();
+            }
+            if (current != '\\') {
+                builder.append(current);
+                continue;
+            }
+            if (position >= text.length()) {
+                break;
+            }
+            var escaped = text.charAt(position++);
+            switch (escaped) {
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    if (position + 4 > text.length()) {
+                        throw error("Invalid unicode escape");
+                    }
+                    builder.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    position += 4;
+                }
+                default -> builder.append(escaped);
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private Object readLiteral(final String literal, final Object value) {
+        if (!text.startsWith(literal, position)) {
+            throw error("Unexpected token");
+        }
+        position += literal.length();
+        return value;
+    }
+
+    private Number readNumber() {
+        var start = position;
+        while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+            position++;
+        }
+        if (start == position) {
+            throw error("Unexpected character '%s'".formatted(text.charAt(position)));
+        }
+        var number = new BigDecimal(text.substring(start, position));
+        try {
+            return number.longValueExact();
+        } catch (ArithmeticException ex) {
+            return number;
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private boolean peek(final char expected) {
+        return position < text.length() && text.charAt(position) == expected;
+    }
+
+    private boolean consume(final char expected) {
+        if (peek(expected)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(final char expected) {
+        if (!consume(expected)) {
+            throw error("Expected '%s'".formatted(expected));
+        }
+    }
+
+    private IllegalArgumentException error(final String message) {
+        return new IllegalArgumentException("%s at position %s".formatted(message, position));
+    }
+
+}
@@ -0,0 +1,98 @@
+package br.com.dio.json;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+public final class JsonWriter {
+
+    private JsonWriter() {
+    }
+
+    public static String write(final Object value) {
+        var builder = new StringBuilder();
+        write(builder, value);
+        return builder.toString();
+    }
+
+    private static void write(final StringBuilder builder, final Object value) {
+        switch (value) {
+            case null -> builder.append("null");
+            case Number number -> builder.append(number);
+            case Boolean bool -> builder.append(bool);
+            case Duration duration -> builder.append(duration.toMillis());
+            case Map<?, ?> map -> {
+                builder.append('{');
+                var first = true;
+                for (var entry : map.entrySet()) {
+                    if (!first) {
+                        builder.append(',');
+                    }
+                    first = false;
+                    builder.append(quote(entry.getKey())).append(':');
+                    write(builder, entry.getValue());
+                }
+                builder.append('}');
+            }
+            case Collection<?> collection -> {
+                builder.append('[');
+                var first = true;
+                for (var item : collection) {
+                    if (!first) {
+                        builder.append(',');
+                    }
+                    first = false;
+                    write(builder, item);
+                }
+                builder.append(']');
+            }
+            case Record record -> {
+                builder.append('{');
+                var components = record.getClass().getRecordComponents();
+                for (int i = 0; i < components.length; i++) {
+                    if (i > 0) {
+                        builder.append(',');
+                    }
+                    builder.append(quote(components[i].getName())).append(':');
+                    try {
+                        write(builder, components[i].getAccessor().invoke(record));
+                    } catch (IllegalAccessException | InvocationTargetException ex) {
+                        throw new IllegalStateException("Could not read %s".formatted(components[i]), ex);
+                    }
+                }
+                builder.append('}');
+            }
+            default -> builder.append(quote(value));
+        }
+    }
+
+    public static String quote(final Object value) {
+        if (isNull(value)) {
+            return "null";
+        }
+        var text = value.toString();
+        var builder = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append("\\u%04x".formatted((int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+}
@@ -0,0 +1,35 @@
+package br.com.dio.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class FlowHistograms {
+
+    private final LogHistogram leadTime = new LogHistogram();
+    private final LogHistogram cycleTime = new LogHistogram();
+    private final Map<String, LogHistogram> timePerColumn = new LinkedHashMap<>();
+
+    public LogHistogram leadTime() {
+        return leadTime;
+    }
+
+    public LogHistogram cycleTime() {
+        return cycleTime;
+    }
+
+    public Map<String, LogHistogram> timePerColumn() {
+        return timePerColumn;
+    }
+
+    public LogHistogram column(final String name) {
+        return timePerColumn.computeIfAbsent(name, n -> new LogHistogram());
+    }
+
+    public FlowHistograms merge(final FlowHistograms other) {
+        leadTime.merge(other.leadTime);
+        cycleTime.merge(other.cycleTime);
+        other.timePerColumn.forEach((name, histogram) -> column(name).merge(histogram));
+        return this;
+    }
+
+}
@@ -0,0 +1,109 @@
+package br.com.dio.metrics;
+
+import java.util.Arrays;
+
+public final class LogHistogram {
+
+    private static final int LINEAR_LIMIT = 32;
+    private static final int SUB_BUCKETS = 16;
+    private static final int BUCKETS = LINEAR_LIMIT + (Long.SIZE - 6) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(final long value) {
+        var clamped = Math.max(0, value);
+        counts[bucketOf(clamped)]++;
+        count++;
+        sum += clamped;
+        min = Math.min(min, clamped);
+        max = Math.max(max, clamped);
+    }
+
+    public LogHistogram merge(final LogHistogram other) {
+        for (var i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public long mean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    public long percentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        var rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        if (rank == count) {
+            return max;
+        }
+        var seen = 0L;
+        for (var i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                var midpoint = lowerBound(i) + (upperBound(i) - lowerBound(i)) / 2;
+                return Math.clamp(midpoint, min, max);
+            }
+        }
+        return max;
+    }
+
+    public LogHistogram copy() {
+        return new LogHistogram().merge(this);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    static int bucketOf(final long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        var shift = Long.SIZE - Long.numberOfLeadingZeros(value) - 5;
+        var mantissa = (int) (value >>> shift);
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + mantissa - SUB_BUCKETS;
+    }
+
+    static long lowerBound(final int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        var shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        var mantissa = (bucket - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return (long) mantissa << shift;
+    }
+
+    static long upperBound(final int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        var shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        return lowerBound(bucket) + (1L << shift) - 1;
+    }
+
+}
@@ -0,0 +1,49 @@
+package br.com.dio.metrics;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+public class StartupPhases {
+
+    private final long startedAt = System.nanoTime();
+    private final Map<String, Duration> phases = new LinkedHashMap<>();
+
+    public static boolean enabled() {
+        return Boolean.getBoolean("board.startup.timing");
+    }
+
+    public <T> T measure(final String phase, final Phase<T> action) throws SQLException {
+        var start = System.nanoTime();
+        try {
+            return action.run();
+        } finally {
+            phases.merge(phase, Duration.ofNanos(System.nanoTime() - start), Duration::plus);
+        }
+    }
+
+    public Map<String, Duration> phases() {
+        return phases;
+    }
+
+    public Duration total() {
+        return Duration.ofNanos(System.nanoTime() - startedAt);
+    }
+
+    @Override
+    public String toString() {
+        var joiner = new StringJoiner(", ", "Startup: ", "");
+        phases.forEach((phase, duration) -> joiner.add("%s %s ms".formatted(phase, duration.toMillis())));
+        return joiner.add("total %s ms".formatted(total().toMillis())).toString();
+    }
+
+    @FunctionalInterface
+    public interface Phase<T> {
+
+        T run() throws SQLException;
+
+    }
+
+}
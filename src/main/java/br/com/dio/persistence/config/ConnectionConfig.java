@@ -1,10 +1,17 @@
 package br.com.dio.persistence.config;
 
+import br.com.dio.persistence.instrument.SqlMetrics;
+import br.com.dio.persistence.memory.InMemoryStorageEngine;
+import br.com.dio.persistence.query.QueryStats;
+import br.com.dio.persistence.query.StatementCache;
+import br.com.dio.persistence.writebehind.MovementWriteBehind;
 import lombok.NoArgsConstructor;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
 
 import static lombok.AccessLevel.PRIVATE;
 
@@ -12,12 +19,63 @@ import static lombok.AccessLevel.PRIVATE;
 public final class ConnectionConfig {
 
     public static Connection getConnection() throws SQLException {
-        var url = "jdbc:mysql://localhost/board";
-        var user = "root";
-        var password = "senha";
-        var connection = DriverManager.getConnection(url, user, password);
-        connection.setAutoCommit(false);
-        return connection;
+        return EngineHolder.ENGINE.getConnection();
+    }
+
+    public static StorageEngine getStorageEngine() {
+        return EngineHolder.ENGINE;
+    }
+
+    public static DataSource getDataSource() {
+        return PoolHolder.POOL;
+    }
+
+    public static Optional<ConnectionPoolMetrics> getPoolMetrics() {
+        return EngineHolder.ENGINE instanceof JdbcStorageEngine ?
+                Optional.of(PoolHolder.POOL.metrics()) :
+                Optional.empty();
+    }
+
+    public static Optional<SqlMetrics> getSqlMetrics() {
+        return EngineHolder.ENGINE instanceof JdbcStorageEngine && SqlMetrics.enabled() ?
+                Optional.of(SqlMetrics.shared()) :
+                Optional.empty();
+    }
+
+    public static List<QueryStats> getQueryStats() {
+        return EngineHolder.ENGINE instanceof JdbcStorageEngine ?
+                StatementCache.stats(getSqlMetrics()) :
+                List.of();
+    }
+
+    private static final class PoolHolder {
+
+        private static final ConnectionPool POOL =
+                new ConnectionPool(ConnectionPoolSettings.fromSystemProperties(), PoolHolder::decorate);
+
+        private static Connection decorate(final Connection connection) {
+            var instrumented = SqlMetrics.enabled() ? SqlMetrics.shared().wrap(connection) : connection;
+            return StatementCache.wrap(instrumented, StatementCache.maxSize());
+        }
+
+    }
+
+    private static final class EngineHolder {
+
+        private static final StorageEngine ENGINE = "memory".equalsIgnoreCase(System.getProperty("board.storage", "mysql")) ?
+                InMemoryStorageEngine.fromSystemProperties() :
+                new JdbcStorageEngine(PoolHolder.POOL);
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                MovementWriteBehind.shared().ifPresent(MovementWriteBehind::close);
+                ENGINE.close();
+                if (ENGINE instanceof JdbcStorageEngine) {
+                    PoolHolder.POOL.close();
+                }
+            }, "storage-engine-shutdown"));
+        }
+
     }
 
 }
@@ -0,0 +1,321 @@
+package br.com.dio.persistence.config;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import java.util.logging.Logger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public class ConnectionPool implements DataSource, AutoCloseable {
+
+    private final ConnectionPoolSettings settings;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ScheduledExecutorService evictor;
+    private final UnaryOperator<Connection> decorator;
+
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+
+    public ConnectionPool(final ConnectionPoolSettings settings) {
+        this(settings, UnaryOperator.identity());
+    }
+
+    public ConnectionPool(final ConnectionPoolSettings settings, final UnaryOperator<Connection> decorator) {
+        this.settings = settings;
+        this.decorator = decorator;
+        this.permits = new Semaphore(settings.maxSize(), true);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var interval = settings.evictionInterval().toMillis();
+        evictor.scheduleWithFixedDelay(this::evictIdle, interval, interval, MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection pool is closed");
+        }
+        var start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(settings.borrowTimeout().toNanos(), NANOSECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException("Timed out after %s ms waiting for a connection"
+                        .formatted(settings.borrowTimeout().toMillis()));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", ex);
+        }
+        recordWait(System.nanoTime() - start);
+        try {
+            var entry = borrowEntry();
+            active.incrementAndGet();
+            return entry.lease();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("The pool only hands out connections for its configured user");
+    }
+
+    public ConnectionPoolMetrics metrics() {
+        var borrowCount = borrows.sum();
+        var averageWait = borrowCount == 0 ? 0 : waitNanos.sum() / borrowCount;
+        return new ConnectionPoolMetrics(
+                active.get(),
+                idle.size(),
+                settings.maxSize(),
+                permits.getQueueLength(),
+                borrowCount,
+                Duration.ofNanos(averageWait),
+                Duration.ofNanos(maxWaitNanos.get()),
+                timeouts.sum(),
+                created.sum(),
+                destroyed.sum(),
+                validationFailures.sum()
+        );
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        evictor.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            destroy(entry);
+        }
+    }
+
+    private PooledEntry borrowEntry() throws SQLException {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            if (isExpired(entry)) {
+                destroy(entry);
+            } else if (!isValid(entry)) {
+                validationFailures.increment();
+                destroy(entry);
+            } else {
+                return entry;
+            }
+        }
+        return create();
+    }
+
+    private PooledEntry create() throws SQLException {
+        var connection = DriverManager.getConnection(settings.url(), settings.user(), settings.password());
+        connection.setAutoCommit(false);
+        created.increment();
+        return new PooledEntry(connection, decorator.apply(connection), System.nanoTime());
+    }
+
+    private void release(final PooledEntry entry) {
+        try {
+            if (closed.get() || isExpired(entry)) {
+                destroy(entry);
+                return;
+            }
+            try {
+                if (!entry.connection.getAutoCommit()) {
+                    entry.connection.rollback();
+                }
+                entry.connection.setAutoCommit(false);
+            } catch (SQLException ex) {
+                destroy(entry);
+                return;
+            }
+            entry.lastUsedAt = System.nanoTime();
+            idle.offerFirst(entry);
+        } finally {
+            active.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    private void evictIdle() {
+        var now = System.nanoTime();
+        var idleTimeout = settings.idleTimeout().toNanos();
+        for (var entry : idle) {
+            var overMinIdle = idle.size() > settings.minIdle();
+            var idleTooLong = overMinIdle && now - entry.lastUsedAt > idleTimeout;
+            if ((idleTooLong || isExpired(entry)) && idle.remove(entry)) {
+                destroy(entry);
+            }
+        }
+    }
+
+    private boolean isExpired(final PooledEntry entry) {
+        return System.nanoTime() - entry.createdAt > settings.maxLifetime().toNanos();
+    }
+
+    private boolean isValid(final PooledEntry entry) {
+        try {
+            return entry.connection.isValid(settings.validationTimeoutSeconds());
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private void destroy(final PooledEntry entry) {
+        destroyed.increment();
+        try {
+            entry.decorated.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private void recordWait(final long nanos) {
+        borrows.increment();
+        waitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(final PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(final int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(final Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for %s".formatted(iface.getName()));
+    }
+
+    @Override
+    public boolean isWrapperFor(final Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    private final class PooledEntry {
+
+        private final Connection connection;
+        private final Connection decorated;
+        private final long createdAt;
+        private volatile long lastUsedAt;
+
+        private PooledEntry(final Connection connection, final Connection decorated, final long createdAt) {
+            this.connection = connection;
+            this.decorated = decorated;
+            this.createdAt = createdAt;
+            this.lastUsedAt = createdAt;
+        }
+
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeaseHandler(this));
+        }
+
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+
+        private final PooledEntry entry;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        private LeaseHandler(final PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (returned.compareAndSet(false, true)) {
+                        TransactionCallbacks.discarded((Connection) proxy);
+                        release(entry);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned.get() || entry.connection.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + entry.connection + "]";
+                }
+                default -> {
+                    if (returned.get()) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(entry.decorated, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                    if (method.getName().equals("commit")) {
+                        TransactionCallbacks.committed((Connection) proxy);
+                    } else if (method.getName().equals("rollback") && args == null) {
+                        TransactionCallbacks.discarded((Connection) proxy);
+                    }
+                    return result;
+                }
+            }
+        }
+
+    }
+
+}
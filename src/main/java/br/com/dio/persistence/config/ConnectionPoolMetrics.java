@@ -0,0 +1,16 @@
+package br.com.dio.persistence.config;
+
+import java.time.Duration;
+
+public record ConnectionPoolMetrics(int active,
+                                    int idle,
+                                    int maxSize,
+                                    int waiting,
+                                    long borrows,
+                                    Duration averageWait,
+                                    Duration maxWait,
+                                    long timeouts,
+                                    long created,
+                                    long destroyed,
+                                    long validationFailures) {
+}
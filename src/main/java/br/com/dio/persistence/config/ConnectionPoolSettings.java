@@ -0,0 +1,40 @@
+package br.com.dio.persistence.config;
+
+import java.time.Duration;
+
+public record ConnectionPoolSettings(String url,
+                                     String user,
+                                     String password,
+                                     int maxSize,
+                                     int minIdle,
+                                     Duration borrowTimeout,
+                                     int validationTimeoutSeconds,
+                                     Duration idleTimeout,
+                                     Duration maxLifetime,
+                                     Duration evictionInterval) {
+
+    public ConnectionPoolSettings {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool max size must be at least 1");
+        }
+        if (minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Pool min idle must be between 0 and %s".formatted(maxSize));
+        }
+    }
+
+    public static ConnectionPoolSettings fromSystemProperties() {
+        return new ConnectionPoolSettings(
+                System.getProperty("board.db.url", "jdbc:mysql://localhost/board?rewriteBatchedStatements=true"),
+                System.getProperty("board.db.user", "root"),
+                System.getProperty("board.db.password", "senha"),
+                Integer.getInteger("board.pool.maxSize", 10),
+                Integer.getInteger("board.pool.minIdle", 1),
+                Duration.ofMillis(Long.getLong("board.pool.borrowTimeoutMs", 30_000L)),
+                Integer.getInteger("board.pool.validationTimeoutSeconds", 2),
+                Duration.ofMillis(Long.getLong("board.pool.idleTimeoutMs", 600_000L)),
+                Duration.ofMillis(Long.getLong("board.pool.maxLifetimeMs", 1_800_000L)),
+                Duration.ofMillis(Long.getLong("board.pool.evictionIntervalMs", 30_000L))
+        );
+    }
+
+}
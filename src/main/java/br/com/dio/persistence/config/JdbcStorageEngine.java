@@ -0,0 +1,28 @@
+package br.com.dio.persistence.config;
+
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@AllArgsConstructor
+public class JdbcStorageEngine implements StorageEngine {
+
+    private final ConnectionPool pool;
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return pool.getConnection();
+    }
+
+    @Override
+    public boolean requiresMigration() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+}
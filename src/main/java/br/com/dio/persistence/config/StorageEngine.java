@@ -0,0 +1,15 @@
+package br.com.dio.persistence.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public interface StorageEngine extends AutoCloseable {
+
+    Connection getConnection() throws SQLException;
+
+    boolean requiresMigration();
+
+    @Override
+    void close();
+
+}
@@ -0,0 +1,70 @@
+package br.com.dio.persistence.config;
+
+import lombok.NoArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@NoArgsConstructor(access = PRIVATE)
+public final class TransactionCallbacks {
+
+    private static final Map<Connection, Pending> PENDING = new ConcurrentHashMap<>();
+
+    public static void afterCommit(final Connection connection, final AfterCommit callback) {
+        PENDING.computeIfAbsent(connection, c -> new Pending()).afterCommit.add(callback);
+    }
+
+    public static void afterRollback(final Connection connection, final Runnable callback) {
+        PENDING.computeIfAbsent(connection, c -> new Pending()).afterRollback.add(callback);
+    }
+
+    public static void committed(final Connection connection) throws SQLException {
+        var pending = PENDING.remove(connection);
+        if (pending == null) {
+            return;
+        }
+        SQLException failure = null;
+        for (var callback : pending.afterCommit) {
+            try {
+                callback.run();
+            } catch (Exception ex) {
+                if (failure == null) {
+                    failure = new SQLException("The transaction was committed but an after-commit action failed", ex);
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public static void discarded(final Connection connection) {
+        var pending = PENDING.remove(connection);
+        if (pending != null) {
+            pending.afterRollback.forEach(Runnable::run);
+        }
+    }
+
+    private static final class Pending {
+
+        private final List<AfterCommit> afterCommit = new ArrayList<>();
+        private final List<Runnable> afterRollback = new ArrayList<>();
+
+    }
+
+    @FunctionalInterface
+    public interface AfterCommit {
+
+        void run() throws Exception;
+
+    }
+
+}
@@ -1,38 +1,105 @@
 package br.com.dio.persistence.dao;
 
+import br.com.dio.dto.CardBlockReportDTO;
+import br.com.dio.persistence.entity.BlockEntity;
+import br.com.dio.persistence.repository.BlockRepository;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
 
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
 import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+import static br.com.dio.persistence.query.Query.BLOCK_INSERT;
+import static br.com.dio.persistence.query.Query.BLOCK_RELEASE;
+import static br.com.dio.persistence.query.Query.BLOCK_RESTORE;
+import static br.com.dio.persistence.query.Query.BLOCK_STREAM_BY_BOARD;
+import static br.com.dio.persistence.query.Query.CARD_BUMP_VERSION;
 
 @AllArgsConstructor
-public class BlockDAO {
+public class BlockDAO implements BlockRepository {
 
     private final Connection connection;
 
-    public void block(final String reason, final Long cardId) throws SQLException {
-        var sql = "INSERT INTO BLOCKS (blocked_at, block_reason, card_id) VALUES (?, ?, ?);";
-        try (var statement = connection.prepareStatement(sql)) {
+    public boolean block(final String reason, final Long cardId, final long expectedVersion) throws SQLException {
+        if (!bumpCardVersion(cardId, expectedVersion)) {
+            return false;
+        }
+        try (var statement = BLOCK_INSERT.prepare(connection)) {
             var i = 1;
             statement.setTimestamp(i++, toTimestamp(OffsetDateTime.now()));
             statement.setString(i++, reason);
             statement.setLong(i, cardId);
             statement.executeUpdate();
         }
+        return true;
     }
 
-    public void unblock(final String reason, final Long cardId) throws SQLException {
-        var sql = "UPDATE BLOCKS SET unblocked_at = ?, unblock_reason = ? WHERE card_id = ? AND unblock_reason IS NULL;";
-        try (var statement = connection.prepareStatement(sql)) {
+    public boolean unblock(final String reason, final Long cardId, final long expectedVersion) throws SQLException {
+        if (!bumpCardVersion(cardId, expectedVersion)) {
+            return false;
+        }
+        try (var statement = BLOCK_RELEASE.prepare(connection)) {
             var i = 1;
             statement.setTimestamp(i++, toTimestamp(OffsetDateTime.now()));
             statement.setString(i++, reason);
             statement.setLong(i, cardId);
             statement.executeUpdate();
         }
+        return true;
+    }
+
+    public void restoreAll(final List<BlockEntity> blocks) throws SQLException {
+        try (var statement = BLOCK_RESTORE.prepare(connection)) {
+            for (var block : blocks) {
+                var i = 1;
+                statement.setLong(i++, block.getCardId());
+                statement.setTimestamp(i++, toTimestamp(block.getBlockedAt()));
+                statement.setString(i++, block.getBlockReason());
+                statement.setTimestamp(i++, toTimestamp(block.getUnblockedAt()));
+                statement.setString(i, block.getUnblockReason());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    public long streamBoardBlocks(final Long boardId, final Consumer<CardBlockReportDTO> sink) throws SQLException {
+        var rows = 0L;
+        try (var statement = BLOCK_STREAM_BY_BOARD.prepare(connection)) {
+            statement.setLong(1, boardId);
+            var resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                var blockedAt = toOffsetDateTime(resultSet.getTimestamp("blocked_at"));
+                var unblockedAt = toOffsetDateTime(resultSet.getTimestamp("unblocked_at"));
+
+                sink.accept(new CardBlockReportDTO(
+                        resultSet.getLong("card_id"),
+                        resultSet.getString("card_title"),
+                        blockedAt,
+                        unblockedAt,
+                        unblockedAt != null ? Duration.between(blockedAt, unblockedAt) : null,
+                        resultSet.getString("block_reason"),
+                        resultSet.getString("unblock_reason")
+                ));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private boolean bumpCardVersion(final Long cardId, final long expectedVersion) throws SQLException {
+        try (var statement = CARD_BUMP_VERSION.prepare(connection)) {
+            var i = 1;
+            statement.setLong(i++, cardId);
+            statement.setLong(i, expectedVersion);
+            return statement.executeUpdate() == 1;
+        }
     }
 
 }
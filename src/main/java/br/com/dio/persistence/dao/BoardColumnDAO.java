@@ -1,9 +1,11 @@
 package br.com.dio.persistence.dao;
 
 import br.com.dio.dto.BoardColumnDTO;
+import br.com.dio.dto.CardSummaryDTO;
+import br.com.dio.dto.ColumnCardsAmountDriftDTO;
 import br.com.dio.persistence.entity.BoardColumnEntity;
 import br.com.dio.persistence.entity.CardEntity;
-import com.mysql.cj.jdbc.StatementImpl;
+import br.com.dio.persistence.repository.BoardColumnRepository;
 import lombok.RequiredArgsConstructor;
 
 import java.sql.Connection;
@@ -13,24 +15,32 @@ import java.util.List;
 import java.util.Optional;
 
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.findByName;
+import static br.com.dio.persistence.query.Query.COLUMN_ADD_CARDS_AMOUNT;
+import static br.com.dio.persistence.query.Query.COLUMN_FIND_BY_BOARD;
+import static br.com.dio.persistence.query.Query.COLUMN_FIND_BY_ID;
+import static br.com.dio.persistence.query.Query.COLUMN_FIND_CARDS_AFTER;
+import static br.com.dio.persistence.query.Query.COLUMN_FIND_CARDS_AMOUNT_DRIFT;
+import static br.com.dio.persistence.query.Query.COLUMN_FIND_DETAILS_BY_BOARD;
+import static br.com.dio.persistence.query.Query.COLUMN_INSERT;
+import static br.com.dio.persistence.query.Query.COLUMN_REBUILD_CARDS_AMOUNT;
 import static java.util.Objects.isNull;
 
 @RequiredArgsConstructor
-public class BoardColumnDAO {
+public class BoardColumnDAO implements BoardColumnRepository {
 
     private final Connection connection;
 
     public BoardColumnEntity insert(final BoardColumnEntity entity) throws SQLException {
-        var sql = "INSERT INTO BOARDS_COLUMNS (name, `order`, kind, board_id) VALUES (?, ?, ?, ?);";
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = COLUMN_INSERT.prepare(connection)) {
             var i = 1;
             statement.setString(i++, entity.getName());
             statement.setInt(i++, entity.getOrder());
             statement.setString(i++, entity.getKind().name());
             statement.setLong(i, entity.getBoard().getId());
             statement.executeUpdate();
-            if (statement instanceof StatementImpl impl) {
-                entity.setId(impl.getLastInsertID());
+            var keys = statement.getGeneratedKeys();
+            if (keys.next()) {
+                entity.setId(keys.getLong(1));
             }
             return entity;
         }
@@ -38,8 +48,7 @@ public class BoardColumnDAO {
 
     public List<BoardColumnEntity> findByBoardId(final Long boardId) throws SQLException {
         List<BoardColumnEntity> entities = new ArrayList<>();
-        var sql = "SELECT id, name, `order`, kind FROM BOARDS_COLUMNS WHERE board_id = ? ORDER BY `order`";
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = COLUMN_FIND_BY_BOARD.prepare(connection)) {
             statement.setLong(1, boardId);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
@@ -57,19 +66,7 @@ public class BoardColumnDAO {
 
     public List<BoardColumnDTO> findByBoardIdWithDetails(final Long boardId) throws SQLException {
         List<BoardColumnDTO> dtos = new ArrayList<>();
-        var sql =
-                """
-                        SELECT bc.id,
-                               bc.name,
-                               bc.kind,
-                               (SELECT COUNT(c.id)
-                                       FROM CARDS c
-                                      WHERE c.board_column_id = bc.id) cards_amount
-                          FROM BOARDS_COLUMNS bc
-                         WHERE board_id = ?
-                         ORDER BY `order`;
-                        """;
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = COLUMN_FIND_DETAILS_BY_BOARD.prepare(connection)) {
             statement.setLong(1, boardId);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
@@ -78,7 +75,7 @@ public class BoardColumnDAO {
                         resultSet.getLong("bc.id"),
                         resultSet.getString("bc.name"),
                         findByName(resultSet.getString("bc.kind")),
-                        resultSet.getInt("cards_amount")
+                        resultSet.getInt("bc.cards_amount")
                 );
                 dtos.add(dto);
             }
@@ -87,19 +84,7 @@ public class BoardColumnDAO {
     }
 
     public Optional<BoardColumnEntity> findById(final Long boardId) throws SQLException {
-        var sql =
-                """
-                        SELECT bc.name,
-                               bc.kind,
-                               c.id,
-                               c.title,
-                               c.description
-                          FROM BOARDS_COLUMNS bc
-                          LEFT JOIN CARDS c
-                            ON c.board_column_id = bc.id
-                         WHERE bc.id = ?;
-                        """;
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = COLUMN_FIND_BY_ID.prepare(connection)) {
             statement.setLong(1, boardId);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
@@ -123,4 +108,56 @@ public class BoardColumnDAO {
         }
     }
 
+    public List<CardSummaryDTO> findCardsAfter(final Long columnId, final long afterCardId, final int limit)
+            throws SQLException {
+        List<CardSummaryDTO> cards = new ArrayList<>();
+        try (var statement = COLUMN_FIND_CARDS_AFTER.prepare(connection)) {
+            var i = 1;
+            statement.setLong(i++, columnId);
+            statement.setLong(i++, afterCardId);
+            statement.setInt(i, limit);
+            var resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                cards.add(new CardSummaryDTO(
+                        resultSet.getLong("c.id"),
+                        resultSet.getString("c.title"),
+                        resultSet.getString("c.description")
+                ));
+            }
+        }
+        return cards;
+    }
+
+    public void addCardsAmount(final Long columnId, final int delta) throws SQLException {
+        try (var statement = COLUMN_ADD_CARDS_AMOUNT.prepare(connection)) {
+            var i = 1;
+            statement.setInt(i++, delta);
+            statement.setLong(i, columnId);
+            statement.executeUpdate();
+        }
+    }
+
+    public List<ColumnCardsAmountDriftDTO> findCardsAmountDrift() throws SQLException {
+        List<ColumnCardsAmountDriftDTO> drifts = new ArrayList<>();
+        try (var statement = COLUMN_FIND_CARDS_AMOUNT_DRIFT.prepare(connection)) {
+            var resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                drifts.add(new ColumnCardsAmountDriftDTO(
+                        resultSet.getLong("bc.id"),
+                        resultSet.getLong("bc.board_id"),
+                        resultSet.getString("bc.name"),
+                        resultSet.getInt("bc.cards_amount"),
+                        resultSet.getInt("actual_amount")
+                ));
+            }
+        }
+        return drifts;
+    }
+
+    public int rebuildCardsAmount() throws SQLException {
+        try (var statement = COLUMN_REBUILD_CARDS_AMOUNT.prepare(connection)) {
+            return statement.executeUpdate();
+        }
+    }
+
 }
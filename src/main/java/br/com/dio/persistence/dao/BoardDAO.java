@@ -1,41 +1,47 @@
 package br.com.dio.persistence.dao;
 
 import br.com.dio.persistence.entity.BoardEntity;
-import com.mysql.cj.jdbc.StatementImpl;
+import br.com.dio.persistence.repository.BoardRepository;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
+import static br.com.dio.persistence.query.Query.BOARD_DELETE;
+import static br.com.dio.persistence.query.Query.BOARD_EXISTS;
+import static br.com.dio.persistence.query.Query.BOARD_FIND_ALL_IDS;
+import static br.com.dio.persistence.query.Query.BOARD_FIND_BY_ID;
+import static br.com.dio.persistence.query.Query.BOARD_INSERT;
+
 @AllArgsConstructor
-public class BoardDAO {
+public class BoardDAO implements BoardRepository {
 
     private Connection connection;
 
     public BoardEntity insert(final BoardEntity entity) throws SQLException {
-        var sql = "INSERT INTO BOARDS (name) values (?);";
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = BOARD_INSERT.prepare(connection)) {
             statement.setString(1, entity.getName());
             statement.executeUpdate();
-            if (statement instanceof StatementImpl impl) {
-                entity.setId(impl.getLastInsertID());
+            var keys = statement.getGeneratedKeys();
+            if (keys.next()) {
+                entity.setId(keys.getLong(1));
             }
         }
         return entity;
     }
 
     public void delete(final Long id) throws SQLException {
-        var sql = "DELETE FROM BOARDS WHERE id = ?;";
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = BOARD_DELETE.prepare(connection)) {
             statement.setLong(1, id);
             statement.executeUpdate();
         }
     }
 
     public Optional<BoardEntity> findById(final Long id) throws SQLException {
-        var sql = "SELECT id, name FROM BOARDS WHERE id = ?;";
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = BOARD_FIND_BY_ID.prepare(connection)) {
             statement.setLong(1, id);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
@@ -50,12 +56,22 @@ public class BoardDAO {
     }
 
     public boolean exists(final Long id) throws SQLException {
-        var sql = "SELECT 1 FROM BOARDS WHERE id = ?;";
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = BOARD_EXISTS.prepare(connection)) {
             statement.setLong(1, id);
             statement.executeQuery();
             return statement.getResultSet().next();
         }
     }
 
+    public List<Long> findAllIds() throws SQLException {
+        var ids = new ArrayList<Long>();
+        try (var statement = BOARD_FIND_ALL_IDS.prepare(connection)) {
+            var resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong("id"));
+            }
+        }
+        return ids;
+    }
+
 }
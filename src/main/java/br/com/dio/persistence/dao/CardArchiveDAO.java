@@ -0,0 +1,142 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.dto.CardArchiveChunkDTO;
+import br.com.dio.dto.CardBlockReportDTO;
+import br.com.dio.dto.CardTextDTO;
+import br.com.dio.dto.CardTimeReportDTO;
+import br.com.dio.persistence.query.Query;
+import br.com.dio.persistence.repository.CardArchiveRepository;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+import static br.com.dio.persistence.query.Query.ARCHIVE_BLOCK_STREAM_BY_BOARD;
+import static br.com.dio.persistence.query.Query.ARCHIVE_COPY_BLOCKS;
+import static br.com.dio.persistence.query.Query.ARCHIVE_COPY_CARDS;
+import static br.com.dio.persistence.query.Query.ARCHIVE_COPY_DWELLS;
+import static br.com.dio.persistence.query.Query.ARCHIVE_COPY_MOVEMENTS;
+import static br.com.dio.persistence.query.Query.ARCHIVE_DELETE_BLOCKS;
+import static br.com.dio.persistence.query.Query.ARCHIVE_DELETE_CARDS;
+import static br.com.dio.persistence.query.Query.ARCHIVE_DELETE_DWELLS;
+import static br.com.dio.persistence.query.Query.ARCHIVE_DELETE_MOVEMENTS;
+import static br.com.dio.persistence.query.Query.ARCHIVE_DWELL_BOARD_REPORT;
+import static br.com.dio.persistence.query.Query.ARCHIVE_LOCK_FINISHED;
+
+@AllArgsConstructor
+public class CardArchiveDAO implements CardArchiveRepository {
+
+    private final Connection connection;
+
+    public CardArchiveChunkDTO archiveFinishedBefore(final OffsetDateTime cutoff, final int limit) throws SQLException {
+        var cards = new ArrayList<CardTextDTO>();
+        Map<Long, Integer> cardsPerColumn = new HashMap<>();
+        try (var statement = ARCHIVE_LOCK_FINISHED.prepare(connection)) {
+            statement.setTimestamp(1, toTimestamp(cutoff));
+            statement.setInt(2, limit);
+            var resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                cards.add(new CardTextDTO(
+                        resultSet.getLong("c.id"),
+                        resultSet.getLong("bc.board_id"),
+                        resultSet.getString("c.title"),
+                        resultSet.getString("c.description")
+                ));
+                cardsPerColumn.merge(resultSet.getLong("c.board_column_id"), 1, Integer::sum);
+            }
+        }
+        if (cards.isEmpty()) {
+            return new CardArchiveChunkDTO(List.of(), Map.of(), 0, 0);
+        }
+        var ids = cards.stream().map(CardTextDTO::id).toList();
+        try (var statement = ARCHIVE_COPY_CARDS.prepare(connection, placeholders(ids.size()))) {
+            var i = 1;
+            statement.setTimestamp(i++, toTimestamp(OffsetDateTime.now()));
+            for (var id : ids) {
+                statement.setLong(i++, id);
+            }
+            statement.executeUpdate();
+        }
+        var blocks = executeForCards(ARCHIVE_COPY_BLOCKS, ids);
+        var movements = executeForCards(ARCHIVE_COPY_MOVEMENTS, ids);
+        executeForCards(ARCHIVE_COPY_DWELLS, ids);
+        executeForCards(ARCHIVE_DELETE_BLOCKS, ids);
+        executeForCards(ARCHIVE_DELETE_MOVEMENTS, ids);
+        executeForCards(ARCHIVE_DELETE_DWELLS, ids);
+        executeForCards(ARCHIVE_DELETE_CARDS, ids);
+        return new CardArchiveChunkDTO(cards, cardsPerColumn, blocks, movements);
+    }
+
+    public List<CardTimeReportDTO> findBoardTimeReports(final Long boardId) throws SQLException {
+        var reports = new ArrayList<CardTimeReportDTO>();
+        try (var statement = ARCHIVE_DWELL_BOARD_REPORT.prepare(connection)) {
+            statement.setLong(1, boardId);
+            var resultSet = statement.executeQuery();
+            CardTimeReportDTO current = null;
+            var currentCardId = 0L;
+            while (resultSet.next()) {
+                var cardId = resultSet.getLong("c.id");
+                if (current == null || currentCardId != cardId) {
+                    current = new CardTimeReportDTO(resultSet.getString("c.title"), new HashMap<>(), Duration.ZERO);
+                    currentCardId = cardId;
+                    reports.add(current);
+                }
+                var columnName = resultSet.getString("dc.name");
+                if (columnName != null) {
+                    var dwell = Duration.ofMillis(resultSet.getLong("d.dwell_ms"));
+                    current.getTimePerColumn().put(columnName, dwell);
+                    current.setTotalTime(current.getTotalTime().plus(dwell));
+                }
+            }
+        }
+        return reports;
+    }
+
+    public long streamBoardBlocks(final Long boardId, final Consumer<CardBlockReportDTO> sink) throws SQLException {
+        var rows = 0L;
+        try (var statement = ARCHIVE_BLOCK_STREAM_BY_BOARD.prepare(connection)) {
+            statement.setLong(1, boardId);
+            var resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                var blockedAt = toOffsetDateTime(resultSet.getTimestamp("blocked_at"));
+                var unblockedAt = toOffsetDateTime(resultSet.getTimestamp("unblocked_at"));
+                sink.accept(new CardBlockReportDTO(
+                        resultSet.getLong("card_id"),
+                        resultSet.getString("card_title"),
+                        blockedAt,
+                        unblockedAt,
+                        unblockedAt != null ? Duration.between(blockedAt, unblockedAt) : null,
+                        resultSet.getString("block_reason"),
+                        resultSet.getString("unblock_reason")
+                ));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private int executeForCards(final Query query, final List<Long> ids) throws SQLException {
+        try (var statement = query.prepare(connection, placeholders(ids.size()))) {
+            var i = 1;
+            for (var id : ids) {
+                statement.setLong(i++, id);
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    private static String placeholders(final int amount) {
+        return String.join(", ", Collections.nCopies(amount, "?"));
+    }
+
+}
@@ -1,71 +1,154 @@
 package br.com.dio.persistence.dao;
 
 import br.com.dio.dto.CardDetailsDTO;
+import br.com.dio.dto.CardStateDTO;
+import br.com.dio.dto.CardTextDTO;
 import br.com.dio.persistence.entity.CardEntity;
-import com.mysql.cj.jdbc.StatementImpl;
+import br.com.dio.persistence.repository.CardRepository;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+import static br.com.dio.persistence.query.Query.CARD_FIND_ALL_BY_BOARD;
+import static br.com.dio.persistence.query.Query.CARD_FIND_BY_ID;
+import static br.com.dio.persistence.query.Query.CARD_FIND_STATES;
+import static br.com.dio.persistence.query.Query.CARD_INSERT;
+import static br.com.dio.persistence.query.Query.CARD_MOVE;
+import static br.com.dio.persistence.query.Query.CARD_MOVE_ALL;
+import static br.com.dio.persistence.query.Query.CARD_RESTORE;
+import static br.com.dio.persistence.query.Query.CARD_STREAM_TEXT;
 import static java.util.Objects.nonNull;
 
 @AllArgsConstructor
-public class CardDAO {
+public class CardDAO implements CardRepository {
 
     private Connection connection;
 
     public CardEntity insert(final CardEntity entity) throws SQLException {
-        var sql = "INSERT INTO CARDS (title, description, board_column_id) values (?, ?, ?);";
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = CARD_INSERT.prepare(connection)) {
             var i = 1;
             statement.setString(i++, entity.getTitle());
             statement.setString(i++, entity.getDescription());
             statement.setLong(i, entity.getBoardColumn().getId());
             statement.executeUpdate();
-            if (statement instanceof StatementImpl impl) {
-                entity.setId(impl.getLastInsertID());
+            var keys = statement.getGeneratedKeys();
+            if (keys.next()) {
+                entity.setId(keys.getLong(1));
             }
         }
         return entity;
     }
 
-    public void moveToColumn(final Long columnId, final Long cardId) throws SQLException {
-        var sql = "UPDATE CARDS SET board_column_id = ? WHERE id = ?;";
-        try (var statement = connection.prepareStatement(sql)) {
+    public List<CardEntity> insertAll(final List<CardEntity> entities) throws SQLException {
+        try (var statement = CARD_INSERT.prepare(connection)) {
+            for (var entity : entities) {
+                var i = 1;
+                statement.setString(i++, entity.getTitle());
+                statement.setString(i++, entity.getDescription());
+                statement.setLong(i, entity.getBoardColumn().getId());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            var keys = statement.getGeneratedKeys();
+            var iterator = entities.iterator();
+            while (keys.next() && iterator.hasNext()) {
+                iterator.next().setId(keys.getLong(1));
+            }
+        }
+        return entities;
+    }
+
+    public List<CardEntity> restoreAll(final List<CardEntity> entities) throws SQLException {
+        try (var statement = CARD_RESTORE.prepare(connection)) {
+            for (var entity : entities) {
+                var i = 1;
+                statement.setString(i++, entity.getTitle());
+                statement.setString(i++, entity.getDescription());
+                statement.setLong(i++, entity.getBoardColumn().getId());
+                statement.setTimestamp(i, toTimestamp(entity.getCreatedAt()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            var keys = statement.getGeneratedKeys();
+            var iterator = entities.iterator();
+            while (keys.next() && iterator.hasNext()) {
+                iterator.next().setId(keys.getLong(1));
+            }
+        }
+        return entities;
+    }
+
+    public boolean moveToColumn(final Long columnId, final Long cardId, final long expectedVersion) throws SQLException {
+        try (var statement = CARD_MOVE.prepare(connection)) {
             var i = 1;
             statement.setLong(i++, columnId);
-            statement.setLong(i, cardId);
-            statement.executeUpdate();
+            statement.setLong(i++, cardId);
+            statement.setLong(i, expectedVersion);
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    public int moveAllToColumns(final Map<Long, Long> columnPerCard, final Map<Long, Long> expectedVersions)
+            throws SQLException {
+        if (columnPerCard.isEmpty()) {
+            return 0;
+        }
+        var cases = String.join(" ", Collections.nCopies(columnPerCard.size(), "WHEN ? THEN ?"));
+        try (var statement = CARD_MOVE_ALL.prepare(connection, cases, placeholders(columnPerCard.size()), cases)) {
+            var i = 1;
+            for (var entry : columnPerCard.entrySet()) {
+                statement.setLong(i++, entry.getKey());
+                statement.setLong(i++, entry.getValue());
+            }
+            for (var cardId : columnPerCard.keySet()) {
+                statement.setLong(i++, cardId);
+            }
+            for (var cardId : columnPerCard.keySet()) {
+                statement.setLong(i++, cardId);
+                statement.setLong(i++, expectedVersions.get(cardId));
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    public Map<Long, CardStateDTO> findStates(final Collection<Long> ids) throws SQLException {
+        var states = new HashMap<Long, CardStateDTO>();
+        if (ids.isEmpty()) {
+            return states;
+        }
+        try (var statement = CARD_FIND_STATES.prepare(connection, placeholders(ids.size()))) {
+            var i = 1;
+            for (var id : ids) {
+                statement.setLong(i++, id);
+            }
+            var resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                var state = new CardStateDTO(
+                        resultSet.getLong("c.id"),
+                        resultSet.getLong("c.board_column_id"),
+                        resultSet.getLong("bc.board_id"),
+                        resultSet.getLong("c.version"),
+                        resultSet.getBoolean("blocked")
+                );
+                states.put(state.id(), state);
+            }
         }
+        return states;
     }
 
     public Optional<CardDetailsDTO> findById(final Long id) throws SQLException {
-        var sql =
-                """
-                        SELECT c.id,
-                               c.title,
-                               c.description,
-                               b.blocked_at,
-                               b.block_reason,
-                               c.board_column_id,
-                               bc.name,
-                               (SELECT COUNT(sub_b.id)
-                                       FROM BLOCKS sub_b
-                                      WHERE sub_b.card_id = c.id) blocks_amount
-                          FROM CARDS c
-                          LEFT JOIN BLOCKS b
-                            ON c.id = b.card_id
-                           AND b.unblocked_at IS NULL
-                         INNER JOIN BOARDS_COLUMNS bc
-                            ON bc.id = c.board_column_id
-                          WHERE c.id = ?;
-                        """;
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = CARD_FIND_BY_ID.prepare(connection)) {
             statement.setLong(1, id);
             statement.executeQuery();
             var resultSet = statement.getResultSet();
@@ -79,7 +162,9 @@ public class CardDAO {
                         resultSet.getString("b.block_reason"),
                         resultSet.getInt("blocks_amount"),
                         resultSet.getLong("c.board_column_id"),
-                        resultSet.getString("bc.name")
+                        resultSet.getString("bc.name"),
+                        resultSet.getLong("bc.board_id"),
+                        resultSet.getLong("c.version")
                 );
                 return Optional.of(dto);
             }
@@ -88,15 +173,8 @@ public class CardDAO {
     }
 
     public List<CardEntity> findAllByBoard(Long boardId) throws SQLException {
-        var sql = """
-                SELECT c.id, c.title, c.description
-                FROM CARDS c
-                JOIN BOARDS_COLUMNS bc ON c.board_column_id = bc.id
-                WHERE bc.board_id = ?
-                """;
-
         var cards = new ArrayList<CardEntity>();
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = CARD_FIND_ALL_BY_BOARD.prepare(connection)) {
             statement.setLong(1, boardId);
             var resultSet = statement.executeQuery();
 
@@ -105,10 +183,33 @@ public class CardDAO {
                 card.setId(resultSet.getLong("id"));
                 card.setTitle(resultSet.getString("title"));
                 card.setDescription(resultSet.getString("description"));
+                card.setCreatedAt(toOffsetDateTime(resultSet.getTimestamp("created_at")));
+                card.getBoardColumn().setId(resultSet.getLong("board_column_id"));
                 cards.add(card);
             }
         }
         return cards;
     }
 
+    public long streamAllText(final Consumer<CardTextDTO> sink) throws SQLException {
+        var rows = 0L;
+        try (var statement = CARD_STREAM_TEXT.prepare(connection)) {
+            var resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                sink.accept(new CardTextDTO(
+                        resultSet.getLong("id"),
+                        resultSet.getLong("board_id"),
+                        resultSet.getString("title"),
+                        resultSet.getString("description")
+                ));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static String placeholders(final int amount) {
+        return String.join(", ", Collections.nCopies(amount, "?"));
+    }
+
 }
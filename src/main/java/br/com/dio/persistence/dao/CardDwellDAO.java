@@ -0,0 +1,150 @@
+package br.com.dio.persistence.dao;
+
+import br.com.dio.dto.CardTimeReportDTO;
+import br.com.dio.persistence.entity.CardColumnDwellEntity;
+import br.com.dio.persistence.repository.CardDwellRepository;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+import static br.com.dio.persistence.query.Query.CARD_CLEAR_LAST_MOVED_AT;
+import static br.com.dio.persistence.query.Query.CARD_REBUILD_LAST_MOVED_AT;
+import static br.com.dio.persistence.query.Query.CARD_SET_LAST_MOVED_AT;
+import static br.com.dio.persistence.query.Query.DWELL_BOARD_REPORT;
+import static br.com.dio.persistence.query.Query.DWELL_DELETE_ALL;
+import static br.com.dio.persistence.query.Query.DWELL_FIND_BY_CARD;
+import static br.com.dio.persistence.query.Query.DWELL_INSERT;
+import static br.com.dio.persistence.query.Query.DWELL_RECORD_DEPARTURE;
+import static br.com.dio.persistence.query.Query.DWELL_REBUILD;
+
+@AllArgsConstructor
+public class CardDwellDAO implements CardDwellRepository {
+
+    private final Connection connection;
+
+    public void recordDeparture(final Long cardId, final Long fromColumnId, final OffsetDateTime movedAt)
+            throws SQLException {
+        recordDepartures(Map.of(cardId, fromColumnId), movedAt);
+    }
+
+    public void recordDepartures(final Map<Long, Long> fromColumnPerCard, final OffsetDateTime movedAt)
+            throws SQLException {
+        if (fromColumnPerCard.isEmpty()) {
+            return;
+        }
+        var timestamp = toTimestamp(movedAt);
+        try (var statement = DWELL_RECORD_DEPARTURE.prepare(connection)) {
+            for (var entry : fromColumnPerCard.entrySet()) {
+                var i = 1;
+                statement.setLong(i++, entry.getValue());
+                statement.setTimestamp(i++, timestamp);
+                statement.setLong(i, entry.getKey());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        try (var statement = CARD_SET_LAST_MOVED_AT.prepare(connection)) {
+            for (var cardId : fromColumnPerCard.keySet()) {
+                statement.setTimestamp(1, timestamp);
+                statement.setLong(2, cardId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    public Map<String, Duration> findTimePerColumn(final Long cardId) throws SQLException {
+        Map<String, Duration> timePerColumn = new HashMap<>();
+        try (var statement = DWELL_FIND_BY_CARD.prepare(connection)) {
+            statement.setLong(1, cardId);
+            var resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                timePerColumn.put(resultSet.getString("bc.name"), Duration.ofMillis(resultSet.getLong("d.dwell_ms")));
+            }
+        }
+        return timePerColumn;
+    }
+
+    public List<CardTimeReportDTO> findBoardTimeReports(final Long boardId) throws SQLException {
+        var reports = new ArrayList<CardTimeReportDTO>();
+        try (var statement = DWELL_BOARD_REPORT.prepare(connection)) {
+            statement.setLong(1, boardId);
+            var resultSet = statement.executeQuery();
+            CardTimeReportDTO current = null;
+            var currentCardId = 0L;
+            while (resultSet.next()) {
+                var cardId = resultSet.getLong("c.id");
+                if (current == null || currentCardId != cardId) {
+                    current = new CardTimeReportDTO(resultSet.getString("c.title"), new HashMap<>(), Duration.ZERO);
+                    currentCardId = cardId;
+                    reports.add(current);
+                }
+                var columnName = resultSet.getString("dc.name");
+                if (columnName != null) {
+                    var dwell = Duration.ofMillis(resultSet.getLong("d.dwell_ms"));
+                    current.getTimePerColumn().put(columnName, dwell);
+                    current.setTotalTime(current.getTotalTime().plus(dwell));
+                }
+            }
+        }
+        return reports;
+    }
+
+    public int rebuildFromMovements() throws SQLException {
+        try (var statement = DWELL_DELETE_ALL.prepare(connection)) {
+            statement.executeUpdate();
+        }
+        int rebuilt;
+        try (var statement = DWELL_REBUILD.prepare(connection)) {
+            rebuilt = statement.executeUpdate();
+        }
+        try (var statement = CARD_REBUILD_LAST_MOVED_AT.prepare(connection)) {
+            statement.executeUpdate();
+        }
+        return rebuilt;
+    }
+
+    public int replaceAll(final List<CardColumnDwellEntity> dwells, final Map<Long, OffsetDateTime> lastMovedAt)
+            throws SQLException {
+        try (var statement = DWELL_DELETE_ALL.prepare(connection)) {
+            statement.executeUpdate();
+        }
+        try (var statement = CARD_CLEAR_LAST_MOVED_AT.prepare(connection)) {
+            statement.executeUpdate();
+        }
+        return restoreAll(dwells, lastMovedAt);
+    }
+
+    public int restoreAll(final List<CardColumnDwellEntity> dwells, final Map<Long, OffsetDateTime> lastMovedAt)
+            throws SQLException {
+        try (var statement = DWELL_INSERT.prepare(connection)) {
+            for (var dwell : dwells) {
+                var i = 1;
+                statement.setLong(i++, dwell.getCardId());
+                statement.setLong(i++, dwell.getBoardColumnId());
+                statement.setLong(i++, dwell.getDwellMillis());
+                statement.setInt(i, dwell.getVisits());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        try (var statement = CARD_SET_LAST_MOVED_AT.prepare(connection)) {
+            for (var entry : lastMovedAt.entrySet()) {
+                statement.setTimestamp(1, toTimestamp(entry.getValue()));
+                statement.setLong(2, entry.getKey());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return dwells.size();
+    }
+
+}
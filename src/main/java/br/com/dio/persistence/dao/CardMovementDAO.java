@@ -1,6 +1,10 @@
 package br.com.dio.persistence.dao;
 
+import br.com.dio.dto.CardFlowEventDTO;
 import br.com.dio.dto.CardMovementDTO;
+import br.com.dio.dto.CardTimeReportDTO;
+import br.com.dio.persistence.entity.CardMovementEntity;
+import br.com.dio.persistence.repository.CardMovementRepository;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
@@ -8,19 +12,26 @@ import java.sql.SQLException;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
 import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+import static br.com.dio.persistence.query.Query.MOVEMENT_BOARD_TIME_REPORT;
+import static br.com.dio.persistence.query.Query.MOVEMENT_FIND_BY_CARD;
+import static br.com.dio.persistence.query.Query.MOVEMENT_INSERT;
+import static br.com.dio.persistence.query.Query.MOVEMENT_STREAM_ALL;
+import static br.com.dio.persistence.query.Query.MOVEMENT_STREAM_BOARD_FLOW;
 
 @AllArgsConstructor
-public class CardMovementDAO {
+public class CardMovementDAO implements CardMovementRepository {
 
     private final Connection connection;
 
     public void recordMovement(Long cardId, Long fromColumnId, Long toColumnId) throws SQLException {
-        var sql = "INSERT INTO CARD_MOVEMENTS (card_id, from_column_id, to_column_id, moved_at) VALUES (?, ?, ?, ?)";
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = MOVEMENT_INSERT.prepare(connection)) {
             var i = 1;
             statement.setLong(i++, cardId);
             if (fromColumnId != null) {
@@ -34,22 +45,27 @@ public class CardMovementDAO {
         }
     }
 
-    public List<CardMovementDTO> getCardMovements(Long cardId) throws SQLException {
-        var sql = """
-                SELECT cm.id, cm.moved_at, 
-                       fc.name as from_column_name, 
-                       tc.name as to_column_name,
-                       c.title as card_title
-                FROM CARD_MOVEMENTS cm
-                JOIN BOARDS_COLUMNS tc ON cm.to_column_id = tc.id
-                LEFT JOIN BOARDS_COLUMNS fc ON cm.from_column_id = fc.id
-                JOIN CARDS c ON cm.card_id = c.id
-                WHERE cm.card_id = ?
-                ORDER BY cm.moved_at
-                """;
+    public void recordMovements(final List<CardMovementEntity> movements) throws SQLException {
+        try (var statement = MOVEMENT_INSERT.prepare(connection)) {
+            for (var movement : movements) {
+                var i = 1;
+                statement.setLong(i++, movement.getCardId());
+                if (movement.getFromColumnId() != null) {
+                    statement.setLong(i++, movement.getFromColumnId());
+                } else {
+                    statement.setNull(i++, java.sql.Types.BIGINT);
+                }
+                statement.setLong(i++, movement.getToColumnId());
+                statement.setTimestamp(i, toTimestamp(movement.getMovedAt()));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
 
+    public List<CardMovementDTO> getCardMovements(Long cardId) throws SQLException {
         var movements = new ArrayList<CardMovementDTO>();
-        try (var statement = connection.prepareStatement(sql)) {
+        try (var statement = MOVEMENT_FIND_BY_CARD.prepare(connection)) {
             statement.setLong(1, cardId);
             var resultSet = statement.executeQuery();
 
@@ -70,4 +86,85 @@ public class CardMovementDAO {
         }
         return movements;
     }
-}
\ No newline at end of file
+
+    public List<CardTimeReportDTO> getBoardTimeReports(final Long boardId) throws SQLException {
+        var reports = new ArrayList<CardTimeReportDTO>();
+        try (var statement = MOVEMENT_BOARD_TIME_REPORT.prepare(connection)) {
+            statement.setLong(1, boardId);
+            var resultSet = statement.executeQuery();
+
+            Long currentCardId = null;
+            String currentTitle = null;
+            Map<String, Duration> timePerColumn = new HashMap<>();
+            var totalTime = Duration.ZERO;
+            while (resultSet.next()) {
+                var cardId = resultSet.getLong("card_id");
+                if (currentCardId == null || currentCardId != cardId) {
+                    if (currentCardId != null) {
+                        reports.add(new CardTimeReportDTO(currentTitle, timePerColumn, totalTime));
+                    }
+                    currentCardId = cardId;
+                    currentTitle = resultSet.getString("card_title");
+                    timePerColumn = new HashMap<>();
+                    totalTime = Duration.ZERO;
+                }
+                var previousMovedAt = toOffsetDateTime(resultSet.getTimestamp("previous_moved_at"));
+                if (previousMovedAt == null) {
+                    continue;
+                }
+                var duration = Duration.between(previousMovedAt, toOffsetDateTime(resultSet.getTimestamp("moved_at")));
+                timePerColumn.put(resultSet.getString("from_column_name"), duration);
+                totalTime = totalTime.plus(duration);
+            }
+            if (currentCardId != null) {
+                reports.add(new CardTimeReportDTO(currentTitle, timePerColumn, totalTime));
+            }
+        }
+        return reports;
+    }
+
+    public long streamAll(final Consumer<CardMovementEntity> sink) throws SQLException {
+        var rows = 0L;
+        try (var statement = MOVEMENT_STREAM_ALL.prepare(connection)) {
+            var resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                var movement = new CardMovementEntity();
+                movement.setId(resultSet.getLong("id"));
+                movement.setCardId(resultSet.getLong("card_id"));
+                var fromColumnId = resultSet.getLong("from_column_id");
+                movement.setFromColumnId(resultSet.wasNull() ? null : fromColumnId);
+                movement.setToColumnId(resultSet.getLong("to_column_id"));
+                movement.setMovedAt(toOffsetDateTime(resultSet.getTimestamp("moved_at")));
+                sink.accept(movement);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    public long streamBoardFlow(final Long boardId, final OffsetDateTime until, final Consumer<CardFlowEventDTO> sink)
+            throws SQLException {
+        var untilFilter = until == null ? "" : "AND cm.moved_at < ?";
+        var rows = 0L;
+        try (var statement = MOVEMENT_STREAM_BOARD_FLOW.prepare(connection, untilFilter)) {
+            statement.setLong(1, boardId);
+            if (until != null) {
+                statement.setTimestamp(2, toTimestamp(until));
+            }
+            var resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                var fromColumnId = resultSet.getLong("from_column_id");
+                var hasFromColumn = !resultSet.wasNull();
+                sink.accept(new CardFlowEventDTO(
+                        resultSet.getLong("card_id"),
+                        toOffsetDateTime(resultSet.getTimestamp("created_at")),
+                        hasFromColumn ? fromColumnId : null,
+                        resultSet.getLong("to_column_id"),
+                        toOffsetDateTime(resultSet.getTimestamp("moved_at"))
+                ));
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -8,6 +8,7 @@ import java.time.OffsetDateTime;
 public class BlockEntity {
 
     private Long id;
+    private Long cardId;
     private OffsetDateTime blockedAt;
     private String blockReason;
     private OffsetDateTime unblockedAt;
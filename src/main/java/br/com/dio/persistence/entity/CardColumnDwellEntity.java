@@ -0,0 +1,11 @@
+package br.com.dio.persistence.entity;
+
+import lombok.Data;
+
+@Data
+public class CardColumnDwellEntity {
+    private Long cardId;
+    private Long boardColumnId;
+    private long dwellMillis;
+    private int visits;
+}
@@ -0,0 +1,152 @@
+package br.com.dio.persistence.instrument;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+final class InstrumentedConnection implements InvocationHandler {
+
+    private final Connection connection;
+    private final SqlMetrics metrics;
+
+    private InstrumentedConnection(final Connection connection, final SqlMetrics metrics) {
+        this.connection = connection;
+        this.metrics = metrics;
+    }
+
+    static Connection wrap(final Connection connection, final SqlMetrics metrics) {
+        return proxy(Connection.class, new InstrumentedConnection(connection, metrics));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        return switch (method.getName()) {
+            case "prepareStatement" -> {
+                var sql = metrics.normalize((String) args[0]);
+                yield proxy(PreparedStatement.class, new StatementHandler(call(connection, method, args), sql));
+            }
+            case "prepareCall" -> {
+                var sql = metrics.normalize((String) args[0]);
+                yield proxy(CallableStatement.class, new StatementHandler(call(connection, method, args), sql));
+            }
+            case "createStatement" -> proxy(Statement.class, new StatementHandler(call(connection, method, args), null));
+            case "commit" -> timed(SqlMetrics.COMMIT, connection, method, args);
+            case "rollback" -> args == null ? timed(SqlMetrics.ROLLBACK, connection, method, null) : call(connection, method, args);
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "InstrumentedConnection[" + connection + "]";
+            case "unwrap" -> ((Class<?>) args[0]).isInstance(connection) ? connection : call(connection, method, args);
+            case "isWrapperFor" -> ((Class<?>) args[0]).isInstance(connection) || (boolean) call(connection, method, args);
+            default -> call(connection, method, args);
+        };
+    }
+
+    private Object timed(final String sql, final Object target, final Method method, final Object[] args)
+            throws Throwable {
+        var start = System.nanoTime();
+        var failed = true;
+        Object result = null;
+        try {
+            result = call(target, method, args);
+            failed = false;
+            return result;
+        } finally {
+            metrics.record(sql, System.nanoTime() - start, affectedRows(result), failed);
+        }
+    }
+
+    private static long affectedRows(final Object result) {
+        return switch (result) {
+            case Integer count -> Math.max(0, count);
+            case Long count -> Math.max(0, count);
+            case int[] counts -> {
+                var total = 0L;
+                for (var count : counts) {
+                    total += Math.max(0, count);
+                }
+                yield total;
+            }
+            case long[] counts -> {
+                var total = 0L;
+                for (var count : counts) {
+                    total += Math.max(0, count);
+                }
+                yield total;
+            }
+            case null, default -> 0;
+        };
+    }
+
+    private static Object call(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Object statement;
+        private final String preparedSql;
+        private String lastSql;
+
+        private StatementHandler(final Object statement, final String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.lastSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            var name = method.getName();
+            if (name.startsWith("execute")) {
+                lastSql = preparedSql != null ? preparedSql :
+                        args != null && args.length > 0 && args[0] instanceof String sql ? metrics.normalize(sql) : lastSql;
+                var result = lastSql == null ? call(statement, method, args) :
+                        timed(lastSql, statement, method, args);
+                return result instanceof ResultSet resultSet ? countRows(resultSet) : result;
+            }
+            if (name.equals("getResultSet")) {
+                var result = call(statement, method, args);
+                return result instanceof ResultSet resultSet ? countRows(resultSet) : result;
+            }
+            return call(statement, method, args);
+        }
+
+        private ResultSet countRows(final ResultSet resultSet) {
+            if (lastSql == null) {
+                return resultSet;
+            }
+            var rows = metrics.rowCounter(lastSql);
+            return proxy(ResultSet.class, new ResultSetHandler(resultSet, rows));
+        }
+
+    }
+
+    private record ResultSetHandler(ResultSet resultSet, LongAdder rows) implements InvocationHandler {
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            var result = call(resultSet, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                rows.increment();
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,226 @@
+package br.com.dio.persistence.instrument;
+
+import br.com.dio.metrics.LogHistogram;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public class SqlMetrics implements SqlMetricsMXBean {
+
+    static final String COMMIT = "COMMIT";
+    static final String ROLLBACK = "ROLLBACK";
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final SqlNormalizer normalizer = new SqlNormalizer();
+    private final Optional<PrintWriter> slowLog;
+    private volatile long slowThresholdNanos;
+
+    public SqlMetrics(final Duration slowQueryThreshold, final Optional<PrintWriter> slowLog) {
+        this.slowThresholdNanos = slowQueryThreshold.toNanos();
+        this.slowLog = slowLog;
+    }
+
+    public static SqlMetrics shared() {
+        return Holder.METRICS;
+    }
+
+    public static boolean enabled() {
+        return Boolean.parseBoolean(System.getProperty("board.sql.instrument", "true"));
+    }
+
+    public Connection wrap(final Connection connection) {
+        return InstrumentedConnection.wrap(connection, this);
+    }
+
+    public List<SqlStatementStats> stats() {
+        return entries.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .sorted(Comparator.comparing(SqlStatementStats::totalTime).reversed())
+                .toList();
+    }
+
+    public Optional<SqlStatementStats> find(final String sql) {
+        var normalized = normalize(sql);
+        return Optional.ofNullable(entries.get(normalized)).map(entry -> entry.snapshot(normalized));
+    }
+
+    @Override
+    public long getCalls() {
+        return entries.values().stream().mapToLong(e -> e.calls.sum()).sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return entries.values().stream().mapToLong(e -> e.errors.sum()).sum();
+    }
+
+    @Override
+    public long getSlowCalls() {
+        return entries.values().stream().mapToLong(e -> e.slowCalls.sum()).sum();
+    }
+
+    @Override
+    public int getStatementCount() {
+        return entries.size();
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    @Override
+    public void setSlowQueryThresholdMillis(final long millis) {
+        slowThresholdNanos = Duration.ofMillis(millis).toNanos();
+    }
+
+    @Override
+    public String[] getTopStatements() {
+        return stats().stream()
+                .limit(20)
+                .map(s -> "%s calls, %s ms total, p99 %s ms, %s rows: %s".formatted(
+                        s.calls(), s.totalTime().toMillis(), s.p99().toMillis(), s.rows(), s.sql()))
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public void reset() {
+        entries.clear();
+    }
+
+    String normalize(final String sql) {
+        return normalizer.normalize(sql);
+    }
+
+    void record(final String normalizedSql, final long elapsedNanos, final long rows, final boolean failed) {
+        var entry = entries.computeIfAbsent(normalizedSql, sql -> new Entry());
+        entry.calls.increment();
+        entry.totalNanos.add(elapsedNanos);
+        if (rows > 0) {
+            entry.rows.add(rows);
+        }
+        if (failed) {
+            entry.errors.increment();
+        }
+        entry.recordLatency(NANOSECONDS.toMicros(elapsedNanos));
+        if (elapsedNanos >= slowThresholdNanos) {
+            entry.slowCalls.increment();
+            slowLog.ifPresent(log -> logSlow(log, normalizedSql, elapsedNanos, rows, failed));
+        }
+    }
+
+    LongAdder rowCounter(final String normalizedSql) {
+        return entries.computeIfAbsent(normalizedSql, sql -> new Entry()).rows;
+    }
+
+    private static void logSlow(final PrintWriter slowLog, final String sql, final long elapsedNanos, final long rows,
+                                final boolean failed) {
+        synchronized (slowLog) {
+            slowLog.printf("%s slow query %s ms%s, %s rows: %s%n", OffsetDateTime.now(),
+                    NANOSECONDS.toMillis(elapsedNanos), failed ? " (failed)" : "", rows, sql);
+            slowLog.flush();
+        }
+    }
+
+    private static final class Entry {
+
+        private static final int STRIPES = Integer.highestOneBit(Math.min(16,
+                Runtime.getRuntime().availableProcessors()) * 2 - 1);
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicReferenceArray<LogHistogram> latencyMicros = new AtomicReferenceArray<>(STRIPES);
+
+        private void recordLatency(final long micros) {
+            var id = Thread.currentThread().threadId();
+            var stripe = Long.hashCode(id * 0x9E3779B97F4A7C15L) & (STRIPES - 1);
+            var histogram = latencyMicros.get(stripe);
+            if (histogram == null) {
+                latencyMicros.compareAndSet(stripe, null, new LogHistogram());
+                histogram = latencyMicros.get(stripe);
+            }
+            synchronized (histogram) {
+                histogram.record(micros);
+            }
+        }
+
+        private SqlStatementStats snapshot(final String sql) {
+            var latency = new LogHistogram();
+            for (int i = 0; i < STRIPES; i++) {
+                var histogram = latencyMicros.get(i);
+                if (histogram != null) {
+                    synchronized (histogram) {
+                        latency.merge(histogram);
+                    }
+                }
+            }
+            return new SqlStatementStats(
+                    sql,
+                    calls.sum(),
+                    errors.sum(),
+                    rows.sum(),
+                    slowCalls.sum(),
+                    Duration.ofNanos(totalNanos.sum()),
+                    Duration.ofNanos(latency.mean() * 1_000),
+                    Duration.ofNanos(latency.percentile(50) * 1_000),
+                    Duration.ofNanos(latency.percentile(95) * 1_000),
+                    Duration.ofNanos(latency.percentile(99) * 1_000),
+                    Duration.ofNanos(latency.max() * 1_000)
+            );
+        }
+
+    }
+
+    private static final class Holder {
+
+        private static final SqlMetrics METRICS = new SqlMetrics(
+                Duration.ofMillis(Long.getLong("board.sql.slowQueryMs", 200L)),
+                slowLog(System.getProperty("board.sql.slowLogFile")));
+
+        static {
+            try {
+                ManagementFactory.getPlatformMBeanServer()
+                        .registerMBean(METRICS, new ObjectName("br.com.dio:type=SqlMetrics"));
+            } catch (JMException ex) {
+                ex.printStackTrace();
+            }
+        }
+
+        private static Optional<PrintWriter> slowLog(final String file) {
+            if (file == null || file.isBlank()) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(new PrintWriter(Files.newBufferedWriter(Path.of(file), UTF_8, CREATE, APPEND)));
+            } catch (IOException ex) {
+                ex.printStackTrace();
+                return Optional.empty();
+            }
+        }
+
+    }
+
+}
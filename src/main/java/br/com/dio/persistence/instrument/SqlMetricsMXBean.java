@@ -0,0 +1,21 @@
+package br.com.dio.persistence.instrument;
+
+public interface SqlMetricsMXBean {
+
+    long getCalls();
+
+    long getErrors();
+
+    long getSlowCalls();
+
+    int getStatementCount();
+
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long millis);
+
+    String[] getTopStatements();
+
+    void reset();
+
+}
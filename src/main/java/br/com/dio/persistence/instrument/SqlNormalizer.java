@@ -0,0 +1,37 @@
+package br.com.dio.persistence.instrument;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+final class SqlNormalizer {
+
+    private static final int MAX_CACHED = 1_024;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(?: ?, ?\\?)+");
+    private static final Pattern CASE_LIST = Pattern.compile("(?:WHEN \\? THEN \\? ?){2,}");
+
+    private final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    String normalize(final String sql) {
+        var normalized = cache.get(sql);
+        if (normalized != null) {
+            return normalized;
+        }
+        normalized = WHITESPACE.matcher(sql.strip()).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = PARAMETER_LIST.matcher(normalized).replaceAll("?, ...");
+        normalized = CASE_LIST.matcher(normalized).replaceAll("WHEN ? THEN ? ... ");
+        if (normalized.endsWith(";")) {
+            normalized = normalized.substring(0, normalized.length() - 1).stripTrailing();
+        }
+        if (cache.size() < MAX_CACHED) {
+            cache.put(sql, normalized);
+        }
+        return normalized;
+    }
+
+}
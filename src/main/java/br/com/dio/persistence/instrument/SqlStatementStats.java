@@ -0,0 +1,16 @@
+package br.com.dio.persistence.instrument;
+
+import java.time.Duration;
+
+public record SqlStatementStats(String sql,
+                                long calls,
+                                long errors,
+                                long rows,
+                                long slowCalls,
+                                Duration totalTime,
+                                Duration mean,
+                                Duration p50,
+                                Duration p95,
+                                Duration p99,
+                                Duration max) {
+}
@@ -0,0 +1,31 @@
+package br.com.dio.persistence.journal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public class CardHistoryProjection implements Consumer<JournalRecord> {
+
+    private final Map<Long, List<JournalRecord>> recordsByCard = new ConcurrentHashMap<>();
+
+    @Override
+    public void accept(final JournalRecord record) {
+        var records = recordsByCard.computeIfAbsent(record.cardId(), id -> new ArrayList<>());
+        synchronized (records) {
+            records.add(record);
+        }
+    }
+
+    public List<JournalRecord> of(final long cardId) {
+        var records = recordsByCard.get(cardId);
+        if (records == null) {
+            return List.of();
+        }
+        synchronized (records) {
+            return List.copyOf(records);
+        }
+    }
+
+}
@@ -0,0 +1,214 @@
+package br.com.dio.persistence.journal;
+
+import br.com.dio.dto.CardFlowEventDTO;
+import br.com.dio.dto.CardMovementDTO;
+import br.com.dio.dto.CardTimeReportDTO;
+import br.com.dio.persistence.config.TransactionCallbacks;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.entity.CardMovementEntity;
+import br.com.dio.persistence.repository.CardMovementRepository;
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static br.com.dio.persistence.repository.Repositories.boardColumnRepository;
+import static br.com.dio.persistence.repository.Repositories.cardRepository;
+import static java.time.temporal.ChronoUnit.MICROS;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+@AllArgsConstructor
+public class JournalCardMovementRepository implements CardMovementRepository {
+
+    private static final int IMPORT_CHUNK_SIZE = 10_000;
+    private static final Comparator<JournalRecord> CHRONOLOGICAL =
+            Comparator.comparingLong(JournalRecord::epochMicros).thenComparingLong(JournalRecord::sequence);
+
+    private final Connection connection;
+    private final MovementJournal journal;
+    private final CardMovementRepository table;
+
+    @Override
+    public void recordMovement(final Long cardId, final Long fromColumnId, final Long toColumnId) throws SQLException {
+        stage(List.of(JournalRecord.of(cardId, fromColumnId, toColumnId, OffsetDateTime.now())));
+    }
+
+    @Override
+    public void recordMovements(final List<CardMovementEntity> movements) throws SQLException {
+        var records = movements.stream()
+                .map(m -> JournalRecord.of(m.getCardId(), m.getFromColumnId(), m.getToColumnId(), m.getMovedAt()))
+                .toList();
+        if (!records.isEmpty()) {
+            stage(records);
+        }
+    }
+
+    private void stage(final List<JournalRecord> records) throws SQLException {
+        List<JournalRecord> prepared;
+        try {
+            prepared = journal.prepare(records);
+        } catch (IOException ex) {
+            throw new SQLException("Could not write the card movement to the movement journal", ex);
+        }
+        TransactionCallbacks.afterRollback(connection, () -> journal.abort(prepared));
+        TransactionCallbacks.afterCommit(connection, () -> journal.commit(prepared));
+    }
+
+    @Override
+    public List<CardMovementDTO> getCardMovements(final Long cardId) throws SQLException {
+        var card = cardRepository(connection).findById(cardId);
+        if (card.isEmpty()) {
+            return List.of();
+        }
+        var columnNames = columnNames(card.get().boardId());
+        var movements = new ArrayList<CardMovementDTO>();
+        OffsetDateTime previousTime = null;
+        for (var record : historyOf(cardId)) {
+            var movedAt = record.movedAt();
+            movements.add(new CardMovementDTO(
+                    record.sequence(),
+                    card.get().title(),
+                    movedAt,
+                    record.fromColumnId() == null ? null : columnNames.get(record.fromColumnId()),
+                    columnNames.get(record.toColumnId()),
+                    previousTime != null ? Duration.between(previousTime, movedAt) : null
+            ));
+            previousTime = movedAt;
+        }
+        return movements;
+    }
+
+    @Override
+    public List<CardTimeReportDTO> getBoardTimeReports(final Long boardId) throws SQLException {
+        var columnNames = columnNames(boardId);
+        var cards = new ArrayList<>(cardRepository(connection).findAllByBoard(boardId));
+        cards.sort(Comparator.comparing(CardEntity::getId));
+        var reports = new ArrayList<CardTimeReportDTO>(cards.size());
+        for (var card : cards) {
+            Map<String, Duration> timePerColumn = new HashMap<>();
+            var totalTime = Duration.ZERO;
+            JournalRecord previous = null;
+            for (var record : historyOf(card.getId())) {
+                if (previous != null) {
+                    var duration = Duration.of(record.epochMicros() - previous.epochMicros(), MICROS);
+                    timePerColumn.put(columnNames.get(previous.toColumnId()), duration);
+                    totalTime = totalTime.plus(duration);
+                }
+                previous = record;
+            }
+            reports.add(new CardTimeReportDTO(card.getTitle(), timePerColumn, totalTime));
+        }
+        return reports;
+    }
+
+    @Override
+    public long streamAll(final Consumer<CardMovementEntity> sink) {
+        return journal.replay(record -> {
+            var movement = new CardMovementEntity();
+            movement.setId(record.sequence());
+            movement.setCardId(record.cardId());
+            movement.setFromColumnId(record.fromColumnId());
+            movement.setToColumnId(record.toColumnId());
+            movement.setMovedAt(record.movedAt());
+            sink.accept(movement);
+        });
+    }
+
+    @Override
+    public long streamBoardFlow(final Long boardId, final OffsetDateTime until, final Consumer<CardFlowEventDTO> sink)
+            throws SQLException {
+        var cards = new ArrayList<>(cardRepository(connection).findAllByBoard(boardId));
+        cards.sort(Comparator.comparing(CardEntity::getId));
+        var rows = 0L;
+        for (var card : cards) {
+            for (var record : historyOf(card.getId())) {
+                var movedAt = record.movedAt();
+                if (until == null || movedAt.isBefore(until)) {
+                    sink.accept(new CardFlowEventDTO(card.getId(), card.getCreatedAt(), record.fromColumnId(),
+                            record.toColumnId(), movedAt));
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    public int reconcileInDoubt() throws SQLException {
+        var inDoubt = journal.inDoubt();
+        if (inDoubt.isEmpty()) {
+            return 0;
+        }
+        var byCard = inDoubt.stream().collect(groupingBy(JournalRecord::cardId, LinkedHashMap::new, toList()));
+        var states = cardRepository(connection).findStates(byCard.keySet());
+        var committed = new ArrayList<JournalRecord>();
+        byCard.forEach((cardId, records) -> {
+            var state = states.get(cardId);
+            if (state == null) {
+                return;
+            }
+            for (int i = records.size() - 1; i >= 0; i--) {
+                if (records.get(i).toColumnId() == state.columnId()) {
+                    committed.addAll(records.subList(0, i + 1));
+                    return;
+                }
+            }
+        });
+        journal.resolve(committed);
+        return inDoubt.size();
+    }
+
+    public long importTableIfEmpty() throws SQLException {
+        if (journal.size() > 0) {
+            return 0;
+        }
+        var pending = new ArrayList<JournalRecord>(IMPORT_CHUNK_SIZE);
+        try {
+            var imported = table.streamAll(m -> {
+                pending.add(JournalRecord.of(m.getCardId(), m.getFromColumnId(), m.getToColumnId(), m.getMovedAt()));
+                if (pending.size() == IMPORT_CHUNK_SIZE) {
+                    appendAndClear(pending);
+                }
+            });
+            appendAndClear(pending);
+            journal.force();
+            return imported;
+        } catch (UncheckedIOException ex) {
+            throw new SQLException("Could not import the movement history into the journal", ex.getCause());
+        }
+    }
+
+    private void appendAndClear(final List<JournalRecord> pending) {
+        try {
+            journal.append(pending);
+            pending.clear();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private List<JournalRecord> historyOf(final Long cardId) {
+        var records = new ArrayList<>(journal.history().of(cardId));
+        records.sort(CHRONOLOGICAL);
+        return records;
+    }
+
+    private Map<Long, String> columnNames(final Long boardId) throws SQLException {
+        return boardColumnRepository(connection).findByBoardId(boardId).stream()
+                .collect(toMap(BoardColumnEntity::getId, BoardColumnEntity::getName));
+    }
+
+}
@@ -0,0 +1,29 @@
+package br.com.dio.persistence.journal;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+import static java.time.ZoneOffset.UTC;
+import static java.time.temporal.ChronoUnit.MICROS;
+
+public record JournalRecord(long sequence,
+                            long cardId,
+                            Long fromColumnId,
+                            long toColumnId,
+                            long epochMicros) {
+
+    public static JournalRecord of(final long cardId, final Long fromColumnId, final long toColumnId,
+                                   final OffsetDateTime movedAt) {
+        var instant = movedAt.toInstant();
+        return new JournalRecord(-1, cardId, fromColumnId, toColumnId, MICROS.between(Instant.EPOCH, instant));
+    }
+
+    public OffsetDateTime movedAt() {
+        return OffsetDateTime.ofInstant(Instant.EPOCH.plus(epochMicros, MICROS), UTC);
+    }
+
+    JournalRecord withSequence(final long value) {
+        return new JournalRecord(value, cardId, fromColumnId, toColumnId, epochMicros);
+    }
+
+}
@@ -0,0 +1,422 @@
+package br.com.dio.persistence.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.stream.Collectors.toSet;
+
+public class MovementJournal implements Closeable {
+
+    public static final int RECORD_SIZE = 40;
+
+    private static final int MARKER = 0x4D4F5645;
+    private static final int PENDING_MARKER = 0x50454E44;
+    private static final int VOID_MARKER = 0x564F4944;
+    private static final int PAYLOAD_OFFSET = 8;
+    private static final int PAYLOAD_SIZE = RECORD_SIZE - PAYLOAD_OFFSET;
+    private static final String SEGMENT_PREFIX = "movements-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final boolean syncOnAppend;
+    private final List<Segment> segments = new ArrayList<>();
+    private final List<Consumer<JournalRecord>> projections = new CopyOnWriteArrayList<>();
+    private final CardHistoryProjection history = new CardHistoryProjection();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<JournalRecord> inDoubt = new ArrayList<>();
+    private long size;
+    private boolean closed;
+
+    private MovementJournal(final Path directory, final int segmentRecords, final boolean syncOnAppend) {
+        if (segmentRecords < 1 || segmentRecords > Integer.MAX_VALUE / RECORD_SIZE) {
+            throw new IllegalArgumentException("A journal segment must hold between 1 and %s records"
+                    .formatted(Integer.MAX_VALUE / RECORD_SIZE));
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.syncOnAppend = syncOnAppend;
+    }
+
+    public static MovementJournal open(final Path directory, final int segmentRecords, final boolean syncOnAppend)
+            throws IOException {
+        Files.createDirectories(directory);
+        var journal = new MovementJournal(directory, segmentRecords, syncOnAppend);
+        journal.load();
+        journal.subscribe(journal.history);
+        return journal;
+    }
+
+    public static Optional<MovementJournal> shared() {
+        return Holder.JOURNAL;
+    }
+
+    public CardHistoryProjection history() {
+        return history;
+    }
+
+    public List<JournalRecord> append(final List<JournalRecord> records) throws IOException {
+        lock.writeLock().lock();
+        try {
+            var appended = write(records, MARKER);
+            for (var projection : projections) {
+                appended.forEach(projection);
+            }
+            return appended;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<JournalRecord> prepare(final List<JournalRecord> records) throws IOException {
+        lock.writeLock().lock();
+        try {
+            return write(records, PENDING_MARKER);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void commit(final List<JournalRecord> prepared) {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            mark(prepared, MARKER);
+            for (var projection : projections) {
+                prepared.forEach(projection);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void abort(final List<JournalRecord> prepared) {
+        lock.writeLock().lock();
+        try {
+            if (!closed) {
+                mark(prepared, VOID_MARKER);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<JournalRecord> inDoubt() {
+        lock.readLock().lock();
+        try {
+            return List.copyOf(inDoubt);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void resolve(final Collection<JournalRecord> committed) {
+        lock.writeLock().lock();
+        try {
+            var sequences = committed.stream().map(JournalRecord::sequence).collect(toSet());
+            var confirmed = inDoubt.stream().filter(r -> sequences.contains(r.sequence())).toList();
+            var voided = inDoubt.stream().filter(r -> !sequences.contains(r.sequence())).toList();
+            inDoubt.clear();
+            commit(confirmed);
+            abort(voided);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long replay(final Consumer<JournalRecord> consumer) {
+        lock.readLock().lock();
+        try {
+            var replayed = 0L;
+            for (var segment : segments) {
+                for (int slot = 0; slot < segment.count; slot++) {
+                    if (segment.marker(slot) == MARKER) {
+                        consumer.accept(segment.read(slot));
+                        replayed++;
+                    }
+                }
+            }
+            return replayed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void subscribe(final Consumer<JournalRecord> projection) {
+        lock.writeLock().lock();
+        try {
+            replay(projection);
+            projections.add(projection);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void force() {
+        lock.readLock().lock();
+        try {
+            if (!segments.isEmpty()) {
+                segments.getLast().force();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (var segment : segments) {
+                segment.force();
+                segment.channel.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() throws IOException {
+        List<Path> files;
+        try (var listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (var file : files) {
+            if (!segments.isEmpty() && !segments.getLast().isFull()) {
+                throw new IOException("Journal segment %s is incomplete but is followed by %s"
+                        .formatted(segments.getLast().file, file));
+            }
+            var segment = Segment.open(file, size, segmentRecords);
+            segments.add(segment);
+            size += segment.count;
+            for (int slot = 0; slot < segment.count; slot++) {
+                if (segment.marker(slot) == PENDING_MARKER) {
+                    inDoubt.add(segment.read(slot));
+                }
+            }
+        }
+    }
+
+    private List<JournalRecord> write(final List<JournalRecord> records, final int marker) throws IOException {
+        checkOpen();
+        var written = new ArrayList<JournalRecord>(records.size());
+        var touched = new LinkedHashSet<Segment>();
+        for (var record : records) {
+            var segment = writableSegment();
+            var sequenced = record.withSequence(size);
+            segment.write(sequenced, marker);
+            touched.add(segment);
+            written.add(sequenced);
+            size++;
+        }
+        if (syncOnAppend) {
+            touched.forEach(Segment::force);
+        }
+        return written;
+    }
+
+    private void mark(final List<JournalRecord> records, final int marker) {
+        var touched = new LinkedHashSet<Segment>();
+        for (var record : records) {
+            var segment = segmentOf(record.sequence());
+            segment.mark((int) (record.sequence() - segment.base), marker);
+            touched.add(segment);
+        }
+        if (syncOnAppend) {
+            touched.forEach(Segment::force);
+        }
+    }
+
+    private Segment segmentOf(final long sequence) {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            if (segments.get(i).base <= sequence) {
+                return segments.get(i);
+            }
+        }
+        throw new IllegalArgumentException("Journal sequence %s does not exist".formatted(sequence));
+    }
+
+    private Segment writableSegment() throws IOException {
+        if (segments.isEmpty() || segments.getLast().isFull()) {
+            if (!segments.isEmpty()) {
+                segments.getLast().force();
+            }
+            var file = directory.resolve("%s%020d%s".formatted(SEGMENT_PREFIX, size, SEGMENT_SUFFIX));
+            segments.add(Segment.open(file, size, segmentRecords));
+        }
+        return segments.getLast();
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Movement journal is closed");
+        }
+    }
+
+    private static Optional<MovementJournal> fromSystemProperties() {
+        var directory = System.getProperty("board.journal.dir");
+        if (directory == null || directory.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(open(Path.of(directory),
+                    Integer.getInteger("board.journal.segmentRecords", 1 << 20),
+                    Boolean.getBoolean("board.journal.syncOnAppend")));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static final class Holder {
+
+        private static final Optional<MovementJournal> JOURNAL = fromSystemProperties();
+
+        static {
+            JOURNAL.ifPresent(journal -> Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    journal.close();
+                } catch (IOException ex) {
+                    ex.printStackTrace();
+                }
+            }, "movement-journal-shutdown")));
+        }
+
+    }
+
+    private static final class Segment {
+
+        private final Path file;
+        private final long base;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private int count;
+
+        private Segment(final Path file, final long base, final FileChannel channel, final MappedByteBuffer buffer,
+                        final int capacity) {
+            this.file = file;
+            this.base = base;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = capacity;
+        }
+
+        private static Segment open(final Path file, final long base, final int capacityIfNew) throws IOException {
+            var channel = FileChannel.open(file, CREATE, READ, WRITE);
+            var existing = (int) (channel.size() / RECORD_SIZE);
+            var capacity = existing > 0 ? existing : capacityIfNew;
+            var buffer = channel.map(READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+            var segment = new Segment(file, base, channel, buffer, capacity);
+            segment.recover();
+            return segment;
+        }
+
+        private boolean isFull() {
+            return count == capacity;
+        }
+
+        private void write(final JournalRecord record, final int marker) {
+            var offset = count * RECORD_SIZE;
+            buffer.putLong(offset + PAYLOAD_OFFSET, record.cardId());
+            buffer.putLong(offset + PAYLOAD_OFFSET + 8, record.fromColumnId() == null ? 0 : record.fromColumnId());
+            buffer.putLong(offset + PAYLOAD_OFFSET + 16, record.toColumnId());
+            buffer.putLong(offset + PAYLOAD_OFFSET + 24, record.epochMicros());
+            buffer.putInt(offset + 4, checksum(offset));
+            buffer.putInt(offset, marker);
+            count++;
+        }
+
+        private int marker(final int slot) {
+            return buffer.getInt(slot * RECORD_SIZE);
+        }
+
+        private void mark(final int slot, final int marker) {
+            buffer.putInt(slot * RECORD_SIZE, marker);
+        }
+
+        private JournalRecord read(final int slot) {
+            var offset = slot * RECORD_SIZE;
+            var fromColumnId = buffer.getLong(offset + PAYLOAD_OFFSET + 8);
+            return new JournalRecord(
+                    base + slot,
+                    buffer.getLong(offset + PAYLOAD_OFFSET),
+                    fromColumnId == 0 ? null : fromColumnId,
+                    buffer.getLong(offset + PAYLOAD_OFFSET + 16),
+                    buffer.getLong(offset + PAYLOAD_OFFSET + 24)
+            );
+        }
+
+        private void recover() {
+            while (count < capacity && isValid(count)) {
+                count++;
+            }
+            for (int slot = count; slot < capacity && buffer.getInt(slot * RECORD_SIZE) != 0; slot++) {
+                buffer.put(slot * RECORD_SIZE, new byte[RECORD_SIZE]);
+            }
+        }
+
+        private boolean isValid(final int slot) {
+            var offset = slot * RECORD_SIZE;
+            var marker = buffer.getInt(offset);
+            return (marker == MARKER || marker == PENDING_MARKER || marker == VOID_MARKER) &&
+                    buffer.getInt(offset + 4) == checksum(offset);
+        }
+
+        private int checksum(final int offset) {
+            var crc = new CRC32C();
+            crc.update(buffer.slice(offset + PAYLOAD_OFFSET, PAYLOAD_SIZE));
+            return (int) crc.getValue();
+        }
+
+        private void force() {
+            buffer.force();
+        }
+
+    }
+
+}
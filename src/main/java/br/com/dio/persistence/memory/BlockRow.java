@@ -0,0 +1,16 @@
+package br.com.dio.persistence.memory;
+
+import java.time.OffsetDateTime;
+
+record BlockRow(long id,
+                long cardId,
+                OffsetDateTime blockedAt,
+                String blockReason,
+                OffsetDateTime unblockedAt,
+                String unblockReason) {
+
+    BlockRow unblocked(final OffsetDateTime at, final String reason) {
+        return new BlockRow(id, cardId, blockedAt, blockReason, at, reason);
+    }
+
+}
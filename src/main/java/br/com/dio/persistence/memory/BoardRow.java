@@ -0,0 +1,4 @@
+package br.com.dio.persistence.memory;
+
+record BoardRow(long id, String name) {
+}
@@ -0,0 +1,25 @@
+package br.com.dio.persistence.memory;
+
+import java.time.OffsetDateTime;
+
+record CardRow(long id,
+               long columnId,
+               String title,
+               String description,
+               OffsetDateTime createdAt,
+               long version,
+               OffsetDateTime lastMovedAt) {
+
+    CardRow movedTo(final long targetColumnId) {
+        return new CardRow(id, targetColumnId, title, description, createdAt, version + 1, lastMovedAt);
+    }
+
+    CardRow nextVersion() {
+        return new CardRow(id, columnId, title, description, createdAt, version + 1, lastMovedAt);
+    }
+
+    CardRow departedAt(final OffsetDateTime movedAt) {
+        return new CardRow(id, columnId, title, description, createdAt, version, movedAt);
+    }
+
+}
@@ -0,0 +1,16 @@
+package br.com.dio.persistence.memory;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+record ColumnRow(long id,
+                 long boardId,
+                 String name,
+                 int order,
+                 BoardColumnKindEnum kind,
+                 int cardsAmount) {
+
+    ColumnRow withCardsAmount(final int amount) {
+        return new ColumnRow(id, boardId, name, order, kind, amount);
+    }
+
+}
@@ -0,0 +1,8 @@
+package br.com.dio.persistence.memory;
+
+record DwellRow(long id,
+                long cardId,
+                long columnId,
+                long dwellMillis,
+                int visits) {
+}
@@ -0,0 +1,107 @@
+package br.com.dio.persistence.memory;
+
+import br.com.dio.dto.CardBlockReportDTO;
+import br.com.dio.persistence.entity.BlockEntity;
+import br.com.dio.persistence.repository.BlockRepository;
+import lombok.AllArgsConstructor;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+@AllArgsConstructor
+public class InMemoryBlockRepository implements BlockRepository {
+
+    private final InMemorySession session;
+
+    @Override
+    public boolean block(final String reason, final Long cardId, final long expectedVersion) throws SQLException {
+        var blocks = session.store().blocks;
+        return session.write(() -> {
+            if (!bumpCardVersion(cardId, expectedVersion)) {
+                return false;
+            }
+            var id = blocks.nextId();
+            session.put(blocks, id, new BlockRow(id, cardId, OffsetDateTime.now(), reason, null, null));
+            return true;
+        });
+    }
+
+    @Override
+    public boolean unblock(final String reason, final Long cardId, final long expectedVersion) throws SQLException {
+        var blocks = session.store().blocks;
+        return session.write(() -> {
+            if (!bumpCardVersion(cardId, expectedVersion)) {
+                return false;
+            }
+            var now = OffsetDateTime.now();
+            for (var id : blocks.idsOf(cardId)) {
+                var row = blocks.get(id);
+                if (row.unblockReason() == null) {
+                    session.put(blocks, id, row.unblocked(now, reason));
+                }
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public void restoreAll(final List<BlockEntity> blocks) throws SQLException {
+        var store = session.store();
+        session.write(() -> {
+            for (var block : blocks) {
+                if (store.cards.get(block.getCardId()) == null) {
+                    throw new SQLException("Card %s does not exist".formatted(block.getCardId()), "23000");
+                }
+                var id = store.blocks.nextId();
+                session.put(store.blocks, id, new BlockRow(id, block.getCardId(), block.getBlockedAt(),
+                        block.getBlockReason(), block.getUnblockedAt(), block.getUnblockReason()));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public long streamBoardBlocks(final Long boardId, final Consumer<CardBlockReportDTO> sink) throws SQLException {
+        var store = session.store();
+        var reports = session.read(() -> {
+            var rows = new ArrayList<CardBlockReportDTO>();
+            for (var columnId : store.columns.idsOf(boardId)) {
+                for (var cardId : store.cards.idsOf(columnId)) {
+                    var title = store.cards.get(cardId).title();
+                    for (var blockId : store.blocks.idsOf(cardId)) {
+                        var block = store.blocks.get(blockId);
+                        rows.add(new CardBlockReportDTO(
+                                cardId,
+                                title,
+                                block.blockedAt(),
+                                block.unblockedAt(),
+                                block.unblockedAt() != null ? Duration.between(block.blockedAt(), block.unblockedAt()) : null,
+                                block.blockReason(),
+                                block.unblockReason()
+                        ));
+                    }
+                }
+            }
+            rows.sort(Comparator.comparing(CardBlockReportDTO::blockedAt));
+            return rows;
+        });
+        reports.forEach(sink);
+        return reports.size();
+    }
+
+    private boolean bumpCardVersion(final long cardId, final long expectedVersion) {
+        var cards = session.store().cards;
+        var row = cards.get(cardId);
+        if (row == null || row.version() != expectedVersion) {
+            return false;
+        }
+        session.put(cards, cardId, row.nextVersion());
+        return true;
+    }
+
+}
@@ -0,0 +1,138 @@
+package br.com.dio.persistence.memory;
+
+import br.com.dio.dto.BoardColumnDTO;
+import br.com.dio.dto.CardSummaryDTO;
+import br.com.dio.dto.ColumnCardsAmountDriftDTO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.repository.BoardColumnRepository;
+import lombok.AllArgsConstructor;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+@AllArgsConstructor
+public class InMemoryBoardColumnRepository implements BoardColumnRepository {
+
+    private final InMemorySession session;
+
+    @Override
+    public BoardColumnEntity insert(final BoardColumnEntity entity) throws SQLException {
+        var columns = session.store().columns;
+        return session.write(() -> {
+            var boardId = entity.getBoard().getId();
+            var duplicated = columns.idsOf(boardId).stream()
+                    .anyMatch(id -> columns.get(id).order() == entity.getOrder());
+            if (duplicated) {
+                throw new SQLException("Board %s already has a column with order %s"
+                        .formatted(boardId, entity.getOrder()), "23000");
+            }
+            var id = columns.nextId();
+            session.put(columns, id, new ColumnRow(id, boardId, entity.getName(), entity.getOrder(), entity.getKind(), 0));
+            entity.setId(id);
+            return entity;
+        });
+    }
+
+    @Override
+    public List<BoardColumnEntity> findByBoardId(final Long boardId) throws SQLException {
+        return session.read(() -> columnsOf(boardId).stream()
+                .map(row -> {
+                    var entity = new BoardColumnEntity();
+                    entity.setId(row.id());
+                    entity.setName(row.name());
+                    entity.setOrder(row.order());
+                    entity.setKind(row.kind());
+                    return entity;
+                })
+                .toList());
+    }
+
+    @Override
+    public List<BoardColumnDTO> findByBoardIdWithDetails(final Long boardId) throws SQLException {
+        return session.read(() -> columnsOf(boardId).stream()
+                .map(row -> new BoardColumnDTO(row.id(), row.name(), row.kind(), row.cardsAmount()))
+                .toList());
+    }
+
+    @Override
+    public Optional<BoardColumnEntity> findById(final Long boardId) throws SQLException {
+        var store = session.store();
+        return session.read(() -> Optional.ofNullable(store.columns.get(boardId)).map(row -> {
+            var entity = new BoardColumnEntity();
+            entity.setName(row.name());
+            entity.setKind(row.kind());
+            for (var cardId : store.cards.idsOf(row.id())) {
+                var cardRow = store.cards.get(cardId);
+                var card = new CardEntity();
+                card.setId(cardRow.id());
+                card.setTitle(cardRow.title());
+                card.setDescription(cardRow.description());
+                entity.getCards().add(card);
+            }
+            return entity;
+        }));
+    }
+
+    @Override
+    public List<CardSummaryDTO> findCardsAfter(final Long columnId, final long afterCardId, final int limit)
+            throws SQLException {
+        var cards = session.store().cards;
+        return session.read(() -> cards.idsOf(columnId).tailSet(afterCardId, false).stream()
+                .limit(limit)
+                .map(cards::get)
+                .map(row -> new CardSummaryDTO(row.id(), row.title(), row.description()))
+                .toList());
+    }
+
+    @Override
+    public void addCardsAmount(final Long columnId, final int delta) throws SQLException {
+        var columns = session.store().columns;
+        session.write(() -> {
+            var row = columns.get(columnId);
+            if (row != null) {
+                session.put(columns, columnId, row.withCardsAmount(row.cardsAmount() + delta));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<ColumnCardsAmountDriftDTO> findCardsAmountDrift() throws SQLException {
+        var store = session.store();
+        return session.read(() -> store.columns.all().stream()
+                .filter(row -> row.cardsAmount() != store.cards.idsOf(row.id()).size())
+                .sorted(Comparator.comparingLong(ColumnRow::boardId).thenComparingInt(ColumnRow::order))
+                .map(row -> new ColumnCardsAmountDriftDTO(row.id(), row.boardId(), row.name(),
+                        row.cardsAmount(), store.cards.idsOf(row.id()).size()))
+                .toList());
+    }
+
+    @Override
+    public int rebuildCardsAmount() throws SQLException {
+        var store = session.store();
+        return session.write(() -> {
+            var rebuilt = 0;
+            for (var row : List.copyOf(store.columns.all())) {
+                var actual = store.cards.idsOf(row.id()).size();
+                if (row.cardsAmount() != actual) {
+                    session.put(store.columns, row.id(), row.withCardsAmount(actual));
+                    rebuilt++;
+                }
+            }
+            return rebuilt;
+        });
+    }
+
+    private List<ColumnRow> columnsOf(final Long boardId) {
+        var columns = session.store().columns;
+        var rows = new ArrayList<ColumnRow>();
+        columns.idsOf(boardId).forEach(id -> rows.add(columns.get(id)));
+        rows.sort(Comparator.comparingInt(ColumnRow::order));
+        return rows;
+    }
+
+}
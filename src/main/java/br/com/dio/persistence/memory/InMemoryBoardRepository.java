@@ -0,0 +1,74 @@
+package br.com.dio.persistence.memory;
+
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.repository.BoardRepository;
+import lombok.AllArgsConstructor;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+@AllArgsConstructor
+public class InMemoryBoardRepository implements BoardRepository {
+
+    private final InMemorySession session;
+
+    @Override
+    public BoardEntity insert(final BoardEntity entity) throws SQLException {
+        var boards = session.store().boards;
+        return session.write(() -> {
+            var id = boards.nextId();
+            session.put(boards, id, new BoardRow(id, entity.getName()));
+            entity.setId(id);
+            return entity;
+        });
+    }
+
+    @Override
+    public void delete(final Long id) throws SQLException {
+        var store = session.store();
+        session.write(() -> {
+            for (var columnId : List.copyOf(store.columns.idsOf(id))) {
+                for (var cardId : List.copyOf(store.cards.idsOf(columnId))) {
+                    List.copyOf(store.blocks.idsOf(cardId)).forEach(blockId -> session.remove(store.blocks, blockId));
+                    List.copyOf(store.movements.idsOf(cardId)).forEach(movementId -> session.remove(store.movements, movementId));
+                    List.copyOf(store.dwells.idsOf(cardId)).forEach(dwellId -> session.remove(store.dwells, dwellId));
+                    session.remove(store.cards, cardId);
+                }
+                for (var cardId : List.copyOf(store.archivedCards.idsOf(columnId))) {
+                    List.copyOf(store.archivedBlocks.idsOf(cardId)).forEach(blockId -> session.remove(store.archivedBlocks, blockId));
+                    List.copyOf(store.archivedMovements.idsOf(cardId)).forEach(movementId -> session.remove(store.archivedMovements, movementId));
+                    List.copyOf(store.archivedDwells.idsOf(cardId)).forEach(dwellId -> session.remove(store.archivedDwells, dwellId));
+                    session.remove(store.archivedCards, cardId);
+                }
+                session.remove(store.columns, columnId);
+            }
+            session.remove(store.boards, id);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<BoardEntity> findById(final Long id) throws SQLException {
+        return session.read(() -> Optional.ofNullable(session.store().boards.get(id)).map(row -> {
+            var entity = new BoardEntity();
+            entity.setId(row.id());
+            entity.setName(row.name());
+            return entity;
+        }));
+    }
+
+    @Override
+    public boolean exists(final Long id) throws SQLException {
+        return session.read(() -> session.store().boards.get(id) != null);
+    }
+
+    @Override
+    public List<Long> findAllIds() throws SQLException {
+        return session.read(() -> session.store().boards.all().stream()
+                .map(BoardRow::id)
+                .sorted()
+                .toList());
+    }
+
+}
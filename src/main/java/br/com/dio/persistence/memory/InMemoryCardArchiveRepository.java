@@ -0,0 +1,126 @@
+package br.com.dio.persistence.memory;
+
+import br.com.dio.dto.CardArchiveChunkDTO;
+import br.com.dio.dto.CardBlockReportDTO;
+import br.com.dio.dto.CardTextDTO;
+import br.com.dio.dto.CardTimeReportDTO;
+import br.com.dio.persistence.repository.CardArchiveRepository;
+import lombok.AllArgsConstructor;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+
+@AllArgsConstructor
+public class InMemoryCardArchiveRepository implements CardArchiveRepository {
+
+    private final InMemorySession session;
+
+    @Override
+    public CardArchiveChunkDTO archiveFinishedBefore(final OffsetDateTime cutoff, final int limit)
+            throws SQLException {
+        var store = session.store();
+        return session.write(() -> {
+            var candidates = new ArrayList<CardRow>();
+            for (var column : store.columns.all()) {
+                if (column.kind() != FINAL && column.kind() != CANCEL) {
+                    continue;
+                }
+                for (var cardId : store.cards.idsOf(column.id())) {
+                    var card = store.cards.get(cardId);
+                    if (card.lastMovedAt() != null && card.lastMovedAt().isBefore(cutoff)) {
+                        candidates.add(card);
+                    }
+                }
+            }
+            candidates.sort(Comparator.comparingLong(CardRow::id));
+            var cards = new ArrayList<CardTextDTO>();
+            Map<Long, Integer> cardsPerColumn = new HashMap<>();
+            var blocks = 0;
+            var movements = 0;
+            for (var card : candidates.subList(0, Math.min(limit, candidates.size()))) {
+                cards.add(new CardTextDTO(card.id(), store.columns.get(card.columnId()).boardId(), card.title(),
+                        card.description()));
+                cardsPerColumn.merge(card.columnId(), 1, Integer::sum);
+                blocks += move(store.blocks, store.archivedBlocks, card.id());
+                movements += move(store.movements, store.archivedMovements, card.id());
+                move(store.dwells, store.archivedDwells, card.id());
+                session.remove(store.cards, card.id());
+                session.put(store.archivedCards, card.id(), card);
+            }
+            return new CardArchiveChunkDTO(cards, cardsPerColumn, blocks, movements);
+        });
+    }
+
+    @Override
+    public List<CardTimeReportDTO> findBoardTimeReports(final Long boardId) throws SQLException {
+        var store = session.store();
+        return session.read(() -> {
+            var cardIds = new ArrayList<Long>();
+            store.columns.idsOf(boardId).forEach(columnId -> cardIds.addAll(store.archivedCards.idsOf(columnId)));
+            cardIds.sort(Comparator.naturalOrder());
+            var reports = new ArrayList<CardTimeReportDTO>(cardIds.size());
+            for (var cardId : cardIds) {
+                Map<String, Duration> timePerColumn = new HashMap<>();
+                var totalTime = Duration.ZERO;
+                for (var dwellId : store.archivedDwells.idsOf(cardId)) {
+                    var dwell = store.archivedDwells.get(dwellId);
+                    var duration = Duration.ofMillis(dwell.dwellMillis());
+                    timePerColumn.put(store.columns.get(dwell.columnId()).name(), duration);
+                    totalTime = totalTime.plus(duration);
+                }
+                reports.add(new CardTimeReportDTO(store.archivedCards.get(cardId).title(), timePerColumn, totalTime));
+            }
+            return reports;
+        });
+    }
+
+    @Override
+    public long streamBoardBlocks(final Long boardId, final Consumer<CardBlockReportDTO> sink) throws SQLException {
+        var store = session.store();
+        var reports = session.read(() -> {
+            var rows = new ArrayList<CardBlockReportDTO>();
+            for (var columnId : store.columns.idsOf(boardId)) {
+                for (var cardId : store.archivedCards.idsOf(columnId)) {
+                    var title = store.archivedCards.get(cardId).title();
+                    for (var blockId : store.archivedBlocks.idsOf(cardId)) {
+                        var block = store.archivedBlocks.get(blockId);
+                        rows.add(new CardBlockReportDTO(
+                                cardId,
+                                title,
+                                block.blockedAt(),
+                                block.unblockedAt(),
+                                block.unblockedAt() != null ? Duration.between(block.blockedAt(), block.unblockedAt()) : null,
+                                block.blockReason(),
+                                block.unblockReason()
+                        ));
+                    }
+                }
+            }
+            rows.sort(Comparator.comparing(CardBlockReportDTO::blockedAt));
+            return rows;
+        });
+        reports.forEach(sink);
+        return reports.size();
+    }
+
+    private <R> int move(final InMemoryTable<R> from, final InMemoryTable<R> to, final long cardId) {
+        var ids = List.copyOf(from.idsOf(cardId));
+        for (var id : ids) {
+            var row = from.get(id);
+            session.remove(from, id);
+            session.put(to, id, row);
+        }
+        return ids.size();
+    }
+
+}
@@ -0,0 +1,154 @@
+package br.com.dio.persistence.memory;
+
+import br.com.dio.dto.CardTimeReportDTO;
+import br.com.dio.persistence.entity.CardColumnDwellEntity;
+import br.com.dio.persistence.repository.CardDwellAccumulator;
+import br.com.dio.persistence.repository.CardDwellRepository;
+import lombok.AllArgsConstructor;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@AllArgsConstructor
+public class InMemoryCardDwellRepository implements CardDwellRepository {
+
+    private final InMemorySession session;
+
+    @Override
+    public void recordDeparture(final Long cardId, final Long fromColumnId, final OffsetDateTime movedAt)
+            throws SQLException {
+        recordDepartures(Map.of(cardId, fromColumnId), movedAt);
+    }
+
+    @Override
+    public void recordDepartures(final Map<Long, Long> fromColumnPerCard, final OffsetDateTime movedAt)
+            throws SQLException {
+        var store = session.store();
+        session.write(() -> {
+            for (var entry : fromColumnPerCard.entrySet()) {
+                var card = store.cards.get(entry.getKey());
+                if (card == null) {
+                    continue;
+                }
+                if (card.lastMovedAt() != null) {
+                    addDwell(card.id(), entry.getValue(), Duration.between(card.lastMovedAt(), movedAt).toMillis(), 1);
+                }
+                session.put(store.cards, card.id(), card.departedAt(movedAt));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Map<String, Duration> findTimePerColumn(final Long cardId) throws SQLException {
+        var store = session.store();
+        return session.read(() -> {
+            Map<String, Duration> timePerColumn = new HashMap<>();
+            for (var dwellId : store.dwells.idsOf(cardId)) {
+                var dwell = store.dwells.get(dwellId);
+                timePerColumn.put(store.columns.get(dwell.columnId()).name(), Duration.ofMillis(dwell.dwellMillis()));
+            }
+            return timePerColumn;
+        });
+    }
+
+    @Override
+    public List<CardTimeReportDTO> findBoardTimeReports(final Long boardId) throws SQLException {
+        var store = session.store();
+        return session.read(() -> {
+            var cardIds = new ArrayList<Long>();
+            store.columns.idsOf(boardId).forEach(columnId -> cardIds.addAll(store.cards.idsOf(columnId)));
+            cardIds.sort(Comparator.naturalOrder());
+            var reports = new ArrayList<CardTimeReportDTO>(cardIds.size());
+            for (var cardId : cardIds) {
+                Map<String, Duration> timePerColumn = new HashMap<>();
+                var totalTime = Duration.ZERO;
+                for (var dwellId : store.dwells.idsOf(cardId)) {
+                    var dwell = store.dwells.get(dwellId);
+                    var duration = Duration.ofMillis(dwell.dwellMillis());
+                    timePerColumn.put(store.columns.get(dwell.columnId()).name(), duration);
+                    totalTime = totalTime.plus(duration);
+                }
+                reports.add(new CardTimeReportDTO(store.cards.get(cardId).title(), timePerColumn, totalTime));
+            }
+            return reports;
+        });
+    }
+
+    @Override
+    public int rebuildFromMovements() throws SQLException {
+        var accumulator = new CardDwellAccumulator();
+        new InMemoryCardMovementRepository(session).streamAll(accumulator);
+        return replaceAll(accumulator.dwells(), accumulator.lastMovedAt());
+    }
+
+    @Override
+    public int replaceAll(final List<CardColumnDwellEntity> dwells, final Map<Long, OffsetDateTime> lastMovedAt)
+            throws SQLException {
+        var store = session.store();
+        return session.write(() -> {
+            for (var dwell : List.copyOf(store.dwells.all())) {
+                session.remove(store.dwells, dwell.id());
+            }
+            for (var card : List.copyOf(store.cards.all())) {
+                if (card.lastMovedAt() != null && !lastMovedAt.containsKey(card.id())) {
+                    session.put(store.cards, card.id(), card.departedAt(null));
+                }
+            }
+            return restoreRows(dwells, lastMovedAt);
+        });
+    }
+
+    @Override
+    public int restoreAll(final List<CardColumnDwellEntity> dwells, final Map<Long, OffsetDateTime> lastMovedAt)
+            throws SQLException {
+        return session.write(() -> restoreRows(dwells, lastMovedAt));
+    }
+
+    private int restoreRows(final List<CardColumnDwellEntity> dwells, final Map<Long, OffsetDateTime> lastMovedAt) {
+        var store = session.store();
+        for (var entry : lastMovedAt.entrySet()) {
+            var card = store.cards.get(entry.getKey());
+            if (card != null) {
+                session.put(store.cards, card.id(), card.departedAt(entry.getValue()));
+            }
+        }
+        var restored = 0;
+        for (var dwell : dwells) {
+            if (store.cards.get(dwell.getCardId()) != null && store.columns.get(dwell.getBoardColumnId()) != null) {
+                addDwell(dwell.getCardId(), dwell.getBoardColumnId(), dwell.getDwellMillis(), dwell.getVisits());
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    private void addDwell(final long cardId, final long columnId, final long millis, final int visits) {
+        var dwells = session.store().dwells;
+        var existing = findDwell(cardId, columnId);
+        if (existing.isPresent()) {
+            var row = existing.get();
+            session.put(dwells, row.id(), new DwellRow(row.id(), cardId, columnId, row.dwellMillis() + millis,
+                    row.visits() + visits));
+        } else {
+            var id = dwells.nextId();
+            session.put(dwells, id, new DwellRow(id, cardId, columnId, millis, visits));
+        }
+    }
+
+    private Optional<DwellRow> findDwell(final long cardId, final long columnId) {
+        var dwells = session.store().dwells;
+        return dwells.idsOf(cardId).stream()
+                .map(dwells::get)
+                .filter(row -> row.columnId() == columnId)
+                .findFirst();
+    }
+
+}
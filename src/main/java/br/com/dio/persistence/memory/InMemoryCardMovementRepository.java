@@ -0,0 +1,151 @@
+package br.com.dio.persistence.memory;
+
+import br.com.dio.dto.CardFlowEventDTO;
+import br.com.dio.dto.CardMovementDTO;
+import br.com.dio.dto.CardTimeReportDTO;
+import br.com.dio.persistence.entity.CardMovementEntity;
+import br.com.dio.persistence.repository.CardMovementRepository;
+import lombok.AllArgsConstructor;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+
+@AllArgsConstructor
+public class InMemoryCardMovementRepository implements CardMovementRepository {
+
+    private static final Comparator<MovementRow> CHRONOLOGICAL =
+            Comparator.comparing(MovementRow::movedAt).thenComparingLong(MovementRow::id);
+
+    private final InMemorySession session;
+
+    @Override
+    public void recordMovement(final Long cardId, final Long fromColumnId, final Long toColumnId) throws SQLException {
+        var movements = session.store().movements;
+        session.write(() -> {
+            var id = movements.nextId();
+            session.put(movements, id, new MovementRow(id, cardId, fromColumnId, toColumnId, OffsetDateTime.now()));
+            return null;
+        });
+    }
+
+    @Override
+    public void recordMovements(final List<CardMovementEntity> movements) throws SQLException {
+        var table = session.store().movements;
+        session.write(() -> {
+            for (var movement : movements) {
+                var id = table.nextId();
+                session.put(table, id, new MovementRow(id, movement.getCardId(), movement.getFromColumnId(),
+                        movement.getToColumnId(), movement.getMovedAt()));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<CardMovementDTO> getCardMovements(final Long cardId) throws SQLException {
+        var store = session.store();
+        return session.read(() -> {
+            var card = store.cards.get(cardId);
+            if (card == null) {
+                return List.of();
+            }
+            var movements = new ArrayList<CardMovementDTO>();
+            OffsetDateTime previousTime = null;
+            for (var row : movementsOf(cardId)) {
+                var from = row.fromColumnId() == null ? null : store.columns.get(row.fromColumnId());
+                movements.add(new CardMovementDTO(
+                        row.id(),
+                        card.title(),
+                        row.movedAt(),
+                        from == null ? null : from.name(),
+                        store.columns.get(row.toColumnId()).name(),
+                        previousTime != null ? Duration.between(previousTime, row.movedAt()) : null
+                ));
+                previousTime = row.movedAt();
+            }
+            return movements;
+        });
+    }
+
+    @Override
+    public List<CardTimeReportDTO> getBoardTimeReports(final Long boardId) throws SQLException {
+        var store = session.store();
+        return session.read(() -> {
+            var cardIds = new ArrayList<Long>();
+            store.columns.idsOf(boardId).forEach(columnId -> cardIds.addAll(store.cards.idsOf(columnId)));
+            cardIds.sort(Comparator.naturalOrder());
+            var reports = new ArrayList<CardTimeReportDTO>(cardIds.size());
+            for (var cardId : cardIds) {
+                var timePerColumn = new HashMap<String, Duration>();
+                var totalTime = Duration.ZERO;
+                MovementRow previous = null;
+                for (var row : movementsOf(cardId)) {
+                    if (previous != null) {
+                        var duration = Duration.between(previous.movedAt(), row.movedAt());
+                        timePerColumn.put(store.columns.get(previous.toColumnId()).name(), duration);
+                        totalTime = totalTime.plus(duration);
+                    }
+                    previous = row;
+                }
+                reports.add(new CardTimeReportDTO(store.cards.get(cardId).title(), timePerColumn, totalTime));
+            }
+            return reports;
+        });
+    }
+
+    @Override
+    public long streamAll(final Consumer<CardMovementEntity> sink) throws SQLException {
+        var movements = session.store().movements;
+        var rows = session.read(() -> movements.all().stream()
+                .sorted(Comparator.comparingLong(MovementRow::id))
+                .toList());
+        for (var row : rows) {
+            var movement = new CardMovementEntity();
+            movement.setId(row.id());
+            movement.setCardId(row.cardId());
+            movement.setFromColumnId(row.fromColumnId());
+            movement.setToColumnId(row.toColumnId());
+            movement.setMovedAt(row.movedAt());
+            sink.accept(movement);
+        }
+        return rows.size();
+    }
+
+    @Override
+    public long streamBoardFlow(final Long boardId, final OffsetDateTime until, final Consumer<CardFlowEventDTO> sink)
+            throws SQLException {
+        var store = session.store();
+        return session.read(() -> {
+            var cardIds = new ArrayList<Long>();
+            store.columns.idsOf(boardId).forEach(columnId -> cardIds.addAll(store.cards.idsOf(columnId)));
+            cardIds.sort(Comparator.naturalOrder());
+            var rows = 0L;
+            for (var cardId : cardIds) {
+                var createdAt = store.cards.get(cardId).createdAt();
+                for (var row : movementsOf(cardId)) {
+                    if (until == null || row.movedAt().isBefore(until)) {
+                        sink.accept(new CardFlowEventDTO(cardId, createdAt, row.fromColumnId(), row.toColumnId(),
+                                row.movedAt()));
+                        rows++;
+                    }
+                }
+            }
+            return rows;
+        });
+    }
+
+    private List<MovementRow> movementsOf(final long cardId) {
+        var movements = session.store().movements;
+        var rows = new ArrayList<MovementRow>();
+        movements.idsOf(cardId).forEach(id -> rows.add(movements.get(id)));
+        rows.sort(CHRONOLOGICAL);
+        return rows;
+    }
+
+}
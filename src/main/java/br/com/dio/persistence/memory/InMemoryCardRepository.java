@@ -0,0 +1,183 @@
+package br.com.dio.persistence.memory;
+
+import br.com.dio.dto.CardDetailsDTO;
+import br.com.dio.dto.CardStateDTO;
+import br.com.dio.dto.CardTextDTO;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.repository.CardRepository;
+import lombok.AllArgsConstructor;
+
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@AllArgsConstructor
+public class InMemoryCardRepository implements CardRepository {
+
+    private final InMemorySession session;
+
+    @Override
+    public CardEntity insert(final CardEntity entity) throws SQLException {
+        return session.write(() -> {
+            insertRow(entity);
+            return entity;
+        });
+    }
+
+    @Override
+    public List<CardEntity> insertAll(final List<CardEntity> entities) throws SQLException {
+        return session.write(() -> {
+            for (var entity : entities) {
+                insertRow(entity);
+            }
+            return entities;
+        });
+    }
+
+    @Override
+    public List<CardEntity> restoreAll(final List<CardEntity> entities) throws SQLException {
+        return session.write(() -> {
+            for (var entity : entities) {
+                insertRow(entity, entity.getCreatedAt());
+            }
+            return entities;
+        });
+    }
+
+    @Override
+    public boolean moveToColumn(final Long columnId, final Long cardId, final long expectedVersion) throws SQLException {
+        var cards = session.store().cards;
+        return session.write(() -> {
+            var row = cards.get(cardId);
+            if (row == null || row.version() != expectedVersion) {
+                return false;
+            }
+            session.put(cards, cardId, row.movedTo(columnId));
+            return true;
+        });
+    }
+
+    @Override
+    public int moveAllToColumns(final Map<Long, Long> columnPerCard, final Map<Long, Long> expectedVersions)
+            throws SQLException {
+        var cards = session.store().cards;
+        return session.write(() -> {
+            var moved = 0;
+            for (var entry : columnPerCard.entrySet()) {
+                var row = cards.get(entry.getKey());
+                if (row != null && row.version() == expectedVersions.get(entry.getKey())) {
+                    session.put(cards, row.id(), row.movedTo(entry.getValue()));
+                    moved++;
+                }
+            }
+            return moved;
+        });
+    }
+
+    @Override
+    public Map<Long, CardStateDTO> findStates(final Collection<Long> ids) throws SQLException {
+        var store = session.store();
+        return session.read(() -> {
+            var states = new HashMap<Long, CardStateDTO>();
+            for (var id : ids) {
+                var row = store.cards.get(id);
+                if (row != null) {
+                    var boardId = store.columns.get(row.columnId()).boardId();
+                    states.put(id, new CardStateDTO(id, row.columnId(), boardId, row.version(), openBlock(id).isPresent()));
+                }
+            }
+            return states;
+        });
+    }
+
+    @Override
+    public Optional<CardDetailsDTO> findById(final Long id) throws SQLException {
+        var store = session.store();
+        return session.read(() -> Optional.ofNullable(store.cards.get(id)).map(row -> {
+            var column = store.columns.get(row.columnId());
+            var block = openBlock(id);
+            return new CardDetailsDTO(
+                    row.id(),
+                    row.title(),
+                    row.description(),
+                    block.isPresent(),
+                    block.map(BlockRow::blockedAt).orElse(null),
+                    block.map(BlockRow::blockReason).orElse(null),
+                    store.blocks.idsOf(id).size(),
+                    row.columnId(),
+                    column.name(),
+                    column.boardId(),
+                    row.version()
+            );
+        }));
+    }
+
+    @Override
+    public List<CardEntity> findAllByBoard(final Long boardId) throws SQLException {
+        var store = session.store();
+        return session.read(() -> {
+            var cards = new ArrayList<CardEntity>();
+            for (var columnId : store.columns.idsOf(boardId)) {
+                for (var cardId : store.cards.idsOf(columnId)) {
+                    var row = store.cards.get(cardId);
+                    var card = new CardEntity();
+                    card.setId(row.id());
+                    card.setTitle(row.title());
+                    card.setDescription(row.description());
+                    card.setCreatedAt(row.createdAt());
+                    card.getBoardColumn().setId(row.columnId());
+                    cards.add(card);
+                }
+            }
+            return cards;
+        });
+    }
+
+    @Override
+    public long streamAllText(final Consumer<CardTextDTO> sink) throws SQLException {
+        var store = session.store();
+        var cards = session.read(() -> {
+            var rows = new ArrayList<CardTextDTO>();
+            for (var row : store.cards.all()) {
+                rows.add(new CardTextDTO(row.id(), store.columns.get(row.columnId()).boardId(), row.title(),
+                        row.description()));
+            }
+            rows.sort(Comparator.comparing(CardTextDTO::id));
+            return rows;
+        });
+        cards.forEach(sink);
+        return cards.size();
+    }
+
+    private void insertRow(final CardEntity entity) throws SQLException {
+        insertRow(entity, OffsetDateTime.now());
+    }
+
+    private void insertRow(final CardEntity entity, final OffsetDateTime createdAt) throws SQLException {
+        var store = session.store();
+        var columnId = entity.getBoardColumn().getId();
+        if (store.columns.get(columnId) == null) {
+            throw new SQLException("Column %s does not exist".formatted(columnId), "23000");
+        }
+        var id = store.cards.nextId();
+        session.put(store.cards, id, new CardRow(id, columnId, entity.getTitle(), entity.getDescription(), createdAt,
+                0, null));
+        entity.setId(id);
+    }
+
+    private Optional<BlockRow> openBlock(final long cardId) {
+        var blocks = session.store().blocks;
+        return blocks.idsOf(cardId).stream()
+                .map(blocks::get)
+                .filter(block -> block.unblockedAt() == null)
+                .findFirst();
+    }
+
+}
@@ -0,0 +1,230 @@
+package br.com.dio.persistence.memory;
+
+import br.com.dio.persistence.config.TransactionCallbacks;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+public final class InMemorySession implements InvocationHandler {
+
+    private final InMemoryStore store;
+    private final WriteAheadLog log;
+    private final Connection connection;
+    private final List<Change<?>> undo = new ArrayList<>();
+    private boolean writing;
+    private boolean autoCommit;
+    private boolean closed;
+
+    InMemorySession(final InMemoryStore store, final WriteAheadLog log) {
+        this.store = store;
+        this.log = log;
+        this.connection = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                this);
+    }
+
+    public static Optional<InMemorySession> of(final Connection connection) {
+        if (Proxy.isProxyClass(connection.getClass()) &&
+                Proxy.getInvocationHandler(connection) instanceof InMemorySession session) {
+            return Optional.of(session);
+        }
+        return Optional.empty();
+    }
+
+    Connection connection() {
+        return connection;
+    }
+
+    InMemoryStore store() {
+        return store;
+    }
+
+    <T> T read(final StoreOperation<T> operation) throws SQLException {
+        checkOpen();
+        var readLock = store.lock.readLock();
+        readLock.lock();
+        try {
+            return operation.run();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    <T> T write(final StoreOperation<T> operation) throws SQLException {
+        checkOpen();
+        if (!writing) {
+            store.lock.writeLock().lock();
+            writing = true;
+        }
+        var mark = undo.size();
+        try {
+            var result = operation.run();
+            if (autoCommit) {
+                commit();
+            }
+            return result;
+        } catch (SQLException | RuntimeException ex) {
+            undoTo(mark);
+            throw ex;
+        }
+    }
+
+    <R> void put(final InMemoryTable<R> table, final long id, final R row) {
+        undo.add(new Change<>(table, id, table.put(id, row)));
+    }
+
+    <R> void remove(final InMemoryTable<R> table, final long id) {
+        var previous = table.remove(id);
+        if (previous != null) {
+            undo.add(new Change<>(table, id, previous));
+        }
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "commit" -> commit();
+            case "rollback" -> {
+                if (args != null) {
+                    throw new SQLFeatureNotSupportedException("In-memory storage does not support savepoints");
+                }
+                rollback();
+            }
+            case "close" -> {
+                if (!closed) {
+                    rollback();
+                    closed = true;
+                }
+            }
+            case "isClosed" -> {
+                return closed;
+            }
+            case "isValid" -> {
+                return !closed;
+            }
+            case "getAutoCommit" -> {
+                return autoCommit;
+            }
+            case "setAutoCommit" -> {
+                var enabled = (boolean) args[0];
+                if (enabled && !autoCommit) {
+                    commit();
+                }
+                autoCommit = enabled;
+            }
+            case "isReadOnly" -> {
+                return false;
+            }
+            case "getTransactionIsolation" -> {
+                // reads take the store lock per operation, so two reads in one transaction can see different commits
+                return Connection.TRANSACTION_READ_COMMITTED;
+            }
+            case "getWarnings" -> {
+                return null;
+            }
+            case "clearWarnings" -> {
+            }
+            case "unwrap" -> {
+                var iface = (Class<?>) args[0];
+                if (iface.isInstance(this)) {
+                    return this;
+                }
+                throw new SQLException("Not a wrapper for %s".formatted(iface.getName()));
+            }
+            case "isWrapperFor" -> {
+                return ((Class<?>) args[0]).isInstance(this);
+            }
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "toString" -> {
+                return "InMemoryConnection@" + Integer.toHexString(System.identityHashCode(proxy));
+            }
+            default -> throw new SQLFeatureNotSupportedException(
+                    "In-memory storage does not support Connection.%s".formatted(method.getName()));
+        }
+        return null;
+    }
+
+    private void commit() throws SQLException {
+        checkOpen();
+        if (writing) {
+            try {
+                if (log != null && !undo.isEmpty()) {
+                    log.append(afterImages());
+                    log.checkpointIfDue(store);
+                }
+                undo.clear();
+            } catch (IOException ex) {
+                undoTo(0);
+                TransactionCallbacks.discarded(connection);
+                throw new SQLException("Could not write the transaction to the write-ahead log", ex);
+            } finally {
+                release();
+            }
+        }
+        TransactionCallbacks.committed(connection);
+    }
+
+    private void rollback() throws SQLException {
+        checkOpen();
+        TransactionCallbacks.discarded(connection);
+        if (!writing) {
+            return;
+        }
+        undoTo(0);
+        release();
+    }
+
+    private List<WriteAheadLog.Entry> afterImages() {
+        var touched = new LinkedHashMap<String, WriteAheadLog.Entry>();
+        for (var change : undo) {
+            var table = change.table();
+            touched.put(table.code() + ":" + change.id(), new WriteAheadLog.Entry(table, change.id(), table.get(change.id())));
+        }
+        return List.copyOf(touched.values());
+    }
+
+    private void undoTo(final int mark) {
+        for (var i = undo.size() - 1; i >= mark; i--) {
+            undo.remove(i).revert();
+        }
+    }
+
+    private void release() {
+        writing = false;
+        store.lock.writeLock().unlock();
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection is closed");
+        }
+    }
+
+    private record Change<R>(InMemoryTable<R> table, long id, R previous) {
+
+        private void revert() {
+            if (previous == null) {
+                table.remove(id);
+            } else {
+                table.put(id, previous);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,93 @@
+package br.com.dio.persistence.memory;
+
+import br.com.dio.persistence.config.StorageEngine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+public class InMemoryStorageEngine implements StorageEngine {
+
+    public static final long DEFAULT_CHECKPOINT_TRANSACTIONS = 50_000;
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    private final InMemoryStore store = new InMemoryStore();
+    private final WriteAheadLog log;
+    private final long replayedTransactions;
+
+    public InMemoryStorageEngine() {
+        this.log = null;
+        this.replayedTransactions = 0;
+    }
+
+    public InMemoryStorageEngine(final Path logFile, final boolean syncOnCommit) throws IOException {
+        this(logFile, syncOnCommit, DEFAULT_CHECKPOINT_TRANSACTIONS);
+    }
+
+    // The log is rewritten as one snapshot of the store once it holds checkpointTransactions
+    // transactions, so startup replay stays bounded; zero disables checkpoints.
+    public InMemoryStorageEngine(final Path logFile, final boolean syncOnCommit, final long checkpointTransactions)
+            throws IOException {
+        this.log = WriteAheadLog.open(logFile, syncOnCommit, checkpointTransactions);
+        this.replayedTransactions = log.replay(store);
+        log.checkpointIfDue(store);
+    }
+
+    public static InMemoryStorageEngine fromSystemProperties() {
+        var logFile = System.getProperty("board.storage.wal");
+        if (logFile == null || logFile.isBlank()) {
+            return new InMemoryStorageEngine();
+        }
+        try {
+            var sync = Boolean.parseBoolean(System.getProperty("board.storage.walSync", "true"));
+            var checkpoint = Long.getLong("board.storage.walCheckpointTransactions", DEFAULT_CHECKPOINT_TRANSACTIONS);
+            return new InMemoryStorageEngine(Path.of(logFile), sync, checkpoint);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public long getReplayedTransactions() {
+        return replayedTransactions;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new InMemorySession(store, log).connection();
+    }
+
+    @Override
+    public boolean requiresMigration() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        if (log == null) {
+            return;
+        }
+        var writeLock = store.lock.writeLock();
+        try {
+            if (!writeLock.tryLock(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.printf("A session still holds the in-memory store after %ss, leaving the write-ahead log open\n",
+                        CLOSE_TIMEOUT_SECONDS);
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            log.close();
+        } catch (IOException ex) {
+            ex.printStackTrace();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package br.com.dio.persistence.memory;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+final class InMemoryStore {
+
+    final InMemoryTable<BoardRow> boards = new InMemoryTable<>(1, r -> 0L);
+    final InMemoryTable<ColumnRow> columns = new InMemoryTable<>(2, ColumnRow::boardId);
+    final InMemoryTable<CardRow> cards = new InMemoryTable<>(3, CardRow::columnId);
+    final InMemoryTable<BlockRow> blocks = new InMemoryTable<>(4, BlockRow::cardId);
+    final InMemoryTable<MovementRow> movements = new InMemoryTable<>(5, MovementRow::cardId);
+    final InMemoryTable<DwellRow> dwells = new InMemoryTable<>(6, DwellRow::cardId);
+    final InMemoryTable<CardRow> archivedCards = new InMemoryTable<>(7, CardRow::columnId);
+    final InMemoryTable<BlockRow> archivedBlocks = new InMemoryTable<>(8, BlockRow::cardId);
+    final InMemoryTable<MovementRow> archivedMovements = new InMemoryTable<>(9, MovementRow::cardId);
+    final InMemoryTable<DwellRow> archivedDwells = new InMemoryTable<>(10, DwellRow::cardId);
+
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<InMemoryTable<?>> tables = List.of(boards, columns, cards, blocks, movements, dwells,
+            archivedCards, archivedBlocks, archivedMovements, archivedDwells);
+
+    List<InMemoryTable<?>> tables() {
+        return tables;
+    }
+
+    InMemoryTable<?> table(final byte code) {
+        return tables.stream()
+                .filter(t -> t.code() == code)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown table code %s".formatted(code)));
+    }
+
+}
@@ -0,0 +1,84 @@
+package br.com.dio.persistence.memory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
+
+final class InMemoryTable<R> {
+
+    private static final NavigableSet<Long> NONE = Collections.emptyNavigableSet();
+
+    private final byte code;
+    private final ConcurrentHashMap<Long, R> rows = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, NavigableSet<Long>> idsByParent = new ConcurrentHashMap<>();
+    private final ToLongFunction<R> parentId;
+    private final AtomicLong sequence = new AtomicLong();
+
+    InMemoryTable(final int code, final ToLongFunction<R> parentId) {
+        this.code = (byte) code;
+        this.parentId = parentId;
+    }
+
+    byte code() {
+        return code;
+    }
+
+    long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    void advanceSequence(final long id) {
+        sequence.accumulateAndGet(id, Math::max);
+    }
+
+    long sequence() {
+        return sequence.get();
+    }
+
+    R get(final long id) {
+        return rows.get(id);
+    }
+
+    Collection<R> all() {
+        return Collections.unmodifiableCollection(rows.values());
+    }
+
+    void forEach(final BiConsumer<Long, R> consumer) {
+        rows.forEach(consumer);
+    }
+
+    NavigableSet<Long> idsOf(final long parent) {
+        var ids = idsByParent.get(parent);
+        return ids == null ? NONE : Collections.unmodifiableNavigableSet(ids);
+    }
+
+    R put(final long id, final R row) {
+        var previous = rows.put(id, row);
+        if (previous != null) {
+            unindex(id, previous);
+        }
+        idsByParent.computeIfAbsent(parentId.applyAsLong(row), p -> new ConcurrentSkipListSet<>()).add(id);
+        return previous;
+    }
+
+    R remove(final long id) {
+        var previous = rows.remove(id);
+        if (previous != null) {
+            unindex(id, previous);
+        }
+        return previous;
+    }
+
+    private void unindex(final long id, final R row) {
+        idsByParent.computeIfPresent(parentId.applyAsLong(row), (p, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+}
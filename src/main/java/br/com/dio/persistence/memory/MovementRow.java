@@ -0,0 +1,10 @@
+package br.com.dio.persistence.memory;
+
+import java.time.OffsetDateTime;
+
+record MovementRow(long id,
+                   long cardId,
+                   Long fromColumnId,
+                   long toColumnId,
+                   OffsetDateTime movedAt) {
+}
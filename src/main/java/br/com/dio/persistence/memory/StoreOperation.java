@@ -0,0 +1,10 @@
+package br.com.dio.persistence.memory;
+
+import java.sql.SQLException;
+
+@FunctionalInterface
+interface StoreOperation<T> {
+
+    T run() throws SQLException;
+
+}
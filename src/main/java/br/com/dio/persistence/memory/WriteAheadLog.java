@@ -0,0 +1,334 @@
+package br.com.dio.persistence.memory;
+
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.time.ZoneOffset.UTC;
+
+final class WriteAheadLog implements Closeable {
+
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int CHECKPOINT_RECORD_ENTRIES = 1_024;
+
+    private final Path path;
+    private final boolean sync;
+    private final long checkpointTransactions;
+    private FileChannel channel;
+    private long transactionsSinceCheckpoint;
+    private volatile boolean checkpointRunning;
+
+    private WriteAheadLog(final Path path, final boolean sync, final long checkpointTransactions) throws IOException {
+        this.path = path;
+        this.sync = sync;
+        this.checkpointTransactions = checkpointTransactions;
+        this.channel = FileChannel.open(path, CREATE, READ, WRITE);
+    }
+
+    static WriteAheadLog open(final Path path, final boolean sync) throws IOException {
+        return open(path, sync, 0);
+    }
+
+    static WriteAheadLog open(final Path path, final boolean sync, final long checkpointTransactions)
+            throws IOException {
+        return new WriteAheadLog(path, sync, checkpointTransactions);
+    }
+
+    long replay(final InMemoryStore store) throws IOException {
+        var transactions = 0L;
+        var position = 0L;
+        var header = ByteBuffer.allocate(HEADER_SIZE);
+        while (true) {
+            header.clear();
+            if (!readFully(header, position)) {
+                break;
+            }
+            header.flip();
+            var length = header.getInt();
+            var checksum = header.getInt();
+            if (length < 0 || position + HEADER_SIZE + length > channel.size()) {
+                break;
+            }
+            var payload = ByteBuffer.allocate(length);
+            if (!readFully(payload, position + HEADER_SIZE) || checksum(payload.array()) != checksum) {
+                break;
+            }
+            if (apply(store, payload.array())) {
+                transactions++;
+            }
+            position += HEADER_SIZE + length;
+        }
+        if (position < channel.size()) {
+            channel.truncate(position);
+        }
+        channel.position(position);
+        transactionsSinceCheckpoint = transactions;
+        return transactions;
+    }
+
+    void append(final List<Entry> entries) throws IOException {
+        var buffer = encode(entries, false);
+        var start = channel.position();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            channel.truncate(start);
+            channel.position(start);
+            throw ex;
+        }
+        transactionsSinceCheckpoint++;
+    }
+
+    // Called with the store write lock held. The counter is reset before the checkpoint starts, so a failed
+    // checkpoint is only retried after another checkpointTransactions commits.
+    void checkpointIfDue(final InMemoryStore store) {
+        if (checkpointTransactions < 1 || transactionsSinceCheckpoint < checkpointTransactions
+                || checkpointRunning) {
+            return;
+        }
+        checkpointRunning = true;
+        transactionsSinceCheckpoint = 0;
+        Thread.ofVirtual().name("wal-checkpoint").start(() -> {
+            try {
+                checkpoint(store);
+            } catch (IOException | RuntimeException | OutOfMemoryError ex) {
+                ex.printStackTrace();
+            } finally {
+                checkpointRunning = false;
+            }
+        });
+    }
+
+    // Rows are captured under the read lock and written outside it in records of at most
+    // CHECKPOINT_RECORD_ENTRIES entries. Transactions appended meanwhile are copied over before the swap.
+    void checkpoint(final InMemoryStore store) throws IOException {
+        var entries = new ArrayList<Entry>();
+        long capturedAt;
+        store.lock.readLock().lock();
+        try {
+            for (var table : store.tables()) {
+                entries.add(new Entry(table, table.sequence(), null));
+                table.forEach((id, row) -> entries.add(new Entry(table, id, row)));
+            }
+            capturedAt = channel.position();
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        var snapshot = path.resolveSibling(path.getFileName() + ".checkpoint");
+        try (var out = FileChannel.open(snapshot, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            for (var from = 0; from < entries.size(); from += CHECKPOINT_RECORD_ENTRIES) {
+                var to = Math.min(entries.size(), from + CHECKPOINT_RECORD_ENTRIES);
+                writeFully(out, encode(entries.subList(from, to), true));
+            }
+            store.lock.readLock().lock();
+            try {
+                if (!channel.isOpen()) {
+                    return;
+                }
+                var end = channel.position();
+                for (var position = capturedAt; position < end; ) {
+                    position += channel.transferTo(position, end - position, out);
+                }
+                out.force(true);
+                Files.move(snapshot, path, ATOMIC_MOVE, REPLACE_EXISTING);
+                channel.close();
+                channel = FileChannel.open(path, READ, WRITE);
+                channel.position(channel.size());
+            } finally {
+                store.lock.readLock().unlock();
+            }
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    long transactionsSinceCheckpoint() {
+        return transactionsSinceCheckpoint;
+    }
+
+    private static ByteBuffer encode(final List<Entry> entries, final boolean snapshot) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(snapshot ? -entries.size() : entries.size());
+            for (var entry : entries) {
+                out.writeByte(entry.table().code());
+                out.writeLong(entry.id());
+                out.writeBoolean(entry.row() != null);
+                if (entry.row() != null) {
+                    writeRow(out, entry.row());
+                }
+            }
+        }
+        var payload = bytes.toByteArray();
+        return ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                .putInt(payload.length)
+                .putInt(checksum(payload))
+                .put(payload)
+                .flip();
+    }
+
+    private static void writeFully(final FileChannel out, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean readFully(final ByteBuffer buffer, final long position) throws IOException {
+        var offset = position;
+        while (buffer.hasRemaining()) {
+            var read = channel.read(buffer, offset);
+            if (read < 0) {
+                return false;
+            }
+            offset += read;
+        }
+        return true;
+    }
+
+    // Returns false for checkpoint records, which restore rows but are not transactions.
+    private static boolean apply(final InMemoryStore store, final byte[] payload) throws IOException {
+        try (var in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            var count = in.readInt();
+            for (var i = 0; i < Math.abs(count); i++) {
+                var table = store.table(in.readByte());
+                var id = in.readLong();
+                if (in.readBoolean()) {
+                    replace(table, id, readRow(in, table.code(), id));
+                    table.advanceSequence(id);
+                } else {
+                    table.remove(id);
+                    table.advanceSequence(id);
+                }
+            }
+            return count >= 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> void replace(final InMemoryTable<R> table, final long id, final Object row) {
+        table.put(id, (R) row);
+    }
+
+    private static void writeRow(final DataOutputStream out, final Object row) throws IOException {
+        switch (row) {
+            case BoardRow board -> out.writeUTF(board.name());
+            case ColumnRow column -> {
+                out.writeLong(column.boardId());
+                out.writeUTF(column.name());
+                out.writeInt(column.order());
+                out.writeUTF(column.kind().name());
+                out.writeInt(column.cardsAmount());
+            }
+            case CardRow card -> {
+                out.writeLong(card.columnId());
+                out.writeUTF(card.title());
+                out.writeUTF(card.description());
+                writeTime(out, card.createdAt());
+                out.writeLong(card.version());
+                writeTime(out, card.lastMovedAt());
+            }
+            case BlockRow block -> {
+                out.writeLong(block.cardId());
+                writeTime(out, block.blockedAt());
+                writeText(out, block.blockReason());
+                writeTime(out, block.unblockedAt());
+                writeText(out, block.unblockReason());
+            }
+            case MovementRow movement -> {
+                out.writeLong(movement.cardId());
+                out.writeBoolean(movement.fromColumnId() != null);
+                if (movement.fromColumnId() != null) {
+                    out.writeLong(movement.fromColumnId());
+                }
+                out.writeLong(movement.toColumnId());
+                writeTime(out, movement.movedAt());
+            }
+            case DwellRow dwell -> {
+                out.writeLong(dwell.cardId());
+                out.writeLong(dwell.columnId());
+                out.writeLong(dwell.dwellMillis());
+                out.writeInt(dwell.visits());
+            }
+            default -> throw new IllegalArgumentException("Unknown row type %s".formatted(row.getClass()));
+        }
+    }
+
+    private static Object readRow(final DataInputStream in, final byte code, final long id) throws IOException {
+        return switch (code) {
+            case 1 -> new BoardRow(id, in.readUTF());
+            case 2 -> new ColumnRow(id, in.readLong(), in.readUTF(), in.readInt(),
+                    BoardColumnKindEnum.valueOf(in.readUTF()), in.readInt());
+            case 3, 7 -> new CardRow(id, in.readLong(), in.readUTF(), in.readUTF(), readTime(in), in.readLong(),
+                    readTime(in));
+            case 4, 8 -> new BlockRow(id, in.readLong(), readTime(in), readText(in), readTime(in), readText(in));
+            case 5, 9 -> new MovementRow(id, in.readLong(), in.readBoolean() ? in.readLong() : null, in.readLong(),
+                    readTime(in));
+            case 6, 10 -> new DwellRow(id, in.readLong(), in.readLong(), in.readLong(), in.readInt());
+            default -> throw new IOException("Unknown table code %s".formatted(code));
+        };
+    }
+
+    private static void writeText(final DataOutputStream out, final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readText(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeTime(final DataOutputStream out, final OffsetDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            var instant = value.toInstant();
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+        }
+    }
+
+    private static OffsetDateTime readTime(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? OffsetDateTime.ofInstant(Instant.ofEpochSecond(in.readLong(), in.readInt()), UTC) : null;
+    }
+
+    private static int checksum(final byte[] payload) {
+        var crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    record Entry(InMemoryTable<?> table, long id, Object row) {
+    }
+
+}
@@ -0,0 +1,84 @@
+package br.com.dio.persistence.migration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public final class ChangelogFingerprint {
+
+    private final String masterChangelog;
+    private final String migrationsPath;
+
+    public ChangelogFingerprint(final String masterChangelog, final String migrationsPath) {
+        this.masterChangelog = masterChangelog;
+        this.migrationsPath = migrationsPath;
+    }
+
+    public String compute() {
+        var digest = sha256();
+        update(digest, masterChangelog, read(resource(masterChangelog)));
+        try (Stream<Path> files = Files.list(resource(migrationsPath))) {
+            files.filter(Files::isRegularFile)
+                    .sorted()
+                    .forEach(file -> update(digest, file.getFileName().toString(), read(file)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(final MessageDigest digest, final String name, final byte[] content) {
+        digest.update(name.getBytes(UTF_8));
+        digest.update((byte) 0);
+        digest.update(content);
+        digest.update((byte) 0);
+    }
+
+    private static Path resource(final String name) {
+        var url = ChangelogFingerprint.class.getClassLoader().getResource(name);
+        if (url == null) {
+            throw new IllegalStateException("Changelog resource %s not found".formatted(name));
+        }
+        try {
+            var uri = url.toURI();
+            if (!uri.getScheme().equals("jar")) {
+                return Path.of(uri);
+            }
+            try {
+                return FileSystems.getFileSystem(uri).provider().getPath(uri);
+            } catch (FileSystemNotFoundException ex) {
+                return FileSystems.newFileSystem(uri, Map.of()).provider().getPath(uri);
+            }
+        } catch (URISyntaxException | IOException ex) {
+            throw new IllegalStateException("Cannot open changelog resource %s".formatted(name), ex);
+        }
+    }
+
+    private static byte[] read(final Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
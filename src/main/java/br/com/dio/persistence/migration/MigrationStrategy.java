@@ -11,32 +11,62 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Optional;
 
-import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toTimestamp;
+import static br.com.dio.persistence.query.Query.SCHEMA_FINGERPRINT_FIND;
+import static br.com.dio.persistence.query.Query.SCHEMA_FINGERPRINT_SAVE;
 
 @AllArgsConstructor
 public class MigrationStrategy {
 
+    private static final String NO_SUCH_TABLE = "42S02";
+    private static final ChangelogFingerprint CHANGELOG =
+            new ChangelogFingerprint("db/changelog/db.changelog-master.yml", "db/changelog/migrations");
+
     private final Connection connection;
 
-    public void executeMigration(){
+    public boolean executeMigration() throws SQLException {
+        var fingerprint = CHANGELOG.compute();
+        if (fingerprint.equals(findFingerprint().orElse(null))) {
+            return false;
+        }
+        return migrate(fingerprint);
+    }
+
+    public boolean isCurrent() throws SQLException {
+        return CHANGELOG.compute().equals(findFingerprint().orElse(null));
+    }
+
+    public boolean migrate() throws SQLException {
+        return migrate(CHANGELOG.compute());
+    }
+
+    private boolean migrate(final String fingerprint) throws SQLException {
+        if (!runLiquibase()) {
+            return false;
+        }
+        saveFingerprint(fingerprint);
+        return true;
+    }
+
+    private boolean runLiquibase() {
         var originalOut = System.out;
         var originalErr = System.err;
         try(var fos = new FileOutputStream("liquibase.log")){
             System.setOut(new PrintStream(fos));
             System.setErr(new PrintStream(fos));
-            try(
-                    var connection = getConnection();
-                    var jdbcConnection = new JdbcConnection(connection);
-            ){
+            try{
                 var liquibase = new Liquibase(
                         "/db/changelog/db.changelog-master.yml",
                         new ClassLoaderResourceAccessor(),
-                        jdbcConnection);
+                        new JdbcConnection(connection));
                 liquibase.update();
-            } catch (SQLException | LiquibaseException e) {
-                e.printStackTrace();
+                return true;
+            } catch (LiquibaseException e) {
                 System.setErr(originalErr);
+                e.printStackTrace();
             }
         } catch (IOException ex){
             ex.printStackTrace();
@@ -44,6 +74,29 @@ public class MigrationStrategy {
             System.setOut(originalOut);
             System.setErr(originalErr);
         }
+        return false;
+    }
+
+    private Optional<String> findFingerprint() throws SQLException {
+        try (var statement = SCHEMA_FINGERPRINT_FIND.prepare(connection)) {
+            var resultSet = statement.executeQuery();
+            return resultSet.next() ? Optional.of(resultSet.getString("fingerprint")) : Optional.empty();
+        } catch (SQLException ex) {
+            if (!NO_SUCH_TABLE.equals(ex.getSQLState())) {
+                throw ex;
+            }
+            connection.rollback();
+            return Optional.empty();
+        }
+    }
+
+    private void saveFingerprint(final String fingerprint) throws SQLException {
+        try (var statement = SCHEMA_FINGERPRINT_SAVE.prepare(connection)) {
+            statement.setString(1, fingerprint);
+            statement.setTimestamp(2, toTimestamp(OffsetDateTime.now()));
+            statement.executeUpdate();
+        }
+        connection.commit();
     }
 
 }
@@ -0,0 +1,443 @@
+package br.com.dio.persistence.query;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.sql.ResultSet.CONCUR_READ_ONLY;
+import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
+import static java.sql.Statement.RETURN_GENERATED_KEYS;
+
+public enum Query {
+
+    BOARD_INSERT(Kind.GENERATED_KEYS, "INSERT INTO BOARDS (name) values (?);"),
+    BOARD_DELETE("DELETE FROM BOARDS WHERE id = ?;"),
+    BOARD_FIND_BY_ID("SELECT id, name FROM BOARDS WHERE id = ?;"),
+    BOARD_EXISTS("SELECT 1 FROM BOARDS WHERE id = ?;"),
+    BOARD_FIND_ALL_IDS("SELECT id FROM BOARDS ORDER BY id;"),
+
+    COLUMN_INSERT(Kind.GENERATED_KEYS, "INSERT INTO BOARDS_COLUMNS (name, `order`, kind, board_id) VALUES (?, ?, ?, ?);"),
+    COLUMN_FIND_BY_BOARD("SELECT id, name, `order`, kind FROM BOARDS_COLUMNS WHERE board_id = ? ORDER BY `order`"),
+    COLUMN_FIND_DETAILS_BY_BOARD(
+            """
+                    SELECT bc.id,
+                           bc.name,
+                           bc.kind,
+                           bc.cards_amount
+                      FROM BOARDS_COLUMNS bc
+                     WHERE board_id = ?
+                     ORDER BY `order`;
+                    """),
+    COLUMN_FIND_BY_ID(
+            """
+                    SELECT bc.name,
+                           bc.kind,
+                           c.id,
+                           c.title,
+                           c.description
+                      FROM BOARDS_COLUMNS bc
+                      LEFT JOIN CARDS c
+                        ON c.board_column_id = bc.id
+                     WHERE bc.id = ?;
+                    """),
+    COLUMN_FIND_CARDS_AFTER(
+            """
+                    SELECT c.id,
+                           c.title,
+                           c.description
+                      FROM CARDS c
+                     WHERE c.board_column_id = ?
+                       AND c.id > ?
+                     ORDER BY c.id
+                     LIMIT ?;
+                    """),
+    COLUMN_ADD_CARDS_AMOUNT("UPDATE BOARDS_COLUMNS SET cards_amount = cards_amount + ? WHERE id = ?;"),
+    COLUMN_FIND_CARDS_AMOUNT_DRIFT(
+            """
+                    SELECT bc.id,
+                           bc.board_id,
+                           bc.name,
+                           bc.cards_amount,
+                           COALESCE(c.actual_amount, 0) actual_amount
+                      FROM BOARDS_COLUMNS bc
+                      LEFT JOIN (SELECT board_column_id, COUNT(id) actual_amount
+                                   FROM CARDS
+                                  GROUP BY board_column_id) c
+                        ON c.board_column_id = bc.id
+                     WHERE bc.cards_amount <> COALESCE(c.actual_amount, 0)
+                     ORDER BY bc.board_id, bc.`order`;
+                    """),
+    COLUMN_REBUILD_CARDS_AMOUNT(
+            """
+                    UPDATE BOARDS_COLUMNS bc
+                      LEFT JOIN (SELECT board_column_id, COUNT(id) actual_amount
+                                   FROM CARDS
+                                  GROUP BY board_column_id) c
+                        ON c.board_column_id = bc.id
+                       SET bc.cards_amount = COALESCE(c.actual_amount, 0)
+                     WHERE bc.cards_amount <> COALESCE(c.actual_amount, 0);
+                    """),
+
+    CARD_INSERT(Kind.GENERATED_KEYS, "INSERT INTO CARDS (title, description, board_column_id) values (?, ?, ?);"),
+    CARD_RESTORE(Kind.GENERATED_KEYS,
+            "INSERT INTO CARDS (title, description, board_column_id, created_at) values (?, ?, ?, ?);"),
+    CARD_MOVE("UPDATE CARDS SET board_column_id = ?, version = version + 1 WHERE id = ? AND version = ?;"),
+    CARD_MOVE_ALL(
+            """
+                    UPDATE CARDS
+                       SET board_column_id = CASE id %s END,
+                           version = version + 1
+                     WHERE id IN (%s)
+                       AND version = CASE id %s END;
+                    """),
+    CARD_BUMP_VERSION("UPDATE CARDS SET version = version + 1 WHERE id = ? AND version = ?;"),
+    CARD_FIND_STATES(
+            """
+                    SELECT c.id,
+                           c.board_column_id,
+                           c.version,
+                           bc.board_id,
+                           EXISTS(SELECT 1
+                                    FROM BLOCKS b
+                                   WHERE b.card_id = c.id
+                                     AND b.unblocked_at IS NULL) blocked
+                      FROM CARDS c
+                     INNER JOIN BOARDS_COLUMNS bc
+                        ON bc.id = c.board_column_id
+                     WHERE c.id IN (%s);
+                    """),
+    CARD_FIND_BY_ID(
+            """
+                    SELECT c.id,
+                           c.title,
+                           c.description,
+                           b.blocked_at,
+                           b.block_reason,
+                           c.board_column_id,
+                           c.version,
+                           bc.name,
+                           bc.board_id,
+                           (SELECT COUNT(sub_b.id)
+                                   FROM BLOCKS sub_b
+                                  WHERE sub_b.card_id = c.id) blocks_amount
+                      FROM CARDS c
+                      LEFT JOIN BLOCKS b
+                        ON c.id = b.card_id
+                       AND b.unblocked_at IS NULL
+                     INNER JOIN BOARDS_COLUMNS bc
+                        ON bc.id = c.board_column_id
+                      WHERE c.id = ?;
+                    """),
+    CARD_FIND_ALL_BY_BOARD(
+            """
+                    SELECT c.id, c.title, c.description, c.created_at, c.board_column_id
+                    FROM CARDS c
+                    JOIN BOARDS_COLUMNS bc ON c.board_column_id = bc.id
+                    WHERE bc.board_id = ?
+                    """),
+    CARD_STREAM_TEXT(Kind.STREAMING,
+            """
+                    SELECT c.id, bc.board_id, c.title, c.description
+                      FROM CARDS c
+                     INNER JOIN BOARDS_COLUMNS bc
+                        ON bc.id = c.board_column_id
+                     ORDER BY c.id
+                    """),
+    CARD_SET_LAST_MOVED_AT("UPDATE CARDS SET last_moved_at = ? WHERE id = ?;"),
+    CARD_CLEAR_LAST_MOVED_AT("UPDATE CARDS SET last_moved_at = NULL WHERE last_moved_at IS NOT NULL;"),
+    CARD_REBUILD_LAST_MOVED_AT(
+            """
+                    UPDATE CARDS c
+                      LEFT JOIN (SELECT card_id, MAX(moved_at) last_moved_at
+                                   FROM CARD_MOVEMENTS
+                                  GROUP BY card_id) m
+                        ON m.card_id = c.id
+                       SET c.last_moved_at = m.last_moved_at;
+                    """),
+
+    BLOCK_INSERT("INSERT INTO BLOCKS (blocked_at, block_reason, card_id) VALUES (?, ?, ?);"),
+    BLOCK_RESTORE(
+            """
+                    INSERT INTO BLOCKS (card_id, blocked_at, block_reason, unblocked_at, unblock_reason)
+                    VALUES (?, ?, ?, ?, ?);
+                    """),
+    BLOCK_RELEASE("UPDATE BLOCKS SET unblocked_at = ?, unblock_reason = ? WHERE card_id = ? AND unblock_reason IS NULL;"),
+    BLOCK_STREAM_BY_BOARD(Kind.STREAMING,
+            """
+                    SELECT b.id, b.card_id, b.blocked_at, b.unblocked_at,
+                           b.block_reason, b.unblock_reason, c.title as card_title
+                    FROM BLOCKS b
+                    JOIN CARDS c ON b.card_id = c.id
+                    JOIN BOARDS_COLUMNS bc ON c.board_column_id = bc.id
+                    WHERE bc.board_id = ?
+                    ORDER BY b.blocked_at
+                    """),
+
+    MOVEMENT_INSERT("INSERT INTO CARD_MOVEMENTS (card_id, from_column_id, to_column_id, moved_at) VALUES (?, ?, ?, ?)"),
+    MOVEMENT_FIND_BY_CARD(
+            """
+                    SELECT cm.id, cm.moved_at,
+                           fc.name as from_column_name,
+                           tc.name as to_column_name,
+                           c.title as card_title
+                    FROM CARD_MOVEMENTS cm
+                    JOIN BOARDS_COLUMNS tc ON cm.to_column_id = tc.id
+                    LEFT JOIN BOARDS_COLUMNS fc ON cm.from_column_id = fc.id
+                    JOIN CARDS c ON cm.card_id = c.id
+                    WHERE cm.card_id = ?
+                    ORDER BY cm.moved_at
+                    """),
+    MOVEMENT_BOARD_TIME_REPORT(Kind.STREAMING,
+            """
+                    SELECT c.id AS card_id,
+                           c.title AS card_title,
+                           LAG(tc.name) OVER w AS from_column_name,
+                           LAG(cm.moved_at) OVER w AS previous_moved_at,
+                           cm.moved_at
+                      FROM CARDS c
+                     INNER JOIN BOARDS_COLUMNS bc
+                        ON bc.id = c.board_column_id
+                      LEFT JOIN CARD_MOVEMENTS cm
+                        ON cm.card_id = c.id
+                      LEFT JOIN BOARDS_COLUMNS tc
+                        ON tc.id = cm.to_column_id
+                     WHERE bc.board_id = ?
+                    WINDOW w AS (PARTITION BY c.id ORDER BY cm.moved_at, cm.id)
+                     ORDER BY c.id, cm.moved_at, cm.id
+                    """),
+    MOVEMENT_STREAM_ALL(Kind.STREAMING,
+            """
+                    SELECT id, card_id, from_column_id, to_column_id, moved_at
+                      FROM CARD_MOVEMENTS
+                     ORDER BY id
+                    """),
+    MOVEMENT_STREAM_BOARD_FLOW(Kind.STREAMING,
+            """
+                    SELECT c.id AS card_id,
+                           c.created_at,
+                           cm.from_column_id,
+                           cm.to_column_id,
+                           cm.moved_at
+                      FROM CARDS c
+                     INNER JOIN BOARDS_COLUMNS bc
+                        ON bc.id = c.board_column_id
+                     INNER JOIN CARD_MOVEMENTS cm
+                        ON cm.card_id = c.id
+                     WHERE bc.board_id = ?
+                       %s
+                     ORDER BY c.id, cm.moved_at, cm.id
+                    """),
+
+    DWELL_RECORD_DEPARTURE(
+            """
+                    INSERT INTO CARD_COLUMN_DWELL (card_id, board_column_id, dwell_ms, visits)
+                    SELECT d.card_id, d.board_column_id, d.dwell_ms, 1
+                      FROM (SELECT c.id card_id,
+                                   ? board_column_id,
+                                   TIMESTAMPDIFF(MICROSECOND, c.last_moved_at, ?) DIV 1000 dwell_ms
+                              FROM CARDS c
+                             WHERE c.id = ?
+                               AND c.last_moved_at IS NOT NULL) d
+                        ON DUPLICATE KEY UPDATE dwell_ms = CARD_COLUMN_DWELL.dwell_ms + d.dwell_ms,
+                                                visits = CARD_COLUMN_DWELL.visits + 1;
+                    """),
+    DWELL_FIND_BY_CARD(
+            """
+                    SELECT bc.name,
+                           d.dwell_ms
+                      FROM CARD_COLUMN_DWELL d
+                     INNER JOIN BOARDS_COLUMNS bc
+                        ON bc.id = d.board_column_id
+                     WHERE d.card_id = ?;
+                    """),
+    DWELL_BOARD_REPORT(Kind.STREAMING,
+            """
+                    SELECT c.id,
+                           c.title,
+                           dc.name,
+                           d.dwell_ms
+                      FROM CARDS c
+                     INNER JOIN BOARDS_COLUMNS bc
+                        ON bc.id = c.board_column_id
+                      LEFT JOIN CARD_COLUMN_DWELL d
+                        ON d.card_id = c.id
+                      LEFT JOIN BOARDS_COLUMNS dc
+                        ON dc.id = d.board_column_id
+                     WHERE bc.board_id = ?
+                     ORDER BY c.id;
+                    """),
+    DWELL_DELETE_ALL("DELETE FROM CARD_COLUMN_DWELL;"),
+    DWELL_INSERT("INSERT IGNORE INTO CARD_COLUMN_DWELL (card_id, board_column_id, dwell_ms, visits) VALUES (?, ?, ?, ?);"),
+    DWELL_REBUILD(
+            """
+                    INSERT INTO CARD_COLUMN_DWELL (card_id, board_column_id, dwell_ms, visits)
+                    SELECT m.card_id,
+                           m.previous_column_id,
+                           SUM(TIMESTAMPDIFF(MICROSECOND, m.previous_moved_at, m.moved_at) DIV 1000),
+                           COUNT(*)
+                      FROM (SELECT card_id,
+                                   moved_at,
+                                   LAG(to_column_id) OVER w previous_column_id,
+                                   LAG(moved_at) OVER w previous_moved_at
+                              FROM CARD_MOVEMENTS
+                            WINDOW w AS (PARTITION BY card_id ORDER BY moved_at, id)) m
+                     WHERE m.previous_moved_at IS NOT NULL
+                     GROUP BY m.card_id, m.previous_column_id;
+                    """),
+
+    ARCHIVE_LOCK_FINISHED(
+            """
+                    SELECT c.id,
+                           c.board_column_id,
+                           bc.board_id,
+                           c.title,
+                           c.description
+                      FROM BOARDS_COLUMNS bc
+                     INNER JOIN CARDS c
+                        ON c.board_column_id = bc.id
+                     WHERE bc.kind IN ('FINAL', 'CANCEL')
+                       AND c.last_moved_at < ?
+                     ORDER BY c.id
+                     LIMIT ?
+                       FOR UPDATE OF c;
+                    """),
+    ARCHIVE_COPY_CARDS(
+            """
+                    INSERT INTO CARDS_ARCHIVE (id, title, description, board_column_id, created_at, last_moved_at, archived_at)
+                    SELECT id, title, description, board_column_id, created_at, last_moved_at, ?
+                      FROM CARDS
+                     WHERE id IN (%s);
+                    """),
+    ARCHIVE_COPY_BLOCKS(
+            """
+                    INSERT INTO BLOCKS_ARCHIVE (id, blocked_at, block_reason, unblocked_at, unblock_reason, card_id)
+                    SELECT id, blocked_at, block_reason, unblocked_at, unblock_reason, card_id
+                      FROM BLOCKS
+                     WHERE card_id IN (%s);
+                    """),
+    ARCHIVE_COPY_MOVEMENTS(
+            """
+                    INSERT INTO CARD_MOVEMENTS_ARCHIVE (id, card_id, from_column_id, to_column_id, moved_at)
+                    SELECT id, card_id, from_column_id, to_column_id, moved_at
+                      FROM CARD_MOVEMENTS
+                     WHERE card_id IN (%s);
+                    """),
+    ARCHIVE_COPY_DWELLS(
+            """
+                    INSERT INTO CARD_COLUMN_DWELL_ARCHIVE (card_id, board_column_id, dwell_ms, visits)
+                    SELECT card_id, board_column_id, dwell_ms, visits
+                      FROM CARD_COLUMN_DWELL
+                     WHERE card_id IN (%s);
+                    """),
+    ARCHIVE_DELETE_BLOCKS("DELETE FROM BLOCKS WHERE card_id IN (%s);"),
+    ARCHIVE_DELETE_MOVEMENTS("DELETE FROM CARD_MOVEMENTS WHERE card_id IN (%s);"),
+    ARCHIVE_DELETE_DWELLS("DELETE FROM CARD_COLUMN_DWELL WHERE card_id IN (%s);"),
+    ARCHIVE_DELETE_CARDS("DELETE FROM CARDS WHERE id IN (%s);"),
+    ARCHIVE_DWELL_BOARD_REPORT(Kind.STREAMING,
+            """
+                    SELECT c.id,
+                           c.title,
+                           dc.name,
+                           d.dwell_ms
+                      FROM CARDS_ARCHIVE c
+                     INNER JOIN BOARDS_COLUMNS bc
+                        ON bc.id = c.board_column_id
+                      LEFT JOIN CARD_COLUMN_DWELL_ARCHIVE d
+                        ON d.card_id = c.id
+                      LEFT JOIN BOARDS_COLUMNS dc
+                        ON dc.id = d.board_column_id
+                     WHERE bc.board_id = ?
+                     ORDER BY c.id;
+                    """),
+    ARCHIVE_BLOCK_STREAM_BY_BOARD(Kind.STREAMING,
+            """
+                    SELECT b.id, b.card_id, b.blocked_at, b.unblocked_at,
+                           b.block_reason, b.unblock_reason, c.title as card_title
+                    FROM BLOCKS_ARCHIVE b
+                    JOIN CARDS_ARCHIVE c ON b.card_id = c.id
+                    JOIN BOARDS_COLUMNS bc ON c.board_column_id = bc.id
+                    WHERE bc.board_id = ?
+                    ORDER BY b.blocked_at
+                    """),
+
+    SCHEMA_FINGERPRINT_FIND("SELECT fingerprint FROM SCHEMA_FINGERPRINT WHERE id = 1;"),
+    SCHEMA_FINGERPRINT_SAVE(
+            """
+                    INSERT INTO SCHEMA_FINGERPRINT (id, fingerprint, migrated_at)
+                    VALUES (1, ?, ?) AS f
+                        ON DUPLICATE KEY UPDATE fingerprint = f.fingerprint,
+                                                migrated_at = f.migrated_at;
+                    """);
+
+    private static final Map<String, Query> CACHEABLE = new HashMap<>();
+
+    static {
+        for (var query : values()) {
+            if (query.isCacheable()) {
+                CACHEABLE.put(query.sql, query);
+            }
+        }
+    }
+
+    private final Kind kind;
+    private final String sql;
+
+    Query(final String sql) {
+        this(Kind.PLAIN, sql);
+    }
+
+    Query(final Kind kind, final String sql) {
+        this.kind = kind;
+        this.sql = sql;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    public boolean isCacheable() {
+        return kind != Kind.STREAMING && !isTemplate();
+    }
+
+    public boolean isTemplate() {
+        return sql.contains("%s");
+    }
+
+    public PreparedStatement prepare(final Connection connection) throws SQLException {
+        if (isTemplate()) {
+            throw new IllegalStateException("Query %s needs its fragments to be prepared".formatted(name()));
+        }
+        return prepareSql(connection, sql);
+    }
+
+    public PreparedStatement prepare(final Connection connection, final Object... fragments) throws SQLException {
+        return prepareSql(connection, sql.formatted(fragments));
+    }
+
+    static Query findCacheable(final String sql) {
+        return CACHEABLE.get(sql);
+    }
+
+    private PreparedStatement prepareSql(final Connection connection, final String sql) throws SQLException {
+        return switch (kind) {
+            case PLAIN -> connection.prepareStatement(sql);
+            case GENERATED_KEYS -> connection.prepareStatement(sql, RETURN_GENERATED_KEYS);
+            case STREAMING -> {
+                var statement = connection.prepareStatement(sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
+                statement.setFetchSize(Integer.MIN_VALUE);
+                yield statement;
+            }
+        };
+    }
+
+    private enum Kind {
+
+        PLAIN,
+        GENERATED_KEYS,
+        STREAMING
+
+    }
+
+}
@@ -0,0 +1,18 @@
+package br.com.dio.persistence.query;
+
+import java.time.Duration;
+
+public record QueryStats(String query,
+                         long prepares,
+                         long reuses,
+                         long evictions,
+                         long executions,
+                         Duration totalTime,
+                         Duration p99) {
+
+    public double reuseRate() {
+        var checkouts = prepares + reuses;
+        return checkouts == 0 ? 0 : (double) reuses / checkouts;
+    }
+
+}
@@ -0,0 +1,214 @@
+package br.com.dio.persistence.query;
+
+import br.com.dio.persistence.instrument.SqlMetrics;
+import br.com.dio.persistence.instrument.SqlStatementStats;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class StatementCache implements InvocationHandler {
+
+    private static final Map<Query, Counters> COUNTERS = new EnumMap<>(Query.class);
+
+    static {
+        for (var query : Query.values()) {
+            COUNTERS.put(query, new Counters());
+        }
+    }
+
+    private final Connection connection;
+    private final int maxSize;
+    private final LinkedHashMap<List<Object>, Cached> idle = new LinkedHashMap<>(16, 0.75f, true);
+
+    private StatementCache(final Connection connection, final int maxSize) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+    }
+
+    public static Connection wrap(final Connection connection, final int maxSize) {
+        if (maxSize <= 0) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new StatementCache(connection, maxSize));
+    }
+
+    public static int maxSize() {
+        return Integer.getInteger("board.pool.statementCacheSize", 64);
+    }
+
+    public static List<QueryStats> stats(final Optional<SqlMetrics> sqlMetrics) {
+        var stats = new ArrayList<QueryStats>();
+        for (var entry : COUNTERS.entrySet()) {
+            var query = entry.getKey();
+            var counters = entry.getValue();
+            var execution = sqlMetrics.flatMap(metrics -> metrics.find(query.sql()));
+            stats.add(new QueryStats(
+                    query.name(),
+                    counters.prepares.sum(),
+                    counters.reuses.sum(),
+                    counters.evictions.sum(),
+                    execution.map(SqlStatementStats::calls).orElse(0L),
+                    execution.map(SqlStatementStats::totalTime).orElse(Duration.ZERO),
+                    execution.map(SqlStatementStats::p99).orElse(Duration.ZERO)
+            ));
+        }
+        return stats;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        return switch (method.getName()) {
+            case "prepareStatement" -> {
+                var query = Query.findCacheable((String) args[0]);
+                yield query == null ? call(connection, method, args) : checkout(query, method, args);
+            }
+            case "close" -> {
+                closeIdle();
+                yield call(connection, method, args);
+            }
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> "StatementCache[" + connection + "]";
+            default -> call(connection, method, args);
+        };
+    }
+
+    private PreparedStatement checkout(final Query query, final Method method, final Object[] args) throws Throwable {
+        var key = List.of(args);
+        Cached cached;
+        synchronized (idle) {
+            cached = idle.remove(key);
+        }
+        PreparedStatement statement;
+        if (cached != null) {
+            COUNTERS.get(query).reuses.increment();
+            statement = cached.statement();
+        } else {
+            COUNTERS.get(query).prepares.increment();
+            statement = (PreparedStatement) call(connection, method, args);
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new Lease(key, new Cached(query, statement)));
+    }
+
+    private void checkin(final List<Object> key, final Cached cached) {
+        var statement = cached.statement();
+        try {
+            var resultSet = statement.getResultSet();
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+        } catch (SQLException ex) {
+            closeQuietly(statement);
+            return;
+        }
+        List<Cached> evicted = new ArrayList<>();
+        synchronized (idle) {
+            var previous = idle.putIfAbsent(key, cached);
+            if (previous != null) {
+                evicted.add(cached);
+            }
+            var iterator = idle.values().iterator();
+            while (idle.size() > maxSize && iterator.hasNext()) {
+                var eldest = iterator.next();
+                iterator.remove();
+                COUNTERS.get(eldest.query()).evictions.increment();
+                evicted.add(eldest);
+            }
+        }
+        evicted.forEach(e -> closeQuietly(e.statement()));
+    }
+
+    private void closeIdle() {
+        List<Cached> statements;
+        synchronized (idle) {
+            statements = List.copyOf(idle.values());
+            idle.clear();
+        }
+        statements.forEach(cached -> closeQuietly(cached.statement()));
+    }
+
+    private static void closeQuietly(final PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static Object call(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private record Cached(Query query, PreparedStatement statement) {
+    }
+
+    private static final class Counters {
+
+        private final LongAdder prepares = new LongAdder();
+        private final LongAdder reuses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+    }
+
+    private final class Lease implements InvocationHandler {
+
+        private final List<Object> key;
+        private final Cached cached;
+        private boolean returned;
+
+        private Lease(final List<Object> key, final Cached cached) {
+            this.key = key;
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "close" -> {
+                    if (!returned) {
+                        returned = true;
+                        checkin(key, cached);
+                    }
+                    yield null;
+                }
+                case "isClosed" -> returned || cached.statement().isClosed();
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> "CachedStatement[" + cached.query() + "]";
+                default -> {
+                    if (returned) {
+                        throw new SQLException("Statement was already returned to the cache");
+                    }
+                    yield call(cached.statement(), method, args);
+                }
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,20 @@
+package br.com.dio.persistence.repository;
+
+import br.com.dio.dto.CardBlockReportDTO;
+import br.com.dio.persistence.entity.BlockEntity;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface BlockRepository {
+
+    boolean block(final String reason, final Long cardId, final long expectedVersion) throws SQLException;
+
+    boolean unblock(final String reason, final Long cardId, final long expectedVersion) throws SQLException;
+
+    void restoreAll(final List<BlockEntity> blocks) throws SQLException;
+
+    long streamBoardBlocks(final Long boardId, final Consumer<CardBlockReportDTO> sink) throws SQLException;
+
+}
@@ -0,0 +1,30 @@
+package br.com.dio.persistence.repository;
+
+import br.com.dio.dto.BoardColumnDTO;
+import br.com.dio.dto.CardSummaryDTO;
+import br.com.dio.dto.ColumnCardsAmountDriftDTO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+public interface BoardColumnRepository {
+
+    BoardColumnEntity insert(final BoardColumnEntity entity) throws SQLException;
+
+    List<BoardColumnEntity> findByBoardId(final Long boardId) throws SQLException;
+
+    List<BoardColumnDTO> findByBoardIdWithDetails(final Long boardId) throws SQLException;
+
+    Optional<BoardColumnEntity> findById(final Long boardId) throws SQLException;
+
+    List<CardSummaryDTO> findCardsAfter(final Long columnId, final long afterCardId, final int limit) throws SQLException;
+
+    void addCardsAmount(final Long columnId, final int delta) throws SQLException;
+
+    List<ColumnCardsAmountDriftDTO> findCardsAmountDrift() throws SQLException;
+
+    int rebuildCardsAmount() throws SQLException;
+
+}
@@ -0,0 +1,21 @@
+package br.com.dio.persistence.repository;
+
+import br.com.dio.persistence.entity.BoardEntity;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+public interface BoardRepository {
+
+    BoardEntity insert(final BoardEntity entity) throws SQLException;
+
+    void delete(final Long id) throws SQLException;
+
+    Optional<BoardEntity> findById(final Long id) throws SQLException;
+
+    boolean exists(final Long id) throws SQLException;
+
+    List<Long> findAllIds() throws SQLException;
+
+}
@@ -0,0 +1,20 @@
+package br.com.dio.persistence.repository;
+
+import br.com.dio.dto.CardArchiveChunkDTO;
+import br.com.dio.dto.CardBlockReportDTO;
+import br.com.dio.dto.CardTimeReportDTO;
+
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface CardArchiveRepository {
+
+    CardArchiveChunkDTO archiveFinishedBefore(final OffsetDateTime cutoff, final int limit) throws SQLException;
+
+    List<CardTimeReportDTO> findBoardTimeReports(final Long boardId) throws SQLException;
+
+    long streamBoardBlocks(final Long boardId, final Consumer<CardBlockReportDTO> sink) throws SQLException;
+
+}
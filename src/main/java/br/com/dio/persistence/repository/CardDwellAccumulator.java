@@ -0,0 +1,47 @@
+package br.com.dio.persistence.repository;
+
+import br.com.dio.persistence.entity.CardColumnDwellEntity;
+import br.com.dio.persistence.entity.CardMovementEntity;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class CardDwellAccumulator implements Consumer<CardMovementEntity> {
+
+    private final Map<Long, CardMovementEntity> lastMovements = new HashMap<>();
+    private final Map<List<Long>, CardColumnDwellEntity> dwells = new LinkedHashMap<>();
+
+    @Override
+    public void accept(final CardMovementEntity movement) {
+        var previous = lastMovements.put(movement.getCardId(), movement);
+        if (previous == null) {
+            return;
+        }
+        var dwell = dwells.computeIfAbsent(List.of(movement.getCardId(), previous.getToColumnId()), key -> {
+            var entity = new CardColumnDwellEntity();
+            entity.setCardId(key.get(0));
+            entity.setBoardColumnId(key.get(1));
+            return entity;
+        });
+        dwell.setDwellMillis(dwell.getDwellMillis() +
+                Duration.between(previous.getMovedAt(), movement.getMovedAt()).toMillis());
+        dwell.setVisits(dwell.getVisits() + 1);
+    }
+
+    public List<CardColumnDwellEntity> dwells() {
+        return new ArrayList<>(dwells.values());
+    }
+
+    public Map<Long, OffsetDateTime> lastMovedAt() {
+        Map<Long, OffsetDateTime> lastMovedAt = new HashMap<>();
+        lastMovements.forEach((cardId, movement) -> lastMovedAt.put(cardId, movement.getMovedAt()));
+        return lastMovedAt;
+    }
+
+}
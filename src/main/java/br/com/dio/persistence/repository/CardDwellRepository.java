@@ -0,0 +1,30 @@
+package br.com.dio.persistence.repository;
+
+import br.com.dio.dto.CardTimeReportDTO;
+import br.com.dio.persistence.entity.CardColumnDwellEntity;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface CardDwellRepository {
+
+    void recordDeparture(final Long cardId, final Long fromColumnId, final OffsetDateTime movedAt) throws SQLException;
+
+    void recordDepartures(final Map<Long, Long> fromColumnPerCard, final OffsetDateTime movedAt) throws SQLException;
+
+    Map<String, Duration> findTimePerColumn(final Long cardId) throws SQLException;
+
+    List<CardTimeReportDTO> findBoardTimeReports(final Long boardId) throws SQLException;
+
+    int rebuildFromMovements() throws SQLException;
+
+    int replaceAll(final List<CardColumnDwellEntity> dwells, final Map<Long, OffsetDateTime> lastMovedAt)
+            throws SQLException;
+
+    int restoreAll(final List<CardColumnDwellEntity> dwells, final Map<Long, OffsetDateTime> lastMovedAt)
+            throws SQLException;
+
+}
@@ -0,0 +1,28 @@
+package br.com.dio.persistence.repository;
+
+import br.com.dio.dto.CardFlowEventDTO;
+import br.com.dio.dto.CardMovementDTO;
+import br.com.dio.dto.CardTimeReportDTO;
+import br.com.dio.persistence.entity.CardMovementEntity;
+
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface CardMovementRepository {
+
+    void recordMovement(final Long cardId, final Long fromColumnId, final Long toColumnId) throws SQLException;
+
+    void recordMovements(final List<CardMovementEntity> movements) throws SQLException;
+
+    List<CardMovementDTO> getCardMovements(final Long cardId) throws SQLException;
+
+    List<CardTimeReportDTO> getBoardTimeReports(final Long boardId) throws SQLException;
+
+    long streamAll(final Consumer<CardMovementEntity> sink) throws SQLException;
+
+    long streamBoardFlow(final Long boardId, final OffsetDateTime until, final Consumer<CardFlowEventDTO> sink)
+            throws SQLException;
+
+}
@@ -0,0 +1,35 @@
+package br.com.dio.persistence.repository;
+
+import br.com.dio.dto.CardDetailsDTO;
+import br.com.dio.dto.CardStateDTO;
+import br.com.dio.dto.CardTextDTO;
+import br.com.dio.persistence.entity.CardEntity;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface CardRepository {
+
+    CardEntity insert(final CardEntity entity) throws SQLException;
+
+    List<CardEntity> insertAll(final List<CardEntity> entities) throws SQLException;
+
+    List<CardEntity> restoreAll(final List<CardEntity> entities) throws SQLException;
+
+    boolean moveToColumn(final Long columnId, final Long cardId, final long expectedVersion) throws SQLException;
+
+    int moveAllToColumns(final Map<Long, Long> columnPerCard, final Map<Long, Long> expectedVersions) throws SQLException;
+
+    Map<Long, CardStateDTO> findStates(final Collection<Long> ids) throws SQLException;
+
+    Optional<CardDetailsDTO> findById(final Long id) throws SQLException;
+
+    List<CardEntity> findAllByBoard(final Long boardId) throws SQLException;
+
+    long streamAllText(final Consumer<CardTextDTO> sink) throws SQLException;
+
+}
@@ -0,0 +1,82 @@
+package br.com.dio.persistence.repository;
+
+import br.com.dio.persistence.dao.BlockDAO;
+import br.com.dio.persistence.dao.BoardColumnDAO;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.CardArchiveDAO;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.dao.CardDwellDAO;
+import br.com.dio.persistence.dao.CardMovementDAO;
+import br.com.dio.persistence.journal.JournalCardMovementRepository;
+import br.com.dio.persistence.journal.MovementJournal;
+import br.com.dio.persistence.memory.InMemoryBlockRepository;
+import br.com.dio.persistence.memory.InMemoryBoardColumnRepository;
+import br.com.dio.persistence.memory.InMemoryBoardRepository;
+import br.com.dio.persistence.memory.InMemoryCardArchiveRepository;
+import br.com.dio.persistence.memory.InMemoryCardDwellRepository;
+import br.com.dio.persistence.memory.InMemoryCardMovementRepository;
+import br.com.dio.persistence.memory.InMemoryCardRepository;
+import br.com.dio.persistence.memory.InMemorySession;
+import br.com.dio.persistence.writebehind.MovementWriteBehind;
+import br.com.dio.persistence.writebehind.WriteBehindCardMovementRepository;
+import lombok.NoArgsConstructor;
+
+import java.sql.Connection;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@NoArgsConstructor(access = PRIVATE)
+public final class Repositories {
+
+    public static BoardRepository boardRepository(final Connection connection) {
+        return InMemorySession.of(connection)
+                .<BoardRepository>map(InMemoryBoardRepository::new)
+                .orElseGet(() -> new BoardDAO(connection));
+    }
+
+    public static BoardColumnRepository boardColumnRepository(final Connection connection) {
+        return InMemorySession.of(connection)
+                .<BoardColumnRepository>map(InMemoryBoardColumnRepository::new)
+                .orElseGet(() -> new BoardColumnDAO(connection));
+    }
+
+    public static CardRepository cardRepository(final Connection connection) {
+        return InMemorySession.of(connection)
+                .<CardRepository>map(InMemoryCardRepository::new)
+                .orElseGet(() -> new CardDAO(connection));
+    }
+
+    public static BlockRepository blockRepository(final Connection connection) {
+        return InMemorySession.of(connection)
+                .<BlockRepository>map(InMemoryBlockRepository::new)
+                .orElseGet(() -> new BlockDAO(connection));
+    }
+
+    public static CardDwellRepository cardDwellRepository(final Connection connection) {
+        return InMemorySession.of(connection)
+                .<CardDwellRepository>map(InMemoryCardDwellRepository::new)
+                .orElseGet(() -> new CardDwellDAO(connection));
+    }
+
+    public static CardArchiveRepository cardArchiveRepository(final Connection connection) {
+        return InMemorySession.of(connection)
+                .<CardArchiveRepository>map(InMemoryCardArchiveRepository::new)
+                .orElseGet(() -> new CardArchiveDAO(connection));
+    }
+
+    public static CardMovementRepository cardMovementRepository(final Connection connection) {
+        var table = cardMovementTable(connection);
+        return MovementJournal.shared()
+                .<CardMovementRepository>map(journal -> new JournalCardMovementRepository(connection, journal, table))
+                .or(() -> MovementWriteBehind.shared()
+                        .map(writeBehind -> new WriteBehindCardMovementRepository(connection, writeBehind, table)))
+                .orElse(table);
+    }
+
+    public static CardMovementRepository cardMovementTable(final Connection connection) {
+        return InMemorySession.of(connection)
+                .<CardMovementRepository>map(InMemoryCardMovementRepository::new)
+                .orElseGet(() -> new CardMovementDAO(connection));
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.com.dio.persistence.writebehind;
+
+public enum MovementDurability {
+
+    SYNC,
+    GROUP_COMMIT,
+    ASYNC
+
+}
@@ -0,0 +1,287 @@
+package br.com.dio.persistence.writebehind;
+
+import br.com.dio.persistence.config.ConnectionConfig;
+import br.com.dio.persistence.config.StorageEngine;
+import br.com.dio.persistence.entity.CardMovementEntity;
+import br.com.dio.persistence.repository.CardMovementRepository;
+import br.com.dio.persistence.repository.Repositories;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public class MovementWriteBehind implements AutoCloseable {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final StorageEngine engine;
+    private final Function<Connection, CardMovementRepository> table;
+    private final MovementWriteBehindSettings settings;
+    private final ArrayBlockingQueue<Pending> queue;
+    private final Thread writer;
+
+    private final Object enqueueLock = new Object();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushedCondition = flushLock.newCondition();
+    private volatile long enqueued;
+    private volatile long processedSequence;
+    private final TreeSet<Long> droppedSequences = new TreeSet<>();
+    private volatile boolean closed;
+    private Connection connection;
+
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    public MovementWriteBehind(final StorageEngine engine, final Function<Connection, CardMovementRepository> table,
+                               final MovementWriteBehindSettings settings) {
+        if (settings.queueCapacity() < 1 || settings.batchSize() < 1) {
+            throw new IllegalArgumentException("Queue capacity and batch size must be at least 1");
+        }
+        this.engine = engine;
+        this.table = table;
+        this.settings = settings;
+        this.queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+        this.writer = Thread.ofPlatform().daemon().name("movement-writer").start(this::drain);
+    }
+
+    public static Optional<MovementWriteBehind> shared() {
+        return Holder.WRITE_BEHIND;
+    }
+
+    public MovementDurability durability() {
+        return settings.durability();
+    }
+
+    public long enqueue(final List<CardMovementEntity> movements) throws SQLException {
+        synchronized (enqueueLock) {
+            try {
+                for (var movement : movements) {
+                    if (closed) {
+                        throw new SQLException("Movement write-behind queue is closed");
+                    }
+                    var sequence = enqueued + 1;
+                    queue.put(new Pending(movement, sequence));
+                    enqueued = sequence;
+                }
+                return enqueued;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while queueing card movements", ex);
+            }
+        }
+    }
+
+    public void awaitFlushed(final long first, final long last) throws SQLException {
+        flushLock.lock();
+        try {
+            awaitProcessed(last);
+            var dropped = droppedSequences.subSet(first, true, last, true);
+            if (!dropped.isEmpty()) {
+                var count = dropped.size();
+                dropped.clear();
+                throw new SQLException("%s card movement(s) could not be written to the movement history"
+                        .formatted(count));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public void flush() throws SQLException {
+        flushLock.lock();
+        try {
+            awaitProcessed(enqueued);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void awaitProcessed(final long sequence) throws SQLException {
+        try {
+            while (processedSequence < sequence) {
+                if (!writer.isAlive()) {
+                    throw new SQLException("Movement writer stopped before flushing sequence %s".formatted(sequence));
+                }
+                flushedCondition.await(IDLE_POLL_MILLIS, MILLISECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for card movements to be flushed", ex);
+        }
+    }
+
+    public MovementWriteBehindMetrics metrics() {
+        var count = flushes.sum();
+        return new MovementWriteBehindMetrics(
+                settings.durability(),
+                queue.size(),
+                settings.queueCapacity(),
+                enqueued,
+                flushed.sum(),
+                dropped.sum(),
+                count,
+                count == 0 ? 0 : (double) (flushed.sum() + dropped.sum()) / count,
+                Duration.ofNanos(count == 0 ? 0 : flushNanos.sum() / count),
+                Duration.ofNanos(maxFlushNanos.get())
+        );
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        var batch = new ArrayList<Pending>(settings.batchSize());
+        try {
+            while (true) {
+                var first = queue.poll(IDLE_POLL_MILLIS, MILLISECONDS);
+                if (first == null) {
+                    if (closed) {
+                        break;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        do {
+            queue.drainTo(batch, settings.batchSize() - batch.size());
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        } while (!queue.isEmpty());
+        closeConnection();
+    }
+
+    private void fill(final List<Pending> batch) throws InterruptedException {
+        queue.drainTo(batch, settings.batchSize() - batch.size());
+        if (settings.durability() == MovementDurability.GROUP_COMMIT) {
+            return;
+        }
+        var deadline = System.nanoTime() + settings.flushInterval().toNanos();
+        while (batch.size() < settings.batchSize() && !closed) {
+            var remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            var next = queue.poll(remaining, NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, settings.batchSize() - batch.size());
+        }
+    }
+
+    private void write(final List<Pending> batch) {
+        var start = System.nanoTime();
+        var failed = new ArrayList<Long>();
+        try {
+            insert(batch.stream().map(Pending::movement).toList());
+            flushed.add(batch.size());
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            for (var pending : batch) {
+                try {
+                    insert(List.of(pending.movement()));
+                    flushed.increment();
+                } catch (SQLException rowEx) {
+                    dropped.increment();
+                    failed.add(pending.sequence());
+                }
+            }
+        }
+        var elapsed = System.nanoTime() - start;
+        flushes.increment();
+        flushNanos.add(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        flushLock.lock();
+        try {
+            if (settings.durability() == MovementDurability.GROUP_COMMIT) {
+                droppedSequences.addAll(failed);
+            }
+            processedSequence = batch.getLast().sequence();
+            flushedCondition.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void insert(final List<CardMovementEntity> movements) throws SQLException {
+        if (connection == null) {
+            connection = engine.getConnection();
+        }
+        try {
+            table.apply(connection).recordMovements(movements);
+            connection.commit();
+        } catch (SQLException ex) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackEx) {
+                ex.addSuppressed(rollbackEx);
+                closeConnection();
+            }
+            throw ex;
+        }
+    }
+
+    private void closeConnection() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        } finally {
+            connection = null;
+        }
+    }
+
+    private static Optional<MovementWriteBehind> fromSystemProperties() {
+        var settings = MovementWriteBehindSettings.fromSystemProperties();
+        if (settings.durability() == MovementDurability.SYNC) {
+            return Optional.empty();
+        }
+        return Optional.of(new MovementWriteBehind(ConnectionConfig.getStorageEngine(),
+                Repositories::cardMovementTable, settings));
+    }
+
+    private record Pending(CardMovementEntity movement, long sequence) {
+    }
+
+    private static final class Holder {
+
+        private static final Optional<MovementWriteBehind> WRITE_BEHIND = fromSystemProperties();
+
+    }
+
+}
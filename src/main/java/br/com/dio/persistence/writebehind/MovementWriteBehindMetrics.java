@@ -0,0 +1,15 @@
+package br.com.dio.persistence.writebehind;
+
+import java.time.Duration;
+
+public record MovementWriteBehindMetrics(MovementDurability durability,
+                                         int queueDepth,
+                                         int queueCapacity,
+                                         long enqueued,
+                                         long flushed,
+                                         long dropped,
+                                         long flushes,
+                                         double averageBatchSize,
+                                         Duration averageFlush,
+                                         Duration maxFlush) {
+}
@@ -0,0 +1,21 @@
+package br.com.dio.persistence.writebehind;
+
+import java.time.Duration;
+import java.util.Locale;
+
+public record MovementWriteBehindSettings(MovementDurability durability,
+                                          int queueCapacity,
+                                          int batchSize,
+                                          Duration flushInterval) {
+
+    public static MovementWriteBehindSettings fromSystemProperties() {
+        return new MovementWriteBehindSettings(
+                MovementDurability.valueOf(System.getProperty("board.movements.durability", "SYNC")
+                        .trim().toUpperCase(Locale.ROOT)),
+                Integer.getInteger("board.movements.queueCapacity", 10_000),
+                Integer.getInteger("board.movements.batchSize", 500),
+                Duration.ofMillis(Long.getLong("board.movements.flushIntervalMs", 50L))
+        );
+    }
+
+}
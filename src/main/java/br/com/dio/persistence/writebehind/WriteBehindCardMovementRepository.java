@@ -0,0 +1,75 @@
+package br.com.dio.persistence.writebehind;
+
+import br.com.dio.dto.CardFlowEventDTO;
+import br.com.dio.dto.CardMovementDTO;
+import br.com.dio.dto.CardTimeReportDTO;
+import br.com.dio.persistence.config.TransactionCallbacks;
+import br.com.dio.persistence.entity.CardMovementEntity;
+import br.com.dio.persistence.repository.CardMovementRepository;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static br.com.dio.persistence.writebehind.MovementDurability.GROUP_COMMIT;
+
+@AllArgsConstructor
+public class WriteBehindCardMovementRepository implements CardMovementRepository {
+
+    private final Connection connection;
+    private final MovementWriteBehind writeBehind;
+    private final CardMovementRepository table;
+
+    @Override
+    public void recordMovement(final Long cardId, final Long fromColumnId, final Long toColumnId) throws SQLException {
+        var movement = new CardMovementEntity();
+        movement.setCardId(cardId);
+        movement.setFromColumnId(fromColumnId);
+        movement.setToColumnId(toColumnId);
+        movement.setMovedAt(OffsetDateTime.now());
+        recordMovements(List.of(movement));
+    }
+
+    @Override
+    public void recordMovements(final List<CardMovementEntity> movements) throws SQLException {
+        if (movements.isEmpty()) {
+            return;
+        }
+        var captured = List.copyOf(movements);
+        TransactionCallbacks.afterCommit(connection, () -> {
+            var last = writeBehind.enqueue(captured);
+            if (writeBehind.durability() == GROUP_COMMIT) {
+                writeBehind.awaitFlushed(last - captured.size() + 1, last);
+            }
+        });
+    }
+
+    @Override
+    public List<CardMovementDTO> getCardMovements(final Long cardId) throws SQLException {
+        writeBehind.flush();
+        return table.getCardMovements(cardId);
+    }
+
+    @Override
+    public List<CardTimeReportDTO> getBoardTimeReports(final Long boardId) throws SQLException {
+        writeBehind.flush();
+        return table.getBoardTimeReports(boardId);
+    }
+
+    @Override
+    public long streamAll(final Consumer<CardMovementEntity> sink) throws SQLException {
+        writeBehind.flush();
+        return table.streamAll(sink);
+    }
+
+    @Override
+    public long streamBoardFlow(final Long boardId, final OffsetDateTime until, final Consumer<CardFlowEventDTO> sink)
+            throws SQLException {
+        writeBehind.flush();
+        return table.streamBoardFlow(boardId, until, sink);
+    }
+
+}
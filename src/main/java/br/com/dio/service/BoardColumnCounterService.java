@@ -0,0 +1,34 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.ColumnCardsAmountDriftDTO;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static br.com.dio.persistence.repository.Repositories.boardColumnRepository;
+
+@AllArgsConstructor
+public class BoardColumnCounterService {
+
+    private final Connection connection;
+
+    public List<ColumnCardsAmountDriftDTO> check() throws SQLException {
+        var dao = boardColumnRepository(connection);
+        return dao.findCardsAmountDrift();
+    }
+
+    public int rebuild() throws SQLException {
+        var dao = boardColumnRepository(connection);
+        try {
+            var updated = dao.rebuildCardsAmount();
+            connection.commit();
+            return updated;
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        }
+    }
+
+}
@@ -1,21 +1,63 @@
 package br.com.dio.service;
 
-import br.com.dio.persistence.dao.BoardColumnDAO;
+import br.com.dio.dto.ColumnCardsPageDTO;
 import br.com.dio.persistence.entity.BoardColumnEntity;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Base64;
 import java.util.Optional;
 
+import static br.com.dio.persistence.repository.Repositories.boardColumnRepository;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+
 @AllArgsConstructor
 public class BoardColumnQueryService {
 
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final Connection connection;
 
     public Optional<BoardColumnEntity> findById(final Long id) throws SQLException {
-        var dao = new BoardColumnDAO(connection);
+        var dao = boardColumnRepository(connection);
         return dao.findById(id);
     }
 
+    public ColumnCardsPageDTO findCardsPage(final Long columnId, final int pageSize, final String pageToken)
+            throws SQLException {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and %s".formatted(MAX_PAGE_SIZE));
+        }
+        var dao = boardColumnRepository(connection);
+        var afterCardId = decodeToken(columnId, pageToken);
+        var cards = dao.findCardsAfter(columnId, afterCardId, pageSize + 1);
+        if (cards.size() <= pageSize) {
+            return new ColumnCardsPageDTO(columnId, cards, null);
+        }
+        var page = cards.subList(0, pageSize);
+        return new ColumnCardsPageDTO(columnId, page, encodeToken(columnId, page.get(pageSize - 1).id()));
+    }
+
+    private static String encodeToken(final Long columnId, final Long lastCardId) {
+        var raw = "%s:%s".formatted(columnId, lastCardId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(UTF_8));
+    }
+
+    private static long decodeToken(final Long columnId, final String pageToken) {
+        if (isNull(pageToken) || pageToken.isBlank()) {
+            return 0L;
+        }
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(pageToken), UTF_8).split(":");
+            if (parts.length != 2 || !parts[0].equals(columnId.toString())) {
+                throw new IllegalArgumentException("Page token does not belong to column %s".formatted(columnId));
+            }
+            return Long.parseLong(parts[1]);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid page token: " + ex.getMessage(), ex);
+        }
+    }
+
 }
@@ -0,0 +1,280 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.BoardDumpSummaryDTO;
+import br.com.dio.dto.CardBlockReportDTO;
+import br.com.dio.dto.CardFlowEventDTO;
+import br.com.dio.exception.EntityNotFoundException;
+import br.com.dio.persistence.entity.BlockEntity;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.entity.CardMovementEntity;
+import br.com.dio.persistence.repository.CardDwellAccumulator;
+import br.com.dio.service.cache.BoardSnapshotCache;
+import br.com.dio.service.dump.BoardDumpReader;
+import br.com.dio.service.dump.BoardDumpVisitor;
+import br.com.dio.service.dump.BoardDumpWriter;
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.dio.persistence.repository.Repositories.blockRepository;
+import static br.com.dio.persistence.repository.Repositories.boardColumnRepository;
+import static br.com.dio.persistence.repository.Repositories.boardRepository;
+import static br.com.dio.persistence.repository.Repositories.cardDwellRepository;
+import static br.com.dio.persistence.repository.Repositories.cardMovementRepository;
+import static br.com.dio.persistence.repository.Repositories.cardRepository;
+
+@AllArgsConstructor
+public class BoardDumpService {
+
+    public static final int DEFAULT_CHUNK_SIZE = 5_000;
+
+    private final Connection connection;
+
+    public BoardDumpSummaryDTO exportBoard(final Long boardId, final Path file, final boolean compress)
+            throws IOException, SQLException {
+        var start = System.nanoTime();
+        var board = boardRepository(connection).findById(boardId)
+                .orElseThrow(() -> new EntityNotFoundException("Board %s was not found".formatted(boardId)));
+        var writer = new BoardDumpWriter(file, compress);
+        try {
+            try (writer) {
+                write(board, writer);
+            }
+        } catch (IOException | SQLException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        return new BoardDumpSummaryDTO(boardId, writer.getColumns(), writer.getCards(), writer.getBlocks(),
+                writer.getMovements(), Files.size(file), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    public BoardDumpSummaryDTO importBoard(final Path file, final int chunkSize) throws IOException, SQLException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        var start = System.nanoTime();
+        var importer = new Importer(chunkSize);
+        try (var reader = new BoardDumpReader(file)) {
+            reader.accept(importer);
+            connection.commit();
+        } catch (IOException | SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        }
+        BoardSnapshotCache.shared().invalidate(importer.board.getId());
+        new CardSearchService(connection).indexBoard(importer.board.getId());
+        return new BoardDumpSummaryDTO(importer.board.getId(), importer.columnIds.size(), importer.cardIds.size(),
+                importer.blocks, importer.movements, Files.size(file), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void write(final BoardEntity board, final BoardDumpWriter writer) throws IOException, SQLException {
+        writer.writeBoard(board);
+        for (var column : boardColumnRepository(connection).findByBoardId(board.getId())) {
+            writer.writeColumn(column);
+        }
+        for (var card : cardRepository(connection).findAllByBoard(board.getId())) {
+            writer.writeCard(card);
+        }
+        try {
+            blockRepository(connection).streamBoardBlocks(board.getId(), block -> {
+                try {
+                    writer.writeBlock(toBlock(block));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            cardMovementRepository(connection).streamBoardFlow(board.getId(), null, event -> {
+                try {
+                    writer.writeMovement(toMovement(event));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static BlockEntity toBlock(final CardBlockReportDTO dto) {
+        var block = new BlockEntity();
+        block.setCardId(dto.cardId());
+        block.setBlockedAt(dto.blockedAt());
+        block.setBlockReason(dto.blockReason());
+        block.setUnblockedAt(dto.unblockedAt());
+        block.setUnblockReason(dto.unblockReason());
+        return block;
+    }
+
+    private static CardMovementEntity toMovement(final CardFlowEventDTO dto) {
+        var movement = new CardMovementEntity();
+        movement.setCardId(dto.cardId());
+        movement.setFromColumnId(dto.fromColumnId());
+        movement.setToColumnId(dto.toColumnId());
+        movement.setMovedAt(dto.movedAt());
+        return movement;
+    }
+
+    private static Long remap(final Map<Long, Long> ids, final Long sourceId, final String kind) throws IOException {
+        var id = ids.get(sourceId);
+        if (id == null) {
+            throw new IOException("Board dump references unknown %s %s".formatted(kind, sourceId));
+        }
+        return id;
+    }
+
+    private final class Importer implements BoardDumpVisitor {
+
+        private final int chunkSize;
+        private final Map<Long, Long> columnIds = new HashMap<>();
+        private final Map<Long, Long> cardIds = new HashMap<>();
+        private final Map<Long, Integer> cardsPerColumn = new HashMap<>();
+        private final CardDwellAccumulator dwells = new CardDwellAccumulator();
+        private final List<BoardColumnEntity> pendingColumns = new ArrayList<>();
+        private final List<Long> pendingCardIds = new ArrayList<>();
+        private final List<CardEntity> pendingCards = new ArrayList<>();
+        private final List<BlockEntity> pendingBlocks = new ArrayList<>();
+        private final List<CardMovementEntity> pendingMovements = new ArrayList<>();
+        private BoardEntity board;
+        private long blocks;
+        private long movements;
+
+        private Importer(final int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public void board(final BoardEntity source) throws IOException {
+            if (board != null) {
+                throw new IOException("Board dump holds more than one board");
+            }
+            board = new BoardEntity();
+            board.setName(source.getName());
+        }
+
+        @Override
+        public void column(final BoardColumnEntity column) throws IOException {
+            if (board == null || board.getId() != null) {
+                throw new IOException("Board dump column %s is out of place".formatted(column.getId()));
+            }
+            pendingColumns.add(column);
+        }
+
+        @Override
+        public void card(final CardEntity card) throws IOException, SQLException {
+            insertBoard();
+            var columnId = remap(columnIds, card.getBoardColumn().getId(), "column");
+            card.getBoardColumn().setId(columnId);
+            cardsPerColumn.merge(columnId, 1, Integer::sum);
+            pendingCardIds.add(card.getId());
+            card.setId(null);
+            pendingCards.add(card);
+            if (pendingCards.size() == chunkSize) {
+                flushCards();
+            }
+        }
+
+        @Override
+        public void block(final BlockEntity block) throws IOException, SQLException {
+            insertBoard();
+            flushCards();
+            block.setCardId(remap(cardIds, block.getCardId(), "card"));
+            pendingBlocks.add(block);
+            if (pendingBlocks.size() == chunkSize) {
+                flushBlocks();
+            }
+        }
+
+        @Override
+        public void movement(final CardMovementEntity movement) throws IOException, SQLException {
+            insertBoard();
+            flushCards();
+            flushBlocks();
+            movement.setCardId(remap(cardIds, movement.getCardId(), "card"));
+            if (movement.getFromColumnId() != null) {
+                movement.setFromColumnId(remap(columnIds, movement.getFromColumnId(), "column"));
+            }
+            movement.setToColumnId(remap(columnIds, movement.getToColumnId(), "column"));
+            dwells.accept(movement);
+            pendingMovements.add(movement);
+            if (pendingMovements.size() == chunkSize) {
+                flushMovements();
+            }
+        }
+
+        @Override
+        public void end() throws IOException, SQLException {
+            insertBoard();
+            flushCards();
+            flushBlocks();
+            flushMovements();
+            cardDwellRepository(connection).restoreAll(dwells.dwells(), dwells.lastMovedAt());
+            var boardColumnDAO = boardColumnRepository(connection);
+            for (var entry : cardsPerColumn.entrySet()) {
+                boardColumnDAO.addCardsAmount(entry.getKey(), entry.getValue());
+            }
+        }
+
+        private void insertBoard() throws IOException, SQLException {
+            if (board == null) {
+                throw new IOException("Board dump does not start with a board");
+            }
+            if (board.getId() != null) {
+                return;
+            }
+            boardRepository(connection).insert(board);
+            var boardColumnDAO = boardColumnRepository(connection);
+            for (var column : pendingColumns) {
+                var sourceId = column.getId();
+                column.setId(null);
+                column.setBoard(board);
+                boardColumnDAO.insert(column);
+                columnIds.put(sourceId, column.getId());
+            }
+            board.setBoardColumns(pendingColumns);
+        }
+
+        private void flushCards() throws SQLException {
+            if (pendingCards.isEmpty()) {
+                return;
+            }
+            cardRepository(connection).restoreAll(pendingCards);
+            for (int i = 0; i < pendingCards.size(); i++) {
+                cardIds.put(pendingCardIds.get(i), pendingCards.get(i).getId());
+            }
+            pendingCardIds.clear();
+            pendingCards.clear();
+        }
+
+        private void flushBlocks() throws SQLException {
+            if (pendingBlocks.isEmpty()) {
+                return;
+            }
+            blockRepository(connection).restoreAll(pendingBlocks);
+            blocks += pendingBlocks.size();
+            pendingBlocks.clear();
+        }
+
+        private void flushMovements() throws SQLException {
+            if (pendingMovements.isEmpty()) {
+                return;
+            }
+            cardMovementRepository(connection).recordMovements(pendingMovements);
+            movements += pendingMovements.size();
+            pendingMovements.clear();
+        }
+
+    }
+
+}
@@ -1,35 +1,46 @@
 package br.com.dio.service;
 
 import br.com.dio.dto.BoardDetailsDTO;
-import br.com.dio.persistence.dao.BoardColumnDAO;
-import br.com.dio.persistence.dao.BoardDAO;
 import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.service.cache.BoardSnapshot;
+import br.com.dio.service.cache.BoardSnapshotCache;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Optional;
 
+import static br.com.dio.persistence.repository.Repositories.boardColumnRepository;
+import static br.com.dio.persistence.repository.Repositories.boardRepository;
+
 @AllArgsConstructor
 public class BoardQueryService {
 
     private final Connection connection;
 
     public Optional<BoardEntity> findById(final Long id) throws SQLException {
-        var dao = new BoardDAO(connection);
-        var boardColumnDAO = new BoardColumnDAO(connection);
+        return findSnapshot(id).map(BoardSnapshot::toEntity);
+    }
+
+    public Optional<BoardSnapshot> findSnapshot(final Long id) throws SQLException {
+        return BoardSnapshotCache.shared().get(id, this::loadSnapshot);
+    }
+
+    private Optional<BoardSnapshot> loadSnapshot(final Long id) throws SQLException {
+        var dao = boardRepository(connection);
+        var boardColumnDAO = boardColumnRepository(connection);
         var optional = dao.findById(id);
         if (optional.isPresent()){
             var entity = optional.get();
             entity.setBoardColumns(boardColumnDAO.findByBoardId(entity.getId()));
-            return Optional.of(entity);
+            return Optional.of(BoardSnapshot.of(entity));
         }
         return Optional.empty();
     }
 
     public Optional<BoardDetailsDTO> showBoardDetails(final Long id) throws SQLException {
-        var dao = new BoardDAO(connection);
-        var boardColumnDAO = new BoardColumnDAO(connection);
+        var dao = boardRepository(connection);
+        var boardColumnDAO = boardColumnRepository(connection);
         var optional = dao.findById(id);
         if (optional.isPresent()){
             var entity = optional.get();
@@ -0,0 +1,14 @@
+package br.com.dio.service;
+
+public interface BoardReportProgress {
+
+    BoardReportProgress NONE = new BoardReportProgress() {
+    };
+
+    default void completed(final Long boardId, final int done, final int total) {
+    }
+
+    default void failed(final Long boardId, final String reason, final int done, final int total) {
+    }
+
+}
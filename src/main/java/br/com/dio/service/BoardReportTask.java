@@ -0,0 +1,11 @@
+package br.com.dio.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface BoardReportTask<T> {
+
+    T run(final Connection connection, final Long boardId) throws SQLException;
+
+}
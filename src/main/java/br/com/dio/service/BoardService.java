@@ -1,21 +1,24 @@
 package br.com.dio.service;
 
-import br.com.dio.persistence.dao.BoardColumnDAO;
-import br.com.dio.persistence.dao.BoardDAO;
 import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.service.cache.BoardSnapshotCache;
+import br.com.dio.service.search.CardSearchIndex;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 
+import static br.com.dio.persistence.repository.Repositories.boardColumnRepository;
+import static br.com.dio.persistence.repository.Repositories.boardRepository;
+
 @AllArgsConstructor
 public class BoardService {
 
     private final Connection connection;
 
     public BoardEntity insert(final BoardEntity entity) throws SQLException {
-        var dao = new BoardDAO(connection);
-        var boardColumnDAO = new BoardColumnDAO(connection);
+        var dao = boardRepository(connection);
+        var boardColumnDAO = boardColumnRepository(connection);
         try{
             dao.insert(entity);
             var columns = entity.getBoardColumns().stream().map(c -> {
@@ -26,6 +29,7 @@ public class BoardService {
                 boardColumnDAO.insert(column);
             }
             connection.commit();
+            BoardSnapshotCache.shared().invalidate(entity.getId());
         } catch (SQLException e) {
             connection.rollback();
             throw e;
@@ -34,13 +38,15 @@ public class BoardService {
     }
 
     public boolean delete(final Long id) throws SQLException {
-        var dao = new BoardDAO(connection);
+        var dao = boardRepository(connection);
         try{
             if (!dao.exists(id)) {
                 return false;
             }
             dao.delete(id);
             connection.commit();
+            BoardSnapshotCache.shared().invalidate(id);
+            CardSearchIndex.shared().removeBoard(id);
             return true;
         } catch (SQLException e) {
             connection.rollback();
@@ -0,0 +1,81 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.CardArchiveChunkDTO;
+import br.com.dio.dto.CardArchiveSummaryDTO;
+import br.com.dio.dto.CardTextDTO;
+import br.com.dio.persistence.writebehind.MovementWriteBehind;
+import br.com.dio.service.cache.BoardSnapshotCache;
+import br.com.dio.service.search.CardSearchIndex;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.function.BooleanSupplier;
+
+import static br.com.dio.persistence.repository.Repositories.boardColumnRepository;
+import static br.com.dio.persistence.repository.Repositories.cardArchiveRepository;
+
+@AllArgsConstructor
+public class CardArchiveService {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final Connection connection;
+
+    public CardArchiveSummaryDTO archiveFinishedBefore(final OffsetDateTime cutoff, final int chunkSize)
+            throws SQLException {
+        return archiveFinishedBefore(cutoff, chunkSize, () -> true);
+    }
+
+    public CardArchiveSummaryDTO archiveFinishedBefore(final OffsetDateTime cutoff, final int chunkSize,
+                                                       final BooleanSupplier proceed) throws SQLException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        var start = System.nanoTime();
+        var cards = 0L;
+        var blocks = 0L;
+        var movements = 0L;
+        var chunks = 0;
+        CardArchiveChunkDTO chunk;
+        do {
+            chunk = archiveChunk(cutoff, chunkSize);
+            if (!chunk.cards().isEmpty()) {
+                cards += chunk.cards().size();
+                blocks += chunk.blocks();
+                movements += chunk.movements();
+                chunks++;
+            }
+        } while (chunk.cards().size() == chunkSize && proceed.getAsBoolean());
+        return new CardArchiveSummaryDTO(cutoff, cards, blocks, movements, chunks,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private CardArchiveChunkDTO archiveChunk(final OffsetDateTime cutoff, final int chunkSize) throws SQLException {
+        CardArchiveChunkDTO chunk;
+        try {
+            var writeBehind = MovementWriteBehind.shared();
+            if (writeBehind.isPresent()) {
+                writeBehind.get().flush();
+            }
+            chunk = cardArchiveRepository(connection).archiveFinishedBefore(cutoff, chunkSize);
+            var boardColumnDAO = boardColumnRepository(connection);
+            for (var entry : chunk.cardsPerColumn().entrySet()) {
+                boardColumnDAO.addCardsAmount(entry.getKey(), -entry.getValue());
+            }
+            connection.commit();
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        }
+        var index = CardSearchIndex.shared();
+        chunk.cards().stream().map(CardTextDTO::boardId).distinct().forEach(BoardSnapshotCache.shared()::invalidate);
+        for (var card : chunk.cards()) {
+            index.remove(card.boardId(), card.id(), card.title(), card.description());
+        }
+        return chunk;
+    }
+
+}
@@ -0,0 +1,42 @@
+package br.com.dio.service;
+
+import br.com.dio.persistence.journal.MovementJournal;
+import br.com.dio.persistence.repository.CardDwellAccumulator;
+import br.com.dio.persistence.writebehind.MovementWriteBehind;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static br.com.dio.persistence.repository.Repositories.cardDwellRepository;
+import static br.com.dio.persistence.repository.Repositories.cardMovementRepository;
+
+@AllArgsConstructor
+public class CardDwellService {
+
+    private final Connection connection;
+
+    public int rebuild() throws SQLException {
+        var dao = cardDwellRepository(connection);
+        try {
+            int rebuilt;
+            if (MovementJournal.shared().isPresent()) {
+                var accumulator = new CardDwellAccumulator();
+                cardMovementRepository(connection).streamAll(accumulator);
+                rebuilt = dao.replaceAll(accumulator.dwells(), accumulator.lastMovedAt());
+            } else {
+                var writeBehind = MovementWriteBehind.shared();
+                if (writeBehind.isPresent()) {
+                    writeBehind.get().flush();
+                }
+                rebuilt = dao.rebuildFromMovements();
+            }
+            connection.commit();
+            return rebuilt;
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        }
+    }
+
+}
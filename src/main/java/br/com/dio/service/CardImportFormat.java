@@ -0,0 +1,86 @@
+package br.com.dio.service;
+
+import br.com.dio.json.JsonParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public enum CardImportFormat {
+
+    CSV {
+        @Override
+        Optional<CardFields> parse(final String line, final boolean firstRecord) {
+            var fields = splitCsv(line);
+            if (fields.size() < 2) {
+                throw new IllegalArgumentException("Expected title and description columns: " + line);
+            }
+            var title = fields.get(0).trim();
+            if (firstRecord && title.equalsIgnoreCase("title") && fields.get(1).trim().equalsIgnoreCase("description")) {
+                return Optional.empty();
+            }
+            return Optional.of(new CardFields(title, fields.get(1).trim()));
+        }
+    },
+
+    NDJSON {
+        @Override
+        Optional<CardFields> parse(final String line, final boolean firstRecord) {
+            var object = JsonParser.parseObject(line);
+            if (!(object.get("title") instanceof String title)) {
+                throw new IllegalArgumentException("Missing title: " + line);
+            }
+            var description = object.get("description") instanceof String value ? value : "";
+            return Optional.of(new CardFields(title, description));
+        }
+    };
+
+    abstract Optional<CardFields> parse(final String line, final boolean firstRecord);
+
+    public static CardImportFormat fromFileName(final String fileName) {
+        var lowerCase = fileName.toLowerCase();
+        if (lowerCase.endsWith(".ndjson") || lowerCase.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        if (lowerCase.endsWith(".csv")) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Unsupported import file %s, use .csv or .ndjson".formatted(fileName));
+    }
+
+    // Files are read line by line, so a quoted field cannot contain a line break.
+    private static List<String> splitCsv(final String line) {
+        var fields = new ArrayList<String>();
+        var current = new StringBuilder();
+        var quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field, multi-line values are not supported: " + line);
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    record CardFields(String title, String description) {
+    }
+
+}
@@ -0,0 +1,85 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.CardImportChunkDTO;
+import br.com.dio.dto.CardImportSummaryDTO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@AllArgsConstructor
+public class CardImportService {
+
+    private final Connection connection;
+
+    public CardImportSummaryDTO importFile(final Path file, final BoardColumnEntity column, final int chunkSize,
+                                           final Consumer<CardImportChunkDTO> chunkListener) throws IOException, SQLException {
+        return importFile(file, CardImportFormat.fromFileName(file.getFileName().toString()), column, chunkSize, chunkListener);
+    }
+
+    public CardImportSummaryDTO importFile(final Path file, final CardImportFormat format, final BoardColumnEntity column,
+                                           final int chunkSize, final Consumer<CardImportChunkDTO> chunkListener)
+            throws IOException, SQLException {
+        var service = new CardService(connection);
+        var start = System.nanoTime();
+        var imported = 0L;
+        var chunks = 0;
+        List<CardEntity> buffer = new ArrayList<>(chunkSize);
+        try (var reader = Files.newBufferedReader(file, UTF_8)) {
+            String line;
+            var lineNumber = 0;
+            var firstRecord = true;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                CardImportFormat.CardFields fields;
+                try {
+                    fields = format.parse(line, firstRecord).orElse(null);
+                } catch (IllegalArgumentException ex) {
+                    throw new IllegalArgumentException("Line %s: %s".formatted(lineNumber, ex.getMessage()), ex);
+                }
+                firstRecord = false;
+                if (fields == null) {
+                    continue;
+                }
+                buffer.add(toCard(fields, column));
+                if (buffer.size() == chunkSize) {
+                    service.createAll(buffer, chunkSize, renumber(++chunks, chunkListener));
+                    imported += buffer.size();
+                    buffer = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        if (!buffer.isEmpty()) {
+            service.createAll(buffer, chunkSize, renumber(++chunks, chunkListener));
+            imported += buffer.size();
+        }
+        return new CardImportSummaryDTO(imported, chunks, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static Consumer<CardImportChunkDTO> renumber(final int chunk, final Consumer<CardImportChunkDTO> listener) {
+        return c -> listener.accept(new CardImportChunkDTO(chunk, c.cards(), c.elapsed()));
+    }
+
+    private static CardEntity toCard(final CardImportFormat.CardFields fields, final BoardColumnEntity column) {
+        var card = new CardEntity();
+        card.setTitle(fields.title());
+        card.setDescription(fields.description());
+        card.setBoardColumn(column);
+        return card;
+    }
+
+}
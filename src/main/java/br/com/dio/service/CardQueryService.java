@@ -1,20 +1,21 @@
 package br.com.dio.service;
 
 import br.com.dio.dto.CardDetailsDTO;
-import br.com.dio.persistence.dao.CardDAO;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Optional;
 
+import static br.com.dio.persistence.repository.Repositories.cardRepository;
+
 @AllArgsConstructor
 public class CardQueryService {
 
     private final Connection connection;
 
     public Optional<CardDetailsDTO> findById(final Long id) throws SQLException {
-        var dao = new CardDAO(connection);
+        var dao = cardRepository(connection);
         return dao.findById(id);
     }
 
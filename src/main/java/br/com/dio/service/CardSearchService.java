@@ -0,0 +1,66 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.CardDetailsDTO;
+import br.com.dio.dto.CardSearchResultDTO;
+import br.com.dio.dto.CardStateDTO;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.service.search.CardSearchIndex;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.dio.persistence.repository.Repositories.cardRepository;
+
+@AllArgsConstructor
+public class CardSearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+
+    private static final CardSearchIndex INDEX = CardSearchIndex.shared();
+
+    private final Connection connection;
+
+    public CardSearchResultDTO search(final String query, final Long boardId, final int limit) throws SQLException {
+        var start = System.nanoTime();
+        var hits = INDEX.search(query, boardId, limit);
+        var dao = cardRepository(connection);
+        List<CardDetailsDTO> cards = new ArrayList<>(hits.cardIds().size());
+        for (var cardId : hits.cardIds()) {
+            dao.findById(cardId).ifPresent(cards::add);
+        }
+        return new CardSearchResultDTO(hits.total(), cards, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    public long rebuildIndex() throws SQLException {
+        return INDEX.rebuild(cardRepository(connection)::streamAllText);
+    }
+
+    public void index(final List<CardEntity> cards) throws SQLException {
+        var unresolved = cards.stream()
+                .filter(c -> c.getBoardColumn().getBoard().getId() == null)
+                .map(CardEntity::getId)
+                .toList();
+        Map<Long, CardStateDTO> states = unresolved.isEmpty() ? Map.of() : cardRepository(connection).findStates(unresolved);
+        for (var card : cards) {
+            var boardId = card.getBoardColumn().getBoard().getId();
+            if (boardId == null && states.containsKey(card.getId())) {
+                boardId = states.get(card.getId()).boardId();
+            }
+            if (boardId != null) {
+                INDEX.index(boardId, card.getId(), card.getTitle(), card.getDescription());
+            }
+        }
+    }
+
+    public void indexBoard(final Long boardId) throws SQLException {
+        for (var card : cardRepository(connection).findAllByBoard(boardId)) {
+            INDEX.index(boardId, card.getId(), card.getTitle(), card.getDescription());
+        }
+    }
+
+}
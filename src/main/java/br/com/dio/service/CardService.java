@@ -1,47 +1,117 @@
 package br.com.dio.service;
 
 import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.dto.BulkTransitionResultDTO;
+import br.com.dio.dto.CardImportChunkDTO;
 import br.com.dio.dto.CardTimeReportDTO;
+import br.com.dio.dto.CardTransitionRejectionEnum;
 import br.com.dio.exception.CardBlockedException;
+import br.com.dio.exception.CardConcurrentModificationException;
 import br.com.dio.exception.CardFinishedException;
 import br.com.dio.exception.EntityNotFoundException;
-import br.com.dio.persistence.dao.BlockDAO;
-import br.com.dio.persistence.dao.CardDAO;
-import br.com.dio.persistence.dao.CardMovementDAO;
 import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.entity.CardMovementEntity;
+import br.com.dio.service.concurrency.OptimisticRetry;
 import lombok.AllArgsConstructor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import static br.com.dio.dto.CardTransitionRejectionEnum.BLOCKED;
+import static br.com.dio.dto.CardTransitionRejectionEnum.CANCELED;
+import static br.com.dio.dto.CardTransitionRejectionEnum.FINISHED;
+import static br.com.dio.dto.CardTransitionRejectionEnum.NOT_FOUND;
+import static br.com.dio.dto.CardTransitionRejectionEnum.OTHER_BOARD;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.repository.Repositories.blockRepository;
+import static br.com.dio.persistence.repository.Repositories.boardColumnRepository;
+import static br.com.dio.persistence.repository.Repositories.cardDwellRepository;
+import static br.com.dio.persistence.repository.Repositories.cardMovementRepository;
+import static br.com.dio.persistence.repository.Repositories.cardRepository;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
 
 @AllArgsConstructor
 public class CardService {
 
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private static final OptimisticRetry RETRY = OptimisticRetry.shared();
+
     private final Connection connection;
 
     public CardEntity create(final CardEntity entity) throws SQLException {
         try {
-            var dao = new CardDAO(connection);
+            var dao = cardRepository(connection);
+            var boardColumnDAO = boardColumnRepository(connection);
             dao.insert(entity);
+            boardColumnDAO.addCardsAmount(entity.getBoardColumn().getId(), 1);
             connection.commit();
-            return entity;
         } catch (SQLException ex) {
             connection.rollback();
             throw ex;
         }
+        new CardSearchService(connection).index(List.of(entity));
+        return entity;
+    }
+
+    public List<CardEntity> createAll(final List<CardEntity> entities) throws SQLException {
+        return createAll(entities, DEFAULT_CHUNK_SIZE, chunk -> {});
+    }
+
+    public List<CardEntity> createAll(final List<CardEntity> entities, final int chunkSize,
+                                      final Consumer<CardImportChunkDTO> chunkListener) throws SQLException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        var dao = cardRepository(connection);
+        var boardColumnDAO = boardColumnRepository(connection);
+        var chunkNumber = 0;
+        for (int from = 0; from < entities.size(); from += chunkSize) {
+            var chunk = entities.subList(from, Math.min(from + chunkSize, entities.size()));
+            var start = System.nanoTime();
+            try {
+                dao.insertAll(chunk);
+                var amountPerColumn = chunk.stream()
+                        .collect(groupingBy(c -> c.getBoardColumn().getId(), counting()));
+                for (var entry : amountPerColumn.entrySet()) {
+                    boardColumnDAO.addCardsAmount(entry.getKey(), entry.getValue().intValue());
+                }
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+            new CardSearchService(connection).index(chunk);
+            var elapsed = Duration.ofNanos(System.nanoTime() - start);
+            chunkListener.accept(new CardImportChunkDTO(++chunkNumber, chunk.size(), elapsed));
+        }
+        return entities;
     }
 
     public void moveToNextColumn(final Long cardId, final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        RETRY.run(() -> tryMoveToNextColumn(cardId, boardColumnsInfo));
+    }
+
+    private void tryMoveToNextColumn(final Long cardId, final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
         try {
-            var dao = new CardDAO(connection);
-            var movementDao = new CardMovementDAO(connection);
+            var dao = cardRepository(connection);
+            var movementDao = cardMovementRepository(connection);
             var optional = dao.findById(cardId);
             var dto = optional.orElseThrow(
                     () -> new EntityNotFoundException("Card with ID %s was not found".formatted(cardId))
@@ -61,9 +131,15 @@ public class CardService {
                     .filter(bc -> bc.order() == currentColumn.order() + 1)
                     .findFirst()
                     .orElseThrow(() -> new IllegalStateException("The card is canceled"));
-            dao.moveToColumn(nextColumn.id(), cardId);
-            movementDao.recordMovement(cardId, dto.columnId(), nextColumn.id());
-            dao.moveToColumn(nextColumn.id(), cardId);
+            if (!dao.moveToColumn(nextColumn.id(), cardId, dto.version())) {
+                throw conflict(dto.boardId(), cardId);
+            }
+            var movedAt = OffsetDateTime.now();
+            movementDao.recordMovements(List.of(movement(cardId, dto.columnId(), nextColumn.id(), movedAt)));
+            cardDwellRepository(connection).recordDeparture(cardId, dto.columnId(), movedAt);
+            var boardColumnDAO = boardColumnRepository(connection);
+            boardColumnDAO.addCardsAmount(dto.columnId(), -1);
+            boardColumnDAO.addCardsAmount(nextColumn.id(), 1);
             connection.commit();
         } catch (SQLException ex) {
             connection.rollback();
@@ -73,8 +149,13 @@ public class CardService {
 
     public void cancel(final Long cardId, final Long cancelColumnId,
                        final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        RETRY.run(() -> tryCancel(cardId, cancelColumnId, boardColumnsInfo));
+    }
+
+    private void tryCancel(final Long cardId, final Long cancelColumnId,
+                           final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
         try {
-            var dao = new CardDAO(connection);
+            var dao = cardRepository(connection);
             var optional = dao.findById(cardId);
             var dto = optional.orElseThrow(
                     () -> new EntityNotFoundException("Card with ID %s was not found".formatted(cardId))
@@ -94,7 +175,16 @@ public class CardService {
                     .filter(bc -> bc.order() == currentColumn.order() + 1)
                     .findFirst()
                     .orElseThrow(() -> new IllegalStateException("The card is canceled"));
-            dao.moveToColumn(cancelColumnId, cardId);
+            if (!dao.moveToColumn(cancelColumnId, cardId, dto.version())) {
+                throw conflict(dto.boardId(), cardId);
+            }
+            var movedAt = OffsetDateTime.now();
+            cardMovementRepository(connection)
+                    .recordMovements(List.of(movement(cardId, dto.columnId(), cancelColumnId, movedAt)));
+            cardDwellRepository(connection).recordDeparture(cardId, dto.columnId(), movedAt);
+            var boardColumnDAO = boardColumnRepository(connection);
+            boardColumnDAO.addCardsAmount(dto.columnId(), -1);
+            boardColumnDAO.addCardsAmount(cancelColumnId, 1);
             connection.commit();
         } catch (SQLException ex) {
             connection.rollback();
@@ -102,9 +192,110 @@ public class CardService {
         }
     }
 
+    public BulkTransitionResultDTO moveAllToNextColumn(final Collection<Long> cardIds,
+                                                       final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        return transitionAll(cardIds, boardColumnsInfo, currentColumn -> boardColumnsInfo.stream()
+                .filter(bc -> bc.order() == currentColumn.order() + 1)
+                .findFirst());
+    }
+
+    public BulkTransitionResultDTO cancelAll(final Collection<Long> cardIds, final Long cancelColumnId,
+                                             final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        var cancelColumn = boardColumnsInfo.stream()
+                .filter(bc -> bc.id().equals(cancelColumnId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Cancel column belongs to a different board"));
+        return transitionAll(cardIds, boardColumnsInfo, currentColumn -> boardColumnsInfo.stream()
+                .filter(bc -> bc.order() == currentColumn.order() + 1)
+                .findFirst()
+                .map(next -> cancelColumn));
+    }
+
+    private BulkTransitionResultDTO transitionAll(final Collection<Long> cardIds,
+                                                  final List<BoardColumnInfoDTO> boardColumnsInfo,
+                                                  final Function<BoardColumnInfoDTO, Optional<BoardColumnInfoDTO>> targetColumn)
+            throws SQLException {
+        return RETRY.execute(() -> tryTransitionAll(cardIds, boardColumnsInfo, targetColumn));
+    }
+
+    private BulkTransitionResultDTO tryTransitionAll(final Collection<Long> cardIds,
+                                                     final List<BoardColumnInfoDTO> boardColumnsInfo,
+                                                     final Function<BoardColumnInfoDTO, Optional<BoardColumnInfoDTO>> targetColumn)
+            throws SQLException {
+        var ids = new LinkedHashSet<>(cardIds);
+        var columnsById = boardColumnsInfo.stream()
+                .collect(toMap(BoardColumnInfoDTO::id, Function.identity()));
+        Map<Long, CardTransitionRejectionEnum> rejected = new LinkedHashMap<>();
+        Map<Long, Long> columnPerCard = new LinkedHashMap<>();
+        Map<Long, Long> departures = new LinkedHashMap<>();
+        Map<Long, Long> expectedVersions = new HashMap<>();
+        Map<Long, Integer> amountDeltas = new TreeMap<>();
+        List<CardMovementEntity> movements = new ArrayList<>();
+        try {
+            var dao = cardRepository(connection);
+            var states = dao.findStates(ids);
+            var movedAt = OffsetDateTime.now();
+            for (var cardId : ids) {
+                var state = states.get(cardId);
+                if (state == null) {
+                    rejected.put(cardId, NOT_FOUND);
+                    continue;
+                }
+                if (state.blocked()) {
+                    rejected.put(cardId, BLOCKED);
+                    continue;
+                }
+                var currentColumn = columnsById.get(state.columnId());
+                if (currentColumn == null) {
+                    rejected.put(cardId, OTHER_BOARD);
+                    continue;
+                }
+                if (currentColumn.kind().equals(FINAL)) {
+                    rejected.put(cardId, FINISHED);
+                    continue;
+                }
+                var target = targetColumn.apply(currentColumn);
+                if (target.isEmpty()) {
+                    rejected.put(cardId, CANCELED);
+                    continue;
+                }
+                var targetId = target.get().id();
+                columnPerCard.put(cardId, targetId);
+                departures.put(cardId, currentColumn.id());
+                expectedVersions.put(cardId, state.version());
+                amountDeltas.merge(currentColumn.id(), -1, Integer::sum);
+                amountDeltas.merge(targetId, 1, Integer::sum);
+                movements.add(movement(cardId, currentColumn.id(), targetId, movedAt));
+            }
+            if (!columnPerCard.isEmpty()) {
+                if (dao.moveAllToColumns(columnPerCard, expectedVersions) != columnPerCard.size()) {
+                    var boardId = states.get(columnPerCard.keySet().iterator().next()).boardId();
+                    throw conflict(boardId, null);
+                }
+                cardMovementRepository(connection).recordMovements(movements);
+                cardDwellRepository(connection).recordDepartures(departures, movedAt);
+                var boardColumnDAO = boardColumnRepository(connection);
+                for (var entry : amountDeltas.entrySet()) {
+                    if (entry.getValue() != 0) {
+                        boardColumnDAO.addCardsAmount(entry.getKey(), entry.getValue());
+                    }
+                }
+                connection.commit();
+            }
+            return new BulkTransitionResultDTO(List.copyOf(columnPerCard.keySet()), rejected);
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        }
+    }
+
     public void block(final Long id, final String reason, final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
+        RETRY.run(() -> tryBlock(id, reason, boardColumnsInfo));
+    }
+
+    private void tryBlock(final Long id, final String reason, final List<BoardColumnInfoDTO> boardColumnsInfo) throws SQLException {
         try {
-            var dao = new CardDAO(connection);
+            var dao = cardRepository(connection);
             var optional = dao.findById(id);
             var dto = optional.orElseThrow(
                     () -> new EntityNotFoundException("Card with ID %s was not found".formatted(id))
@@ -122,8 +313,10 @@ public class CardService {
                         .formatted(currentColumn.kind());
                 throw new IllegalStateException(message);
             }
-            var blockDAO = new BlockDAO(connection);
-            blockDAO.block(reason, id);
+            var blockDAO = blockRepository(connection);
+            if (!blockDAO.block(reason, id, dto.version())) {
+                throw conflict(dto.boardId(), id);
+            }
             connection.commit();
         } catch (SQLException ex) {
             connection.rollback();
@@ -132,8 +325,12 @@ public class CardService {
     }
 
     public void unblock(final Long id, final String reason) throws SQLException {
+        RETRY.run(() -> tryUnblock(id, reason));
+    }
+
+    private void tryUnblock(final Long id, final String reason) throws SQLException {
         try {
-            var dao = new CardDAO(connection);
+            var dao = cardRepository(connection);
             var optional = dao.findById(id);
             var dto = optional.orElseThrow(
                     () -> new EntityNotFoundException("Card with ID %s was not found".formatted(id))
@@ -142,8 +339,10 @@ public class CardService {
                 var message = "Card %s is not blocked".formatted(id);
                 throw new CardBlockedException(message);
             }
-            var blockDAO = new BlockDAO(connection);
-            blockDAO.unblock(reason, id);
+            var blockDAO = blockRepository(connection);
+            if (!blockDAO.unblock(reason, id, dto.version())) {
+                throw conflict(dto.boardId(), id);
+            }
             connection.commit();
         } catch (SQLException ex) {
             connection.rollback();
@@ -152,28 +351,31 @@ public class CardService {
     }
 
     public CardTimeReportDTO getCardTimeReport(Long cardId) throws SQLException {
-        var movementDao = new CardMovementDAO(connection);
-        var cardDao = new CardDAO(connection);
-
-        var movements = movementDao.getCardMovements(cardId);
-        var cardDetails = cardDao.findById(cardId).orElseThrow();
-
-        Map<String, Duration> timePerColumn = new HashMap<>();
-        Duration totalTime = Duration.ZERO;
-
-        for (int i = 1; i < movements.size(); i++) {
-            var prev = movements.get(i - 1);
-            var current = movements.get(i);
-
-            Duration duration = Duration.between(prev.movedAt(), current.movedAt());
-            timePerColumn.put(prev.toColumnName(), duration);
-            totalTime = totalTime.plus(duration);
-        }
-
+        var cardDetails = cardRepository(connection).findById(cardId).orElseThrow();
+        var timePerColumn = cardDwellRepository(connection).findTimePerColumn(cardId);
+        var totalTime = timePerColumn.values().stream().reduce(Duration.ZERO, Duration::plus);
         return new CardTimeReportDTO(
                 cardDetails.title(),
                 timePerColumn,
                 totalTime
         );
     }
+
+    private static CardMovementEntity movement(final Long cardId, final Long fromColumnId, final Long toColumnId,
+                                               final OffsetDateTime movedAt) {
+        var movement = new CardMovementEntity();
+        movement.setCardId(cardId);
+        movement.setFromColumnId(fromColumnId);
+        movement.setToColumnId(toColumnId);
+        movement.setMovedAt(movedAt);
+        return movement;
+    }
+
+    private CardConcurrentModificationException conflict(final Long boardId, final Long cardId) throws SQLException {
+        connection.rollback();
+        var message = cardId == null ?
+                "Some cards were changed by another transaction" :
+                "Card %s was changed by another transaction".formatted(cardId);
+        return new CardConcurrentModificationException(boardId, message);
+    }
 }
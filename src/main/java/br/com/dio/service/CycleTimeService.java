@@ -0,0 +1,139 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.CardFlowEventDTO;
+import br.com.dio.dto.CycleTimeReportDTO;
+import br.com.dio.dto.FlowPercentilesDTO;
+import br.com.dio.metrics.FlowHistograms;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import lombok.AllArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.repository.Repositories.boardColumnRepository;
+import static br.com.dio.persistence.repository.Repositories.cardMovementRepository;
+import static java.util.stream.Collectors.toMap;
+
+@AllArgsConstructor
+public class CycleTimeService {
+
+    private final Connection connection;
+
+    public CycleTimeReportDTO generateReport(final Long boardId, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        return report(List.of(boardId), from, to, collect(boardId, from, to));
+    }
+
+    public static CycleTimeReportDTO generateReport(final MultiBoardReportService reports,
+                                                    final Collection<Long> boardIds,
+                                                    final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        checkRange(from, to);
+        var result = reports.run(boardIds,
+                (connection, boardId) -> new CycleTimeService(connection).collect(boardId, from, to),
+                BoardReportProgress.NONE);
+        if (!result.failures().isEmpty()) {
+            throw new SQLException("Cycle times could not be collected for boards %s".formatted(result.failures()));
+        }
+        var merged = new FlowHistograms();
+        result.reports().values().forEach(merged::merge);
+        return report(List.copyOf(boardIds), from, to, merged);
+    }
+
+    public FlowHistograms collect(final Long boardId, final OffsetDateTime from, final OffsetDateTime to)
+            throws SQLException {
+        checkRange(from, to);
+        var columns = boardColumnRepository(connection).findByBoardId(boardId).stream()
+                .collect(toMap(BoardColumnEntity::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+        var histograms = new FlowHistograms();
+        columns.values().forEach(column -> histograms.column(column.getName()));
+        cardMovementRepository(connection).streamBoardFlow(boardId, to, new CardFlow(columns, histograms, from, to));
+        return histograms;
+    }
+
+    private static void checkRange(final OffsetDateTime from, final OffsetDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("The start of the range must be before its end");
+        }
+    }
+
+    private static CycleTimeReportDTO report(final List<Long> boardIds, final OffsetDateTime from,
+                                             final OffsetDateTime to, final FlowHistograms histograms) {
+        Map<String, FlowPercentilesDTO> timePerColumn = new LinkedHashMap<>();
+        histograms.timePerColumn().forEach((name, histogram) -> timePerColumn.put(name, FlowPercentilesDTO.of(histogram)));
+        return new CycleTimeReportDTO(
+                boardIds,
+                from,
+                to,
+                FlowPercentilesDTO.of(histograms.leadTime()),
+                FlowPercentilesDTO.of(histograms.cycleTime()),
+                timePerColumn
+        );
+    }
+
+    private static final class CardFlow implements Consumer<CardFlowEventDTO> {
+
+        private final Map<Long, BoardColumnEntity> columns;
+        private final FlowHistograms histograms;
+        private final OffsetDateTime from;
+        private final OffsetDateTime to;
+
+        private Long cardId;
+        private OffsetDateTime arrivedAt;
+        private OffsetDateTime firstSeenAt;
+        private OffsetDateTime startedAt;
+        private Long currentColumnId;
+
+        private CardFlow(final Map<Long, BoardColumnEntity> columns, final FlowHistograms histograms,
+                         final OffsetDateTime from, final OffsetDateTime to) {
+            this.columns = columns;
+            this.histograms = histograms;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void accept(final CardFlowEventDTO event) {
+            if (!event.cardId().equals(cardId)) {
+                cardId = event.cardId();
+                firstSeenAt = event.createdAt() != null ? event.createdAt() : event.movedAt();
+                arrivedAt = event.createdAt();
+                currentColumnId = event.fromColumnId();
+                startedAt = null;
+            }
+            var movedAt = event.movedAt();
+            var left = columns.get(currentColumnId);
+            if (left != null && arrivedAt != null && inRange(movedAt)) {
+                histograms.column(left.getName()).record(Duration.between(arrivedAt, movedAt).toMillis());
+            }
+            if (startedAt == null && left != null && left.getKind().equals(INITIAL)) {
+                startedAt = movedAt;
+            }
+            var target = columns.get(event.toColumnId());
+            if (target != null && target.getKind().equals(FINAL) && inRange(movedAt)) {
+                histograms.leadTime().record(Duration.between(firstSeenAt, movedAt).toMillis());
+                if (startedAt != null) {
+                    histograms.cycleTime().record(Duration.between(startedAt, movedAt).toMillis());
+                }
+            }
+            arrivedAt = movedAt;
+            currentColumnId = event.toColumnId();
+        }
+
+        private boolean inRange(final OffsetDateTime time) {
+            return (from == null || !time.isBefore(from)) && (to == null || time.isBefore(to));
+        }
+
+    }
+
+}
@@ -0,0 +1,206 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.MultiBoardReportDTO;
+import br.com.dio.persistence.config.StorageEngine;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public class MultiBoardReport<T> {
+
+    private static final long MAX_POLL_NANOS = Duration.ofMillis(100).toNanos();
+    private static final Executor ABORT_EXECUTOR = command -> Thread.ofVirtual().name("board-report-abort").start(command);
+
+    private final StorageEngine engine;
+    private final BoardReportTask<T> task;
+    private final BoardReportProgress progress;
+    private final Semaphore permits;
+    private final long timeoutNanos;
+    private final long startedAt = System.nanoTime();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, BoardWork> work = new LinkedHashMap<>();
+    private final BlockingQueue<Long> finished = new LinkedBlockingQueue<>();
+    private volatile boolean cancelled;
+
+    MultiBoardReport(final StorageEngine engine, final Collection<Long> boardIds, final BoardReportTask<T> task,
+                     final BoardReportProgress progress, final int parallelism, final Duration boardTimeout) {
+        this.engine = engine;
+        this.task = task;
+        this.progress = progress;
+        this.permits = new Semaphore(parallelism, true);
+        this.timeoutNanos = boardTimeout.toNanos();
+        for (var boardId : boardIds) {
+            work.computeIfAbsent(boardId, BoardWork::new);
+        }
+        work.values().forEach(w -> executor.execute(w.future));
+        executor.shutdown();
+    }
+
+    public void cancel() {
+        cancelled = true;
+        work.values().forEach(BoardWork::stop);
+        finished.offer(-1L);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public MultiBoardReportDTO<T> await() {
+        Map<Long, T> results = new HashMap<>();
+        Map<Long, String> failures = new LinkedHashMap<>();
+        var pending = new LinkedHashMap<>(work);
+        var total = work.size();
+        try {
+            while (!pending.isEmpty() && !cancelled) {
+                var now = System.nanoTime();
+                var wait = MAX_POLL_NANOS;
+                var iterator = pending.values().iterator();
+                while (iterator.hasNext()) {
+                    var board = iterator.next();
+                    if (board.future.isDone()) {
+                        iterator.remove();
+                        collect(board, results, failures, total);
+                        continue;
+                    }
+                    var runningFor = board.runningFor(now);
+                    if (runningFor >= timeoutNanos) {
+                        board.stop();
+                        iterator.remove();
+                        fail(board.boardId, "timed out after %s ms".formatted(NANOSECONDS.toMillis(timeoutNanos)),
+                                results, failures, total);
+                    } else if (runningFor >= 0) {
+                        wait = Math.min(wait, timeoutNanos - runningFor);
+                    }
+                }
+                if (!pending.isEmpty()) {
+                    finished.poll(wait, NANOSECONDS);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            cancel();
+        }
+        for (var board : pending.values()) {
+            if (board.stop()) {
+                fail(board.boardId, "cancelled", results, failures, total);
+            } else {
+                collect(board, results, failures, total);
+            }
+        }
+        Map<Long, T> reports = new LinkedHashMap<>();
+        work.keySet().stream().filter(results::containsKey).forEach(id -> reports.put(id, results.get(id)));
+        return new MultiBoardReportDTO<>(reports, failures, cancelled, Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    private void collect(final BoardWork board, final Map<Long, T> results, final Map<Long, String> failures,
+                         final int total) {
+        try {
+            results.put(board.boardId, board.future.get());
+            progress.completed(board.boardId, results.size() + failures.size(), total);
+        } catch (CancellationException ex) {
+            fail(board.boardId, "cancelled", results, failures, total);
+        } catch (ExecutionException ex) {
+            var cause = ex.getCause();
+            fail(board.boardId, cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName(),
+                    results, failures, total);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void fail(final Long boardId, final String reason, final Map<Long, T> results,
+                      final Map<Long, String> failures, final int total) {
+        failures.put(boardId, reason);
+        progress.failed(boardId, reason, results.size() + failures.size(), total);
+    }
+
+    private final class BoardWork {
+
+        private final Long boardId;
+        private final FutureTask<T> future;
+        private volatile long runningSince;
+        private Connection connection;
+        private boolean stopped;
+
+        private BoardWork(final Long boardId) {
+            this.boardId = boardId;
+            this.future = new FutureTask<T>(this::execute) {
+                @Override
+                protected void done() {
+                    finished.offer(boardId);
+                }
+            };
+        }
+
+        private T execute() throws Exception {
+            permits.acquire();
+            try {
+                if (cancelled) {
+                    throw new CancellationException();
+                }
+                runningSince = System.nanoTime();
+                var connection = engine.getConnection();
+                try {
+                    attach(connection);
+                    return task.run(connection, boardId);
+                } finally {
+                    detach();
+                    connection.close();
+                }
+            } finally {
+                permits.release();
+            }
+        }
+
+        private synchronized void attach(final Connection connection) {
+            if (stopped) {
+                throw new CancellationException();
+            }
+            this.connection = connection;
+        }
+
+        private synchronized void detach() {
+            connection = null;
+        }
+
+        private synchronized boolean stop() {
+            stopped = true;
+            var cancelled = future.cancel(true);
+            if (connection != null) {
+                try {
+                    connection.abort(ABORT_EXECUTOR);
+                } catch (SQLFeatureNotSupportedException ex) {
+                    // in-memory sessions never block on I/O, the interrupt above is enough
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            return cancelled;
+        }
+
+        private long runningFor(final long now) {
+            var since = runningSince;
+            return since == 0 ? -1 : now - since;
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package br.com.dio.service;
+
+import br.com.dio.dto.BoardTimeReportDTO;
+import br.com.dio.dto.CardBlockReportDTO;
+import br.com.dio.dto.MultiBoardReportDTO;
+import br.com.dio.persistence.config.ConnectionPoolMetrics;
+import br.com.dio.persistence.config.StorageEngine;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getPoolMetrics;
+import static br.com.dio.persistence.config.ConnectionConfig.getStorageEngine;
+import static br.com.dio.persistence.repository.Repositories.boardRepository;
+
+public class MultiBoardReportService {
+
+    private final StorageEngine engine;
+    private final int parallelism;
+    private final Duration boardTimeout;
+
+    public MultiBoardReportService(final StorageEngine engine, final int parallelism, final Duration boardTimeout) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Report parallelism must be at least 1");
+        }
+        this.engine = engine;
+        this.parallelism = parallelism;
+        this.boardTimeout = boardTimeout;
+    }
+
+    public static MultiBoardReportService fromSystemProperties() {
+        var connections = getPoolMetrics()
+                .map(ConnectionPoolMetrics::maxSize)
+                .orElse(Runtime.getRuntime().availableProcessors());
+        return new MultiBoardReportService(
+                getStorageEngine(),
+                Integer.getInteger("board.report.parallelism", connections),
+                Duration.ofMillis(Long.getLong("board.report.boardTimeoutMs", 60_000L))
+        );
+    }
+
+    public <T> MultiBoardReport<T> submit(final Collection<Long> boardIds, final BoardReportTask<T> task,
+                                          final BoardReportProgress progress) {
+        return new MultiBoardReport<>(engine, boardIds, task, progress, parallelism, boardTimeout);
+    }
+
+    public <T> MultiBoardReportDTO<T> run(final Collection<Long> boardIds, final BoardReportTask<T> task,
+                                          final BoardReportProgress progress) {
+        return submit(boardIds, task, progress).await();
+    }
+
+    public MultiBoardReportDTO<BoardTimeReportDTO> timeReports(final Collection<Long> boardIds,
+                                                               final BoardReportProgress progress) {
+        return run(boardIds, (connection, boardId) -> new ReportService(connection).generateBoardTimeReport(boardId),
+                progress);
+    }
+
+    public MultiBoardReportDTO<List<CardBlockReportDTO>> blockReports(final Collection<Long> boardIds,
+                                                                      final BoardReportProgress progress) {
+        return run(boardIds, (connection, boardId) -> new ReportService(connection).generateBlockReport(boardId),
+                progress);
+    }
+
+    public List<Long> findAllBoardIds() throws SQLException {
+        try (var connection = engine.getConnection()) {
+            return boardRepository(connection).findAllIds();
+        }
+    }
+
+}
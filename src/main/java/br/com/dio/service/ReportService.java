@@ -2,20 +2,23 @@ package br.com.dio.service;
 
 import br.com.dio.dto.BoardTimeReportDTO;
 import br.com.dio.dto.CardBlockReportDTO;
-import br.com.dio.dto.CardTimeReportDTO;
-import br.com.dio.persistence.dao.BlockDAO;
-import br.com.dio.persistence.dao.BoardDAO;
-import br.com.dio.persistence.dao.CardDAO;
-import br.com.dio.persistence.dao.CardMovementDAO;
+import br.com.dio.service.export.BlockReportWriter;
 import lombok.AllArgsConstructor;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
-import static br.com.dio.persistence.converter.OffsetDateTimeConverter.toOffsetDateTime;
+import static br.com.dio.persistence.repository.Repositories.blockRepository;
+import static br.com.dio.persistence.repository.Repositories.boardRepository;
+import static br.com.dio.persistence.repository.Repositories.cardArchiveRepository;
+import static br.com.dio.persistence.repository.Repositories.cardDwellRepository;
 
 @AllArgsConstructor
 public class ReportService {
@@ -23,19 +26,21 @@ public class ReportService {
     private final Connection connection;
 
     public BoardTimeReportDTO generateBoardTimeReport(Long boardId) throws SQLException {
-        var cardDao = new CardDAO(connection);
-        var movementDao = new CardMovementDAO(connection);
-        var boardDao = new BoardDAO(connection);
+        return generateBoardTimeReport(boardId, false);
+    }
+
+    public BoardTimeReportDTO generateBoardTimeReport(Long boardId, boolean includeArchived) throws SQLException {
+        var dwellDao = cardDwellRepository(connection);
+        var boardDao = boardRepository(connection);
 
         var board = boardDao.findById(boardId).orElseThrow();
-        var cards = cardDao.findAllByBoard(boardId);
+        var cardReports = dwellDao.findBoardTimeReports(boardId);
+        if (includeArchived) {
+            cardReports.addAll(cardArchiveRepository(connection).findBoardTimeReports(boardId));
+        }
 
-        List<CardTimeReportDTO> cardReports = new ArrayList<>();
         Duration totalBoardTime = Duration.ZERO;
-
-        for (var card : cards) {
-            var report = new CardService(connection).getCardTimeReport(card.getId());
-            cardReports.add(report);
+        for (var report : cardReports) {
             totalBoardTime = totalBoardTime.plus(report.getTotalTime());
         }
 
@@ -52,41 +57,40 @@ public class ReportService {
     }
 
     public List<CardBlockReportDTO> generateBlockReport(Long boardId) throws SQLException {
-        var blockDao = new BlockDAO(connection);
-        var cardDao = new CardDAO(connection);
-
-        var sql = """
-            SELECT b.id, b.card_id, b.blocked_at, b.unblocked_at, 
-                   b.block_reason, b.unblock_reason, c.title as card_title
-            FROM BLOCKS b
-            JOIN CARDS c ON b.card_id = c.id
-            JOIN BOARDS_COLUMNS bc ON c.board_column_id = bc.id
-            WHERE bc.board_id = ?
-            ORDER BY b.blocked_at
-            """;
+        return generateBlockReport(boardId, false);
+    }
 
+    public List<CardBlockReportDTO> generateBlockReport(Long boardId, boolean includeArchived) throws SQLException {
         List<CardBlockReportDTO> reports = new ArrayList<>();
+        streamBlockReport(boardId, includeArchived, reports::add);
+        return reports;
+    }
 
-        try (var statement = connection.prepareStatement(sql)) {
-            statement.setLong(1, boardId);
-            var resultSet = statement.executeQuery();
-
-            while (resultSet.next()) {
-                var blockedAt = toOffsetDateTime(resultSet.getTimestamp("blocked_at"));
-                var unblockedAt = toOffsetDateTime(resultSet.getTimestamp("unblocked_at"));
-
-                reports.add(new CardBlockReportDTO(
-                        resultSet.getLong("card_id"),
-                        resultSet.getString("card_title"),
-                        blockedAt,
-                        unblockedAt,
-                        unblockedAt != null ? Duration.between(blockedAt, unblockedAt) : null,
-                        resultSet.getString("block_reason"),
-                        resultSet.getString("unblock_reason")
-                ));
-            }
+    public long streamBlockReport(Long boardId, Consumer<CardBlockReportDTO> sink) throws SQLException {
+        return streamBlockReport(boardId, false, sink);
+    }
+
+    public long streamBlockReport(Long boardId, boolean includeArchived, Consumer<CardBlockReportDTO> sink)
+            throws SQLException {
+        var blockDao = blockRepository(connection);
+        var rows = blockDao.streamBoardBlocks(boardId, sink);
+        if (includeArchived) {
+            rows += cardArchiveRepository(connection).streamBoardBlocks(boardId, sink);
         }
+        return rows;
+    }
 
-        return reports;
+    public long exportBlockReport(Long boardId, Path file) throws SQLException, IOException {
+        return exportBlockReport(boardId, false, file);
+    }
+
+    public long exportBlockReport(Long boardId, boolean includeArchived, Path file) throws SQLException, IOException {
+        try (var writer = BlockReportWriter.forFile(file)) {
+            try {
+                return streamBlockReport(boardId, includeArchived, writer);
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package br.com.dio.service.archive;
+
+import br.com.dio.dto.CardArchiveSummaryDTO;
+import br.com.dio.persistence.config.StorageEngine;
+import br.com.dio.service.CardArchiveService;
+
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+public class CardArchiver implements AutoCloseable {
+
+    private final StorageEngine engine;
+    private final CardArchiverSettings settings;
+    private final ScheduledExecutorService scheduler;
+    private volatile CardArchiveSummaryDTO lastRun;
+    private volatile boolean closed;
+
+    public CardArchiver(final StorageEngine engine, final CardArchiverSettings settings) {
+        if (settings.chunkSize() < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.engine = engine;
+        this.settings = settings;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "card-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        var interval = settings.interval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::runScheduled, interval, interval, MILLISECONDS);
+    }
+
+    public CardArchiveSummaryDTO runNow() throws SQLException {
+        var cutoff = OffsetDateTime.now().minus(settings.retention());
+        try (var connection = engine.getConnection()) {
+            var summary = new CardArchiveService(connection)
+                    .archiveFinishedBefore(cutoff, settings.chunkSize(), () -> !closed);
+            lastRun = summary;
+            return summary;
+        }
+    }
+
+    public Optional<CardArchiveSummaryDTO> getLastRun() {
+        return Optional.ofNullable(lastRun);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+    }
+
+    private void runScheduled() {
+        try {
+            runNow();
+        } catch (SQLException | RuntimeException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+}
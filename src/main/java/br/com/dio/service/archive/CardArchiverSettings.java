@@ -0,0 +1,21 @@
+package br.com.dio.service.archive;
+
+import br.com.dio.service.CardArchiveService;
+
+import java.time.Duration;
+
+public record CardArchiverSettings(boolean enabled,
+                                   Duration retention,
+                                   Duration interval,
+                                   int chunkSize) {
+
+    public static CardArchiverSettings fromSystemProperties() {
+        return new CardArchiverSettings(
+                Boolean.parseBoolean(System.getProperty("board.archive.enabled", "true")),
+                Duration.ofDays(Long.getLong("board.archive.retentionDays", 90L)),
+                Duration.ofMinutes(Long.getLong("board.archive.intervalMinutes", 60L)),
+                Integer.getInteger("board.archive.chunkSize", CardArchiveService.DEFAULT_CHUNK_SIZE)
+        );
+    }
+
+}
@@ -0,0 +1,51 @@
+package br.com.dio.service.cache;
+
+import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record BoardSnapshot(Long id, String name, List<Column> columns) {
+
+    public BoardSnapshot {
+        columns = List.copyOf(columns);
+    }
+
+    public static BoardSnapshot of(final BoardEntity entity) {
+        var columns = entity.getBoardColumns().stream()
+                .map(c -> new Column(c.getId(), c.getName(), c.getOrder(), c.getKind()))
+                .toList();
+        return new BoardSnapshot(entity.getId(), entity.getName(), columns);
+    }
+
+    public BoardEntity toEntity() {
+        var entity = new BoardEntity();
+        entity.setId(id);
+        entity.setName(name);
+        var boardColumns = new ArrayList<BoardColumnEntity>(columns.size());
+        for (var column : columns) {
+            var boardColumn = new BoardColumnEntity();
+            boardColumn.setId(column.id());
+            boardColumn.setName(column.name());
+            boardColumn.setOrder(column.order());
+            boardColumn.setKind(column.kind());
+            boardColumn.setBoard(entity);
+            boardColumns.add(boardColumn);
+        }
+        entity.setBoardColumns(boardColumns);
+        return entity;
+    }
+
+    public List<BoardColumnInfoDTO> columnsInfo() {
+        return columns.stream()
+                .map(c -> new BoardColumnInfoDTO(c.id(), c.order(), c.kind()))
+                .toList();
+    }
+
+    public record Column(Long id, String name, int order, BoardColumnKindEnum kind) {
+    }
+
+}
@@ -0,0 +1,95 @@
+package br.com.dio.service.cache;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class BoardSnapshotCache {
+
+    private static final BoardSnapshotCache SHARED = new BoardSnapshotCache(Integer.getInteger("board.cache.boards", 256));
+
+    private final int maxSize;
+    private final Map<Long, BoardSnapshot> snapshots;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BoardSnapshotCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.snapshots = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, BoardSnapshot> eldest) {
+                if (size() > BoardSnapshotCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static BoardSnapshotCache shared() {
+        return SHARED;
+    }
+
+    public Optional<BoardSnapshot> get(final Long boardId, final SnapshotLoader loader) throws SQLException {
+        synchronized (snapshots) {
+            var snapshot = snapshots.get(boardId);
+            if (snapshot != null) {
+                hits.increment();
+                return Optional.of(snapshot);
+            }
+        }
+        misses.increment();
+        var loadedAt = generation.get();
+        var loaded = loader.load(boardId);
+        loaded.ifPresent(snapshot -> {
+            synchronized (snapshots) {
+                if (generation.get() == loadedAt) {
+                    snapshots.put(boardId, snapshot);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    public void invalidate(final Long boardId) {
+        synchronized (snapshots) {
+            generation.incrementAndGet();
+            snapshots.remove(boardId);
+        }
+        invalidations.increment();
+    }
+
+    public void invalidateAll() {
+        synchronized (snapshots) {
+            generation.incrementAndGet();
+            snapshots.clear();
+        }
+        invalidations.increment();
+    }
+
+    public BoardSnapshotCacheStats stats() {
+        int size;
+        synchronized (snapshots) {
+            size = snapshots.size();
+        }
+        return new BoardSnapshotCacheStats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), size, maxSize);
+    }
+
+    @FunctionalInterface
+    public interface SnapshotLoader {
+
+        Optional<BoardSnapshot> load(final Long boardId) throws SQLException;
+
+    }
+
+}
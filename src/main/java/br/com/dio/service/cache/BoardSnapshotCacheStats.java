@@ -0,0 +1,15 @@
+package br.com.dio.service.cache;
+
+public record BoardSnapshotCacheStats(long hits,
+                                      long misses,
+                                      long evictions,
+                                      long invalidations,
+                                      int size,
+                                      int maxSize) {
+
+    public double hitRate() {
+        var requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+}
@@ -0,0 +1,7 @@
+package br.com.dio.service.concurrency;
+
+public record BoardContentionStats(Long boardId,
+                                   long conflicts,
+                                   long retries,
+                                   long exhausted) {
+}
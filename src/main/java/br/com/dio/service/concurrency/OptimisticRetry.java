@@ -0,0 +1,106 @@
+package br.com.dio.service.concurrency;
+
+import br.com.dio.exception.CardConcurrentModificationException;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OptimisticRetry {
+
+    private static final OptimisticRetry SHARED = new OptimisticRetry(
+            Integer.getInteger("board.retry.maxAttempts", 5),
+            Duration.ofMillis(Long.getLong("board.retry.baseBackoffMs", 5L)),
+            Duration.ofMillis(Long.getLong("board.retry.maxBackoffMs", 200L))
+    );
+
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Map<Long, Counters> counters = new ConcurrentHashMap<>();
+
+    public OptimisticRetry(final int maxAttempts, final Duration baseBackoff, final Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Retry attempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = Math.max(1, baseBackoff.toMillis());
+        this.maxBackoffMillis = Math.max(baseBackoffMillis, maxBackoff.toMillis());
+    }
+
+    public static OptimisticRetry shared() {
+        return SHARED;
+    }
+
+    public <T> T execute(final Attempt<T> attempt) throws SQLException {
+        for (var tries = 1; ; tries++) {
+            try {
+                return attempt.run();
+            } catch (CardConcurrentModificationException ex) {
+                var boardCounters = counters.computeIfAbsent(ex.getBoardId(), id -> new Counters());
+                boardCounters.conflicts.increment();
+                if (tries >= maxAttempts) {
+                    boardCounters.exhausted.increment();
+                    throw ex;
+                }
+                boardCounters.retries.increment();
+                backOff(tries, ex);
+            }
+        }
+    }
+
+    public void run(final VoidAttempt attempt) throws SQLException {
+        execute(() -> {
+            attempt.run();
+            return null;
+        });
+    }
+
+    public List<BoardContentionStats> stats() {
+        return counters.entrySet().stream()
+                .map(e -> new BoardContentionStats(e.getKey(),
+                        e.getValue().conflicts.sum(),
+                        e.getValue().retries.sum(),
+                        e.getValue().exhausted.sum()))
+                .sorted(Comparator.comparingLong(BoardContentionStats::conflicts).reversed())
+                .toList();
+    }
+
+    private void backOff(final int tries, final CardConcurrentModificationException cause) {
+        var ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(tries - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Attempt<T> {
+
+        T run() throws SQLException;
+
+    }
+
+    @FunctionalInterface
+    public interface VoidAttempt {
+
+        void run() throws SQLException;
+
+    }
+
+    private static final class Counters {
+
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+
+    }
+
+}
@@ -0,0 +1,39 @@
+package br.com.dio.service.dump;
+
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+import static java.time.ZoneOffset.UTC;
+import static java.time.temporal.ChronoUnit.MICROS;
+import static lombok.AccessLevel.PRIVATE;
+
+@NoArgsConstructor(access = PRIVATE)
+final class BoardDumpFormat {
+
+    static final int MAGIC = 0x42524453;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final short FLAG_DEFLATE = 1;
+
+    static final byte END = 0;
+    static final byte BOARD = 1;
+    static final byte COLUMN = 2;
+    static final byte CARD = 3;
+    static final byte BLOCK = 4;
+    static final byte MOVEMENT = 5;
+
+    static final int RECORD_HEADER_SIZE = Byte.BYTES + Integer.BYTES;
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final long NULL = Long.MIN_VALUE;
+
+    static long toMicros(final OffsetDateTime value) {
+        return value == null ? NULL : MICROS.between(Instant.EPOCH, value.toInstant());
+    }
+
+    static OffsetDateTime fromMicros(final long value) {
+        return value == NULL ? null : OffsetDateTime.ofInstant(Instant.EPOCH.plus(value, MICROS), UTC);
+    }
+
+}
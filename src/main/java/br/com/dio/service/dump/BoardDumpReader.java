@@ -0,0 +1,242 @@
+package br.com.dio.service.dump;
+
+import br.com.dio.persistence.entity.BlockEntity;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.entity.CardMovementEntity;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static br.com.dio.service.dump.BoardDumpFormat.BLOCK;
+import static br.com.dio.service.dump.BoardDumpFormat.BOARD;
+import static br.com.dio.service.dump.BoardDumpFormat.BUFFER_SIZE;
+import static br.com.dio.service.dump.BoardDumpFormat.CARD;
+import static br.com.dio.service.dump.BoardDumpFormat.COLUMN;
+import static br.com.dio.service.dump.BoardDumpFormat.END;
+import static br.com.dio.service.dump.BoardDumpFormat.FLAG_DEFLATE;
+import static br.com.dio.service.dump.BoardDumpFormat.HEADER_SIZE;
+import static br.com.dio.service.dump.BoardDumpFormat.MAGIC;
+import static br.com.dio.service.dump.BoardDumpFormat.MOVEMENT;
+import static br.com.dio.service.dump.BoardDumpFormat.NULL;
+import static br.com.dio.service.dump.BoardDumpFormat.RECORD_HEADER_SIZE;
+import static br.com.dio.service.dump.BoardDumpFormat.VERSION;
+import static br.com.dio.service.dump.BoardDumpFormat.fromMicros;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+
+public class BoardDumpReader implements Closeable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).flip();
+    private final ByteBuffer compressed;
+    private final Inflater inflater;
+    private final CRC32C checksum = new CRC32C();
+    private long columns;
+    private long cards;
+    private long blocks;
+    private long movements;
+    private boolean exhausted;
+
+    public BoardDumpReader(final Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, READ);
+        try {
+            var header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    break;
+                }
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException("%s is not a board dump".formatted(file));
+            }
+            var version = header.getShort();
+            if (version > VERSION) {
+                throw new IOException("%s uses board dump version %s, this build reads up to version %s"
+                        .formatted(file, version, VERSION));
+            }
+            var deflated = (header.getShort() & FLAG_DEFLATE) != 0;
+            this.inflater = deflated ? new Inflater() : null;
+            this.compressed = deflated ? ByteBuffer.allocateDirect(BUFFER_SIZE).flip() : null;
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public void accept(final BoardDumpVisitor visitor) throws IOException, SQLException {
+        while (true) {
+            require(RECORD_HEADER_SIZE);
+            var start = buffer.position();
+            var type = buffer.get(start);
+            var payloadSize = buffer.getInt(start + Byte.BYTES);
+            if (payloadSize < 0 || RECORD_HEADER_SIZE + payloadSize > buffer.capacity()) {
+                throw corrupt("record of %s bytes".formatted(payloadSize));
+            }
+            require(RECORD_HEADER_SIZE + payloadSize);
+            start = buffer.position();
+            var next = start + RECORD_HEADER_SIZE + payloadSize;
+            if (type == END) {
+                buffer.position(start + RECORD_HEADER_SIZE);
+                verify(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getInt());
+                visitor.end();
+                return;
+            }
+            checksum.update(buffer.slice(start, next - start));
+            buffer.position(start + RECORD_HEADER_SIZE);
+            switch (type) {
+                case BOARD -> visitor.board(readBoard());
+                case COLUMN -> visitor.column(readColumn());
+                case CARD -> visitor.card(readCard());
+                case BLOCK -> visitor.block(readBlock());
+                case MOVEMENT -> visitor.movement(readMovement());
+                default -> {
+                }
+            }
+            buffer.position(next);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    private BoardEntity readBoard() throws IOException {
+        var board = new BoardEntity();
+        board.setId(buffer.getLong());
+        board.setName(getString());
+        return board;
+    }
+
+    private BoardColumnEntity readColumn() throws IOException {
+        var column = new BoardColumnEntity();
+        column.setId(buffer.getLong());
+        column.setOrder(buffer.getInt());
+        column.setName(getString());
+        column.setKind(BoardColumnKindEnum.findByName(getString()));
+        columns++;
+        return column;
+    }
+
+    private CardEntity readCard() throws IOException {
+        var card = new CardEntity();
+        card.setId(buffer.getLong());
+        card.getBoardColumn().setId(buffer.getLong());
+        card.setCreatedAt(fromMicros(buffer.getLong()));
+        card.setTitle(getString());
+        card.setDescription(getString());
+        cards++;
+        return card;
+    }
+
+    private BlockEntity readBlock() throws IOException {
+        var block = new BlockEntity();
+        block.setCardId(buffer.getLong());
+        block.setBlockedAt(fromMicros(buffer.getLong()));
+        block.setUnblockedAt(fromMicros(buffer.getLong()));
+        block.setBlockReason(getString());
+        block.setUnblockReason(getString());
+        blocks++;
+        return block;
+    }
+
+    private CardMovementEntity readMovement() {
+        var movement = new CardMovementEntity();
+        movement.setCardId(buffer.getLong());
+        var fromColumnId = buffer.getLong();
+        movement.setFromColumnId(fromColumnId == NULL ? null : fromColumnId);
+        movement.setToColumnId(buffer.getLong());
+        movement.setMovedAt(fromMicros(buffer.getLong()));
+        movements++;
+        return movement;
+    }
+
+    private void verify(final long expectedColumns, final long expectedCards, final long expectedBlocks,
+                        final long expectedMovements, final int expectedChecksum) throws IOException {
+        if (expectedColumns != columns || expectedCards != cards || expectedBlocks != blocks ||
+                expectedMovements != movements) {
+            throw corrupt("expected %s columns, %s cards, %s blocks and %s movements but read %s, %s, %s and %s"
+                    .formatted(expectedColumns, expectedCards, expectedBlocks, expectedMovements,
+                            columns, cards, blocks, movements));
+        }
+        if (expectedChecksum != (int) checksum.getValue()) {
+            throw corrupt("checksum mismatch");
+        }
+    }
+
+    private String getString() throws IOException {
+        var length = buffer.getInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw corrupt("string of %s bytes".formatted(length));
+        }
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private void require(final int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes && !exhausted) {
+                fill();
+            }
+        } finally {
+            buffer.flip();
+        }
+        if (buffer.remaining() < bytes) {
+            throw new EOFException("%s ends before the end of the board dump".formatted(file));
+        }
+    }
+
+    private void fill() throws IOException {
+        if (inflater == null) {
+            exhausted = channel.read(buffer) < 0;
+            return;
+        }
+        try {
+            if (inflater.needsInput()) {
+                compressed.clear();
+                var read = channel.read(compressed);
+                compressed.flip();
+                if (read < 0) {
+                    exhausted = true;
+                    return;
+                }
+                inflater.setInput(compressed);
+            }
+            inflater.inflate(buffer);
+            exhausted = inflater.finished();
+        } catch (DataFormatException ex) {
+            throw (IOException) corrupt(ex.getMessage()).initCause(ex);
+        }
+    }
+
+    private IOException corrupt(final String detail) {
+        return new IOException("%s is corrupt: %s".formatted(file, detail));
+    }
+
+}
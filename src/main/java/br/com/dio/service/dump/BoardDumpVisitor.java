@@ -0,0 +1,26 @@
+package br.com.dio.service.dump;
+
+import br.com.dio.persistence.entity.BlockEntity;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.entity.CardMovementEntity;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+public interface BoardDumpVisitor {
+
+    void board(final BoardEntity board) throws IOException, SQLException;
+
+    void column(final BoardColumnEntity column) throws IOException, SQLException;
+
+    void card(final CardEntity card) throws IOException, SQLException;
+
+    void block(final BlockEntity block) throws IOException, SQLException;
+
+    void movement(final CardMovementEntity movement) throws IOException, SQLException;
+
+    void end() throws IOException, SQLException;
+
+}
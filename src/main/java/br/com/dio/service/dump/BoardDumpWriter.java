@@ -0,0 +1,218 @@
+package br.com.dio.service.dump;
+
+import br.com.dio.persistence.entity.BlockEntity;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.entity.CardMovementEntity;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+
+import static br.com.dio.service.dump.BoardDumpFormat.BLOCK;
+import static br.com.dio.service.dump.BoardDumpFormat.BOARD;
+import static br.com.dio.service.dump.BoardDumpFormat.BUFFER_SIZE;
+import static br.com.dio.service.dump.BoardDumpFormat.CARD;
+import static br.com.dio.service.dump.BoardDumpFormat.COLUMN;
+import static br.com.dio.service.dump.BoardDumpFormat.END;
+import static br.com.dio.service.dump.BoardDumpFormat.FLAG_DEFLATE;
+import static br.com.dio.service.dump.BoardDumpFormat.MAGIC;
+import static br.com.dio.service.dump.BoardDumpFormat.MOVEMENT;
+import static br.com.dio.service.dump.BoardDumpFormat.NULL;
+import static br.com.dio.service.dump.BoardDumpFormat.RECORD_HEADER_SIZE;
+import static br.com.dio.service.dump.BoardDumpFormat.VERSION;
+import static br.com.dio.service.dump.BoardDumpFormat.toMicros;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public class BoardDumpWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer compressed;
+    private final Deflater deflater;
+    private final CRC32C checksum = new CRC32C();
+    private long columns;
+    private long cards;
+    private long blocks;
+    private long movements;
+    private boolean closed;
+
+    public BoardDumpWriter(final Path file, final boolean compress) throws IOException {
+        this.channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+        this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        this.compressed = compress ? ByteBuffer.allocateDirect(BUFFER_SIZE) : null;
+        var header = ByteBuffer.allocate(BoardDumpFormat.HEADER_SIZE)
+                .putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort(compress ? FLAG_DEFLATE : 0)
+                .flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    public void writeBoard(final BoardEntity board) throws IOException {
+        var name = encode(board.getName());
+        begin(BOARD, Long.BYTES + size(name));
+        buffer.putLong(board.getId());
+        putString(name);
+        end();
+    }
+
+    public void writeColumn(final BoardColumnEntity column) throws IOException {
+        var name = encode(column.getName());
+        var kind = encode(column.getKind().name());
+        begin(COLUMN, Long.BYTES + Integer.BYTES + size(name) + size(kind));
+        buffer.putLong(column.getId());
+        buffer.putInt(column.getOrder());
+        putString(name);
+        putString(kind);
+        end();
+        columns++;
+    }
+
+    public void writeCard(final CardEntity card) throws IOException {
+        var title = encode(card.getTitle());
+        var description = encode(card.getDescription());
+        begin(CARD, Long.BYTES * 3 + size(title) + size(description));
+        buffer.putLong(card.getId());
+        buffer.putLong(card.getBoardColumn().getId());
+        buffer.putLong(toMicros(card.getCreatedAt()));
+        putString(title);
+        putString(description);
+        end();
+        cards++;
+    }
+
+    public void writeBlock(final BlockEntity block) throws IOException {
+        var blockReason = encode(block.getBlockReason());
+        var unblockReason = encode(block.getUnblockReason());
+        begin(BLOCK, Long.BYTES * 3 + size(blockReason) + size(unblockReason));
+        buffer.putLong(block.getCardId());
+        buffer.putLong(toMicros(block.getBlockedAt()));
+        buffer.putLong(toMicros(block.getUnblockedAt()));
+        putString(blockReason);
+        putString(unblockReason);
+        end();
+        blocks++;
+    }
+
+    public void writeMovement(final CardMovementEntity movement) throws IOException {
+        begin(MOVEMENT, Long.BYTES * 4);
+        buffer.putLong(movement.getCardId());
+        buffer.putLong(movement.getFromColumnId() == null ? NULL : movement.getFromColumnId());
+        buffer.putLong(movement.getToColumnId());
+        buffer.putLong(toMicros(movement.getMovedAt()));
+        end();
+        movements++;
+    }
+
+    public long getColumns() {
+        return columns;
+    }
+
+    public long getCards() {
+        return cards;
+    }
+
+    public long getBlocks() {
+        return blocks;
+    }
+
+    public long getMovements() {
+        return movements;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (channel) {
+            var crc = (int) checksum.getValue();
+            begin(END, Long.BYTES * 4 + Integer.BYTES);
+            buffer.putLong(columns).putLong(cards).putLong(blocks).putLong(movements).putInt(crc);
+            drain();
+            if (deflater != null) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    deflate();
+                }
+            }
+            channel.force(false);
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    private void begin(final byte type, final int payloadSize) throws IOException {
+        if (RECORD_HEADER_SIZE + payloadSize > buffer.capacity()) {
+            throw new IOException("A board dump record cannot exceed %s bytes".formatted(buffer.capacity()));
+        }
+        if (buffer.remaining() < RECORD_HEADER_SIZE + payloadSize) {
+            drain();
+        }
+        buffer.mark();
+        buffer.put(type).putInt(payloadSize);
+    }
+
+    private void end() {
+        var position = buffer.position();
+        buffer.reset();
+        checksum.update(buffer.slice(buffer.position(), position - buffer.position()));
+        buffer.position(position);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        if (deflater == null) {
+            writeFully(buffer);
+        } else {
+            deflater.setInput(buffer);
+            while (!deflater.needsInput()) {
+                deflate();
+            }
+        }
+        buffer.clear();
+    }
+
+    private void deflate() throws IOException {
+        deflater.deflate(compressed);
+        writeFully(compressed.flip());
+        compressed.clear();
+    }
+
+    private void writeFully(final ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    private void putString(final byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static byte[] encode(final String value) {
+        return value == null ? null : value.getBytes(UTF_8);
+    }
+
+    private static int size(final byte[] value) {
+        return Integer.BYTES + (value == null ? 0 : value.length);
+    }
+
+}
@@ -0,0 +1,56 @@
+package br.com.dio.service.export;
+
+import br.com.dio.dto.CardBlockReportDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+public abstract class BlockReportWriter implements Consumer<CardBlockReportDTO>, Closeable {
+
+    protected final ChannelTextWriter writer;
+    private long rows;
+
+    protected BlockReportWriter(final Path file) throws IOException {
+        this.writer = new ChannelTextWriter(file);
+    }
+
+    public static BlockReportWriter forFile(final Path file) throws IOException {
+        var name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return new NdjsonBlockReportWriter(file);
+        }
+        if (name.endsWith(".csv")) {
+            return new CsvBlockReportWriter(file);
+        }
+        throw new IllegalArgumentException("Unsupported export file %s, use .csv or .ndjson".formatted(file));
+    }
+
+    @Override
+    public void accept(final CardBlockReportDTO row) {
+        try {
+            writeRow(row);
+            rows++;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    protected abstract void writeRow(final CardBlockReportDTO row) throws IOException;
+
+    protected static Long blockedSeconds(final CardBlockReportDTO row) {
+        return row.blockedDuration() != null ? row.blockedDuration().toSeconds() : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+}
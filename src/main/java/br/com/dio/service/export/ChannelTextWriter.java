@@ -0,0 +1,80 @@
+package br.com.dio.service.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public class ChannelTextWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = UTF_8.newEncoder();
+    private String pending = "";
+
+    public ChannelTextWriter(final Path file) throws IOException {
+        this.channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, WRITE);
+    }
+
+    public ChannelTextWriter write(final CharSequence text) throws IOException {
+        var chars = CharBuffer.wrap(pending.isEmpty() ? text : pending + text);
+        while (true) {
+            var result = encoder.encode(chars, buffer, false);
+            if (result == CoderResult.OVERFLOW) {
+                drain();
+            } else if (result.isUnderflow()) {
+                // a high surrogate at the end of the text waits for its low half in the next write
+                pending = chars.toString();
+                return this;
+            } else {
+                result.throwException();
+            }
+        }
+    }
+
+    public void flush() throws IOException {
+        drain();
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            var rest = CharBuffer.wrap(pending);
+            CoderResult result;
+            while ((result = encoder.encode(rest, buffer, true)) == CoderResult.OVERFLOW) {
+                drain();
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            while ((result = encoder.flush(buffer)) == CoderResult.OVERFLOW) {
+                drain();
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+}
@@ -0,0 +1,39 @@
+package br.com.dio.service.export;
+
+import br.com.dio.dto.CardBlockReportDTO;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static java.util.Objects.isNull;
+
+public class CsvBlockReportWriter extends BlockReportWriter {
+
+    public CsvBlockReportWriter(final Path file) throws IOException {
+        super(file);
+        writer.write("card_id,card_title,blocked_at,unblocked_at,blocked_seconds,block_reason,unblock_reason\n");
+    }
+
+    @Override
+    protected void writeRow(final CardBlockReportDTO row) throws IOException {
+        writer.write(String.valueOf(row.cardId())).write(",")
+                .write(escape(row.cardTitle())).write(",")
+                .write(escape(row.blockedAt())).write(",")
+                .write(escape(row.unblockedAt())).write(",")
+                .write(escape(blockedSeconds(row))).write(",")
+                .write(escape(row.blockReason())).write(",")
+                .write(escape(row.unblockReason())).write("\n");
+    }
+
+    private static String escape(final Object value) {
+        if (isNull(value)) {
+            return "";
+        }
+        var text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+}
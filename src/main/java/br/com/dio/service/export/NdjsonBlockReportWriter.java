@@ -0,0 +1,28 @@
+package br.com.dio.service.export;
+
+import br.com.dio.dto.CardBlockReportDTO;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static br.com.dio.json.JsonWriter.quote;
+
+public class NdjsonBlockReportWriter extends BlockReportWriter {
+
+    public NdjsonBlockReportWriter(final Path file) throws IOException {
+        super(file);
+    }
+
+    @Override
+    protected void writeRow(final CardBlockReportDTO row) throws IOException {
+        writer.write("{\"cardId\":").write(String.valueOf(row.cardId()))
+                .write(",\"cardTitle\":").write(quote(row.cardTitle()))
+                .write(",\"blockedAt\":").write(quote(row.blockedAt()))
+                .write(",\"unblockedAt\":").write(quote(row.unblockedAt()))
+                .write(",\"blockedSeconds\":").write(String.valueOf(blockedSeconds(row)))
+                .write(",\"blockReason\":").write(quote(row.blockReason()))
+                .write(",\"unblockReason\":").write(quote(row.unblockReason()))
+                .write("}\n");
+    }
+
+}
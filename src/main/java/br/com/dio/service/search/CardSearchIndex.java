@@ -0,0 +1,271 @@
+package br.com.dio.service.search;
+
+import br.com.dio.dto.CardTextDTO;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+public class CardSearchIndex {
+
+    private static final CardSearchIndex SHARED = new CardSearchIndex();
+
+    private volatile Map<Long, BoardIndex> boards = new ConcurrentHashMap<>();
+
+    public static CardSearchIndex shared() {
+        return SHARED;
+    }
+
+    public void index(final Long boardId, final Long cardId, final String title, final String description) {
+        boards.computeIfAbsent(boardId, id -> new BoardIndex()).add(cardId, CardTokenizer.tokens(title, description));
+    }
+
+    public void remove(final Long boardId, final Long cardId, final String title, final String description) {
+        var board = boards.get(boardId);
+        if (board != null) {
+            board.remove(cardId, CardTokenizer.tokens(title, description));
+        }
+    }
+
+    public void removeBoard(final Long boardId) {
+        boards.remove(boardId);
+    }
+
+    public long rebuild(final IndexLoader loader) throws SQLException {
+        Map<Long, BoardIndex> rebuilt = new ConcurrentHashMap<>();
+        var cards = loader.load(card -> rebuilt.computeIfAbsent(card.boardId(), id -> new BoardIndex())
+                .append(card.id(), CardTokenizer.tokens(card.title(), card.description())));
+        rebuilt.values().forEach(BoardIndex::sort);
+        boards = rebuilt;
+        return cards;
+    }
+
+    public Hits search(final String query, final Long boardId, final int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Search limit must be at least 1");
+        }
+        var terms = CardTokenizer.terms(query);
+        if (terms.isEmpty()) {
+            return new Hits(0, List.of());
+        }
+        Collection<BoardIndex> targets;
+        if (boardId == null) {
+            targets = boards.values();
+        } else {
+            var board = boards.get(boardId);
+            targets = board == null ? List.of() : List.of(board);
+        }
+        var total = 0L;
+        var newest = new ArrayList<Long>();
+        for (var board : targets) {
+            total += board.match(terms, limit, newest);
+        }
+        newest.sort(Comparator.reverseOrder());
+        return new Hits(total, List.copyOf(newest.subList(0, Math.min(limit, newest.size()))));
+    }
+
+    public long size() {
+        return boards.values().stream().mapToLong(BoardIndex::cards).sum();
+    }
+
+    public record Hits(long total, List<Long> cardIds) {
+    }
+
+    @FunctionalInterface
+    public interface IndexLoader {
+
+        long load(final Consumer<CardTextDTO> sink) throws SQLException;
+
+    }
+
+    private static final class BoardIndex {
+
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private long cards;
+
+        private void add(final long cardId, final Collection<String> tokens) {
+            lock.writeLock().lock();
+            try {
+                for (var token : tokens) {
+                    terms.computeIfAbsent(token, t -> new Postings()).insert(cardId);
+                }
+                cards++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(final long cardId, final Collection<String> tokens) {
+            lock.writeLock().lock();
+            try {
+                var removed = false;
+                for (var token : tokens) {
+                    var postings = terms.get(token);
+                    if (postings != null && postings.delete(cardId)) {
+                        removed = true;
+                        if (postings.size == 0) {
+                            terms.remove(token);
+                        }
+                    }
+                }
+                if (removed) {
+                    cards--;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void append(final long cardId, final Collection<String> tokens) {
+            for (var token : tokens) {
+                terms.computeIfAbsent(token, t -> new Postings()).append(cardId);
+            }
+            cards++;
+        }
+
+        private void sort() {
+            terms.values().forEach(Postings::sort);
+        }
+
+        private long cards() {
+            lock.readLock().lock();
+            try {
+                return cards;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private long match(final List<CardTokenizer.Term> query, final int limit, final List<Long> newest) {
+            lock.readLock().lock();
+            try {
+                var runs = new ArrayList<Run>(query.size());
+                for (var term : query) {
+                    var run = term.prefix() ? prefixRun(term.text()) : exactRun(term.text());
+                    if (run.size == 0) {
+                        return 0;
+                    }
+                    runs.add(run);
+                }
+                runs.sort(Comparator.comparingInt(Run::size));
+                var result = runs.getFirst();
+                for (int i = 1; i < runs.size() && result.size > 0; i++) {
+                    result = intersect(result, runs.get(i));
+                }
+                for (int i = result.size - 1; i >= Math.max(0, result.size - limit); i--) {
+                    newest.add(result.ids[i]);
+                }
+                return result.size;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Run exactRun(final String term) {
+            var postings = terms.get(term);
+            return postings == null ? Run.EMPTY : new Run(postings.ids, postings.size);
+        }
+
+        private Run prefixRun(final String prefix) {
+            var matching = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+            if (matching.size() <= 1) {
+                return matching.isEmpty() ? Run.EMPTY : exactRun(terms.ceilingKey(prefix));
+            }
+            var size = 0;
+            for (var postings : matching) {
+                size += postings.size;
+            }
+            var ids = new long[size];
+            var position = 0;
+            for (var postings : matching) {
+                System.arraycopy(postings.ids, 0, ids, position, postings.size);
+                position += postings.size;
+            }
+            Arrays.sort(ids);
+            var distinct = 0;
+            for (int i = 0; i < ids.length; i++) {
+                if (i == 0 || ids[i] != ids[i - 1]) {
+                    ids[distinct++] = ids[i];
+                }
+            }
+            return new Run(ids, distinct);
+        }
+
+        private static Run intersect(final Run smaller, final Run larger) {
+            var ids = new long[smaller.size];
+            var size = 0;
+            var from = 0;
+            for (int i = 0; i < smaller.size && from < larger.size; i++) {
+                var found = Arrays.binarySearch(larger.ids, from, larger.size, smaller.ids[i]);
+                if (found >= 0) {
+                    ids[size++] = smaller.ids[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return new Run(ids, size);
+        }
+
+    }
+
+    private record Run(long[] ids, int size) {
+
+        private static final Run EMPTY = new Run(new long[0], 0);
+
+    }
+
+    private static final class Postings {
+
+        private long[] ids = new long[1];
+        private int size;
+
+        private void append(final long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            ids[size++] = id;
+        }
+
+        private void insert(final long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                append(id);
+                return;
+            }
+            var position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            append(id);
+            position = -position - 1;
+            System.arraycopy(ids, position, ids, position + 1, size - position - 1);
+            ids[position] = id;
+        }
+
+        private boolean delete(final long id) {
+            var position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        private void sort() {
+            Arrays.sort(ids, 0, size);
+            ids = Arrays.copyOf(ids, size);
+        }
+
+    }
+
+}
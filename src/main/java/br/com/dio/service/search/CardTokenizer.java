@@ -0,0 +1,106 @@
+package br.com.dio.service.search;
+
+import lombok.NoArgsConstructor;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@NoArgsConstructor(access = PRIVATE)
+public final class CardTokenizer {
+
+    private static final char[] LATIN_FOLD = latinFold();
+
+    public static Set<String> tokens(final String... texts) {
+        var tokens = new LinkedHashSet<String>();
+        for (var text : texts) {
+            if (text != null) {
+                split(text, tokens);
+            }
+        }
+        return tokens;
+    }
+
+    public static List<Term> terms(final String query) {
+        var terms = new ArrayList<Term>();
+        for (var word : query.trim().split("\\s+")) {
+            var tokens = new ArrayList<>(tokens(word));
+            for (int i = 0; i < tokens.size(); i++) {
+                var prefix = i == tokens.size() - 1 && word.endsWith("*");
+                terms.add(new Term(tokens.get(i), prefix));
+            }
+        }
+        return terms;
+    }
+
+    private static void split(final String text, final Set<String> tokens) {
+        var normalized = fold(text);
+        var start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+    }
+
+    private static String fold(final String text) {
+        var lowerCase = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lowerCase.length(); i++) {
+            if (lowerCase.charAt(i) > 0x7F) {
+                return foldFrom(lowerCase, i);
+            }
+        }
+        return lowerCase;
+    }
+
+    private static String foldFrom(final String lowerCase, final int firstNonAscii) {
+        var folded = new StringBuilder(lowerCase.length()).append(lowerCase, 0, firstNonAscii);
+        for (int i = firstNonAscii; i < lowerCase.length(); i++) {
+            var c = lowerCase.charAt(i);
+            if (c < LATIN_FOLD.length) {
+                folded.append(LATIN_FOLD[c]);
+            } else {
+                return stripMarks(Normalizer.normalize(lowerCase, Normalizer.Form.NFD));
+            }
+        }
+        return folded.toString();
+    }
+
+    private static char[] latinFold() {
+        var table = new char[0x250];
+        for (char c = 0; c < table.length; c++) {
+            var decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            table[c] = decomposed.length() > 1 && Character.getType(decomposed.charAt(1)) == Character.NON_SPACING_MARK
+                    ? decomposed.charAt(0) : c;
+        }
+        return table;
+    }
+
+    private static String stripMarks(final String decomposed) {
+        var folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            var c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+
+    public record Term(String text, boolean prefix) {
+    }
+
+}
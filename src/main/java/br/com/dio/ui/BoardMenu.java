@@ -1,13 +1,24 @@
 package br.com.dio.ui;
 
 import br.com.dio.dto.BoardColumnInfoDTO;
+import br.com.dio.dto.BulkTransitionResultDTO;
+import br.com.dio.dto.ColumnCardsPageDTO;
+import br.com.dio.dto.FlowPercentilesDTO;
+import br.com.dio.exception.EntityNotFoundException;
 import br.com.dio.persistence.entity.BoardColumnEntity;
 import br.com.dio.persistence.entity.BoardEntity;
 import br.com.dio.persistence.entity.CardEntity;
 import br.com.dio.service.*;
 import lombok.AllArgsConstructor;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
@@ -15,6 +26,8 @@ import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
 @AllArgsConstructor
 public class BoardMenu {
 
+    private static final int PAGE_SIZE = 20;
+
     private final Scanner scanner = new Scanner(System.in).useDelimiter("\n");
 
     private final BoardEntity board;
@@ -23,7 +36,7 @@ public class BoardMenu {
         try {
             System.out.printf("Welcome to board %s, select the desired operation\n", board.getId());
             var option = -1;
-            while (option != 12) {
+            while (option != 18) {
                 System.out.println("1 - Create a card");
                 System.out.println("2 - Move a card");
                 System.out.println("3 - Block a card");
@@ -34,8 +47,15 @@ public class BoardMenu {
                 System.out.println("8 - View card");
                 System.out.println("9 - View board time report");
                 System.out.println("10 - View block report");
-                System.out.println("11 - Return to previous menu");
-                System.out.println("12 - Exit");
+                System.out.println("11 - Import cards from a CSV or NDJSON file");
+                System.out.println("12 - Export block report to a CSV or NDJSON file");
+                System.out.println("13 - Move several cards to their next column");
+                System.out.println("14 - Cancel several cards");
+                System.out.println("15 - View lead and cycle time percentiles");
+                System.out.println("16 - Export board to a binary dump file");
+                System.out.println("17 - Search cards");
+                System.out.println("18 - Return to previous menu");
+                System.out.println("19 - Exit");
                 option = scanner.nextInt();
                 switch (option) {
                     case 1 -> createCard();
@@ -48,8 +68,15 @@ public class BoardMenu {
                     case 8 -> showCard();
                     case 9 -> showTimeReport();
                     case 10 -> showBlockReport();
-                    case 11 -> System.out.println("Returning to previous menu");
-                    case 12 -> System.exit(0);
+                    case 11 -> importCards();
+                    case 12 -> exportBlockReport();
+                    case 13 -> moveCardsToNextColumn();
+                    case 14 -> cancelCards();
+                    case 15 -> showCycleTimeReport();
+                    case 16 -> exportBoardDump();
+                    case 17 -> searchCards();
+                    case 18 -> System.out.println("Returning to previous menu");
+                    case 19 -> System.exit(0);
                     default -> System.out.println("Invalid option, please select a valid one");
                 }
             }
@@ -65,34 +92,95 @@ public class BoardMenu {
         card.setTitle(scanner.next());
         System.out.println("Enter the card description");
         card.setDescription(scanner.next());
-        card.setBoardColumn(board.getInitialColumn());
         try (var connection = getConnection()) {
+            card.setBoardColumn(currentBoard(connection).getInitialColumn());
             new CardService(connection).create(card);
+        } catch (RuntimeException ex) {
+            System.out.println(ex.getMessage());
+        }
+    }
+
+    private void importCards() throws SQLException {
+        System.out.println("Enter the path of the file to import");
+        var path = Path.of(scanner.next().trim());
+        System.out.printf("Enter the number of cards per transaction (default %s)\n", CardService.DEFAULT_CHUNK_SIZE);
+        var chunkSize = scanner.nextInt();
+        try (var connection = getConnection()) {
+            var initialColumn = currentBoard(connection).getInitialColumn();
+            var summary = new CardImportService(connection).importFile(path, initialColumn,
+                    chunkSize > 0 ? chunkSize : CardService.DEFAULT_CHUNK_SIZE,
+                    chunk -> System.out.printf("Chunk %s: %s cards in %s ms (%.0f cards/s)\n",
+                            chunk.chunk(), chunk.cards(), chunk.elapsed().toMillis(), chunk.cardsPerSecond()));
+            System.out.printf("Imported %s cards in %s chunks in %s ms\n",
+                    summary.cards(), summary.chunks(), summary.elapsed().toMillis());
+        } catch (IOException ex) {
+            System.out.printf("Could not read %s: %s\n", path, ex.getMessage());
+        } catch (RuntimeException ex) {
+            System.out.println(ex.getMessage());
         }
     }
 
     private void moveCardToNextColumn() throws SQLException {
         System.out.println("Enter the ID of the card you want to move to the next column");
         var cardId = scanner.nextLong();
-        var columnsInfo = board.getBoardColumns().stream()
-                .map(c -> new BoardColumnInfoDTO(c.getId(), c.getOrder(), c.getKind()))
-                .toList();
         try (var connection = getConnection()) {
+            var columnsInfo = currentColumnsInfo(connection);
             new CardService(connection).moveToNextColumn(cardId, columnsInfo);
         } catch (RuntimeException ex) {
             System.out.println(ex.getMessage());
         }
     }
 
+    private void moveCardsToNextColumn() throws SQLException {
+        System.out.println("Enter the IDs of the cards to move, separated by commas");
+        var cardIds = readCardIds();
+        try (var connection = getConnection()) {
+            var columnsInfo = currentColumnsInfo(connection);
+            printTransitionResult(new CardService(connection).moveAllToNextColumn(cardIds, columnsInfo));
+        } catch (RuntimeException ex) {
+            System.out.println(ex.getMessage());
+        }
+    }
+
+    private void cancelCards() throws SQLException {
+        System.out.println("Enter the IDs of the cards to cancel, separated by commas");
+        var cardIds = readCardIds();
+        try (var connection = getConnection()) {
+            var currentBoard = currentBoard(connection);
+            var result = new CardService(connection)
+                    .cancelAll(cardIds, currentBoard.getCancelColumn().getId(), toColumnsInfo(currentBoard));
+            printTransitionResult(result);
+        } catch (RuntimeException ex) {
+            System.out.println(ex.getMessage());
+        }
+    }
+
+    private List<Long> readCardIds() {
+        while (true) {
+            var input = scanner.next();
+            try {
+                return Arrays.stream(input.split("[,\\s]+"))
+                        .filter(id -> !id.isBlank())
+                        .map(Long::valueOf)
+                        .toList();
+            } catch (NumberFormatException ex) {
+                System.out.printf("Invalid card IDs '%s', enter numbers separated by commas\n", input);
+            }
+        }
+    }
+
+    private void printTransitionResult(final BulkTransitionResultDTO result) {
+        System.out.printf("%s cards moved\n", result.transitioned().size());
+        result.rejected().forEach((cardId, reason) -> System.out.printf("Card %s rejected: %s\n", cardId, reason));
+    }
+
     private void blockCard() throws SQLException {
         System.out.println("Enter the ID of the card to be blocked");
         var cardId = scanner.nextLong();
         System.out.println("Enter the reason for blocking the card");
         var reason = scanner.next();
-        var columnsInfo = board.getBoardColumns().stream()
-                .map(c -> new BoardColumnInfoDTO(c.getId(), c.getOrder(), c.getKind()))
-                .toList();
         try (var connection = getConnection()) {
+            var columnsInfo = currentColumnsInfo(connection);
             new CardService(connection).block(cardId, reason, columnsInfo);
         } catch (RuntimeException ex) {
             System.out.println(ex.getMessage());
@@ -114,11 +202,10 @@ public class BoardMenu {
     private void cancelCard() throws SQLException {
         System.out.println("Enter the ID of the card to move to the cancel column");
         var cardId = scanner.nextLong();
-        var cancelColumn = board.getCancelColumn();
-        var columnsInfo = board.getBoardColumns().stream()
-                .map(c -> new BoardColumnInfoDTO(c.getId(), c.getOrder(), c.getKind()))
-                .toList();
         try (var connection = getConnection()) {
+            var currentBoard = currentBoard(connection);
+            var cancelColumn = currentBoard.getCancelColumn();
+            var columnsInfo = toColumnsInfo(currentBoard);
             new CardService(connection).cancel(cardId, cancelColumn.getId(), columnsInfo);
         } catch (RuntimeException ex) {
             System.out.println(ex.getMessage());
@@ -138,23 +225,37 @@ public class BoardMenu {
     }
 
     private void showColumn() throws SQLException {
-        var columnIds = board.getBoardColumns().stream().map(BoardColumnEntity::getId).toList();
+        BoardEntity currentBoard;
+        try (var connection = getConnection()) {
+            currentBoard = currentBoard(connection);
+        }
+        var columnIds = currentBoard.getBoardColumns().stream().map(BoardColumnEntity::getId).toList();
         var selectedColumnId = -1L;
         while (!columnIds.contains(selectedColumnId)) {
-            System.out.printf("Select a column from board %s by ID\n", board.getName());
-            board.getBoardColumns().forEach(c ->
+            System.out.printf("Select a column from board %s by ID\n", currentBoard.getName());
+            currentBoard.getBoardColumns().forEach(c ->
                     System.out.printf("%s - %s [%s]\n", c.getId(), c.getName(), c.getKind()));
             selectedColumnId = scanner.nextLong();
         }
-        try (var connection = getConnection()) {
-            var column = new BoardColumnQueryService(connection).findById(selectedColumnId);
-            column.ifPresent(c -> {
-                System.out.printf("Column %s type %s\n", c.getName(), c.getKind());
-                c.getCards().forEach(card ->
-                        System.out.printf("Card %s - %s\nDescription: %s",
-                                card.getId(), card.getTitle(), card.getDescription()));
-            });
-        }
+        var columnId = selectedColumnId;
+        currentBoard.getBoardColumns().stream()
+                .filter(c -> c.getId().equals(columnId))
+                .findFirst()
+                .ifPresent(c -> System.out.printf("Column %s type %s\n", c.getName(), c.getKind()));
+        String pageToken = null;
+        do {
+            ColumnCardsPageDTO page;
+            try (var connection = getConnection()) {
+                page = new BoardColumnQueryService(connection).findCardsPage(columnId, PAGE_SIZE, pageToken);
+            }
+            page.cards().forEach(card ->
+                    System.out.printf("Card %s - %s\nDescription: %s\n",
+                            card.id(), card.title(), card.description()));
+            pageToken = page.nextPageToken();
+            if (page.hasNext()) {
+                System.out.println("Enter 'n' for the next page or anything else to stop");
+            }
+        } while (pageToken != null && scanner.next().trim().equalsIgnoreCase("n"));
     }
 
     private void showCard() throws SQLException {
@@ -177,8 +278,9 @@ public class BoardMenu {
     }
 
     private void showTimeReport() throws SQLException {
+        var includeArchived = askIncludeArchived();
         try (var connection = getConnection()) {
-            var report = new ReportService(connection).generateBoardTimeReport(board.getId());
+            var report = new ReportService(connection).generateBoardTimeReport(board.getId(), includeArchived);
 
             System.out.printf("Time Report - Board: %s (%d)\n",
                     report.boardName(),
@@ -205,13 +307,35 @@ public class BoardMenu {
         }
     }
 
-    private void showBlockReport() throws SQLException {
+    private void showCycleTimeReport() throws SQLException {
+        System.out.println("Enter how many days back to analyze (0 for the whole history)");
+        var days = scanner.nextInt();
+        var from = days > 0 ? OffsetDateTime.now().minusDays(days) : null;
         try (var connection = getConnection()) {
-            var report = new ReportService(connection).generateBlockReport(board.getId());
+            var report = new CycleTimeService(connection).generateReport(board.getId(), from, null);
+            System.out.printf("Cycle Time Report - Board: %s (%d)\n", board.getName(), board.getId());
+            printPercentiles("Lead time", report.leadTime());
+            printPercentiles("Cycle time", report.cycleTime());
+            report.timePerColumn().forEach((column, percentiles) -> printPercentiles("- " + column, percentiles));
+        }
+    }
 
+    private boolean askIncludeArchived() {
+        System.out.println("Include archived cards? (y/n)");
+        return scanner.next().trim().equalsIgnoreCase("y");
+    }
+
+    private void printPercentiles(final String label, final FlowPercentilesDTO percentiles) {
+        System.out.printf("%s (%s samples): p50 %s, p85 %s, p95 %s, p99 %s, max %s\n", label, percentiles.count(),
+                percentiles.p50(), percentiles.p85(), percentiles.p95(), percentiles.p99(), percentiles.max());
+    }
+
+    private void showBlockReport() throws SQLException {
+        var includeArchived = askIncludeArchived();
+        try (var connection = getConnection()) {
             System.out.printf("Block Report - Board: %s (%d)\n", board.getName(), board.getId());
 
-            for (var block : report) {
+            new ReportService(connection).streamBlockReport(board.getId(), includeArchived, block -> {
                 System.out.printf("\nCard: %s (%d)\n", block.cardTitle(), block.cardId());
                 System.out.printf("Block reason: %s\n", block.blockReason());
                 System.out.printf("Unblock reason: %s\n", block.unblockReason());
@@ -223,7 +347,65 @@ public class BoardMenu {
                 } else {
                     System.out.println("Still blocked");
                 }
-            }
+            });
+        }
+    }
+
+    private void exportBlockReport() throws SQLException {
+        System.out.println("Enter the path of the .csv or .ndjson file to write");
+        var path = Path.of(scanner.next().trim());
+        var includeArchived = askIncludeArchived();
+        try (var connection = getConnection()) {
+            var start = System.nanoTime();
+            var rows = new ReportService(connection).exportBlockReport(board.getId(), includeArchived, path);
+            System.out.printf("Exported %s blocks to %s in %s ms\n",
+                    rows, path, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (IOException ex) {
+            System.out.printf("Could not write %s: %s\n", path, ex.getMessage());
+        } catch (RuntimeException ex) {
+            System.out.println(ex.getMessage());
         }
     }
+
+    private void searchCards() throws SQLException {
+        System.out.println("Enter the words to search for, end a word with * to match it as a prefix");
+        var query = scanner.next();
+        try (var connection = getConnection()) {
+            var result = new CardSearchService(connection).search(query, board.getId(), CardSearchService.DEFAULT_LIMIT);
+            result.cards().forEach(c -> System.out.printf("Card %s - %s (%s)\n", c.id(), c.title(), c.columnName()));
+            System.out.printf("%s cards found in %s ms\n", result.total(), result.elapsed().toMillis());
+        }
+    }
+
+    private void exportBoardDump() throws SQLException {
+        System.out.println("Enter the path of the dump file to write");
+        var path = Path.of(scanner.next().trim());
+        System.out.println("Compress the dump? (y/n)");
+        var compress = scanner.next().trim().equalsIgnoreCase("y");
+        try (var connection = getConnection()) {
+            var summary = new BoardDumpService(connection).exportBoard(board.getId(), path, compress);
+            System.out.printf("Exported %s columns, %s cards, %s blocks and %s movements to %s (%s bytes) in %s ms\n",
+                    summary.columns(), summary.cards(), summary.blocks(), summary.movements(), path, summary.bytes(),
+                    summary.elapsed().toMillis());
+        } catch (IOException ex) {
+            System.out.printf("Could not write %s: %s\n", path, ex.getMessage());
+        } catch (RuntimeException ex) {
+            System.out.println(ex.getMessage());
+        }
+    }
+
+    private BoardEntity currentBoard(final Connection connection) throws SQLException {
+        return new BoardQueryService(connection).findById(board.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Board %s no longer exists".formatted(board.getId())));
+    }
+
+    private List<BoardColumnInfoDTO> currentColumnsInfo(final Connection connection) throws SQLException {
+        return toColumnsInfo(currentBoard(connection));
+    }
+
+    private static List<BoardColumnInfoDTO> toColumnsInfo(final BoardEntity board) {
+        return board.getBoardColumns().stream()
+                .map(c -> new BoardColumnInfoDTO(c.getId(), c.getOrder(), c.getKind()))
+                .toList();
+    }
 }
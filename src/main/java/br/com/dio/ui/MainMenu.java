@@ -3,15 +3,34 @@ package br.com.dio.ui;
 import br.com.dio.persistence.entity.BoardColumnEntity;
 import br.com.dio.persistence.entity.BoardColumnKindEnum;
 import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.journal.MovementJournal;
+import br.com.dio.persistence.writebehind.MovementWriteBehind;
+import br.com.dio.service.BoardColumnCounterService;
+import br.com.dio.service.BoardDumpService;
+import br.com.dio.service.BoardReportProgress;
+import br.com.dio.service.CardArchiveService;
+import br.com.dio.service.CardDwellService;
+import br.com.dio.service.CardSearchService;
 import br.com.dio.service.BoardQueryService;
 import br.com.dio.service.BoardService;
+import br.com.dio.service.MultiBoardReportService;
+import br.com.dio.service.archive.CardArchiverSettings;
+import br.com.dio.service.cache.BoardSnapshotCache;
+import br.com.dio.service.concurrency.OptimisticRetry;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.Scanner;
 
 import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.config.ConnectionConfig.getPoolMetrics;
+import static br.com.dio.persistence.config.ConnectionConfig.getQueryStats;
+import static br.com.dio.persistence.config.ConnectionConfig.getSqlMetrics;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
 import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
@@ -28,13 +47,27 @@ public class MainMenu {
             System.out.println("1 - Create a new board");
             System.out.println("2 - Select an existing board");
             System.out.println("3 - Delete a board");
-            System.out.println("4 - Exit");
+            System.out.println("4 - View connection pool and cache statistics");
+            System.out.println("5 - Check column card counters");
+            System.out.println("6 - Rebuild card time per column from the movement history");
+            System.out.println("7 - Generate time and block reports for every board");
+            System.out.println("8 - Import a board from a binary dump file");
+            System.out.println("9 - Search cards on every board");
+            System.out.println("10 - Archive finished and canceled cards past the retention period");
+            System.out.println("11 - Exit");
             option = scanner.nextInt();
             switch (option) {
                 case 1 -> createBoard();
                 case 2 -> selectBoard();
                 case 3 -> deleteBoard();
-                case 4 -> System.exit(0);
+                case 4 -> showPoolMetrics();
+                case 5 -> checkColumnCounters();
+                case 6 -> rebuildCardDwell();
+                case 7 -> showAllBoardsReport();
+                case 8 -> importBoardDump();
+                case 9 -> searchCards();
+                case 10 -> archiveFinishedCards();
+                case 11 -> System.exit(0);
                 default -> System.out.println("Invalid option, please select a valid one");
             }
         }
@@ -82,14 +115,15 @@ public class MainMenu {
     private void selectBoard() throws SQLException {
         System.out.println("Enter the ID of the board you want to select");
         var id = scanner.nextLong();
+        Optional<BoardEntity> optional;
         try (var connection = getConnection()) {
             var queryService = new BoardQueryService(connection);
-            var optional = queryService.findById(id);
-            optional.ifPresentOrElse(
-                    b -> new BoardMenu(b).execute(),
-                    () -> System.out.printf("No board found with ID %s\n", id)
-            );
+            optional = queryService.findById(id);
         }
+        optional.ifPresentOrElse(
+                b -> new BoardMenu(b).execute(),
+                () -> System.out.printf("No board found with ID %s\n", id)
+        );
     }
 
     private void deleteBoard() throws SQLException {
@@ -105,6 +139,128 @@ public class MainMenu {
         }
     }
 
+    private void importBoardDump() throws SQLException {
+        System.out.println("Enter the path of the dump file to import");
+        var path = Path.of(scanner.next().trim());
+        try (var connection = getConnection()) {
+            var summary = new BoardDumpService(connection).importBoard(path, BoardDumpService.DEFAULT_CHUNK_SIZE);
+            System.out.printf("Imported board %s with %s columns, %s cards, %s blocks and %s movements in %s ms\n",
+                    summary.boardId(), summary.columns(), summary.cards(), summary.blocks(), summary.movements(),
+                    summary.elapsed().toMillis());
+        } catch (IOException ex) {
+            System.out.printf("Could not import %s: %s\n", path, ex.getMessage());
+        }
+    }
+
+    private void searchCards() throws SQLException {
+        System.out.println("Enter the words to search for, end a word with * to match it as a prefix");
+        var query = scanner.next();
+        try (var connection = getConnection()) {
+            var result = new CardSearchService(connection).search(query, null, CardSearchService.DEFAULT_LIMIT);
+            result.cards().forEach(c -> System.out.printf("Board %s card %s - %s (%s)\n",
+                    c.boardId(), c.id(), c.title(), c.columnName()));
+            System.out.printf("%s cards found in %s ms\n", result.total(), result.elapsed().toMillis());
+        }
+    }
+
+    private void archiveFinishedCards() throws SQLException {
+        var settings = CardArchiverSettings.fromSystemProperties();
+        var cutoff = OffsetDateTime.now().minus(settings.retention());
+        try (var connection = getConnection()) {
+            var summary = new CardArchiveService(connection).archiveFinishedBefore(cutoff, settings.chunkSize());
+            System.out.printf("Archived %s cards, %s blocks and %s movements finished before %s in %s chunks (%s ms)\n",
+                    summary.cards(), summary.blocks(), summary.movements(), summary.cutoff(), summary.chunks(),
+                    summary.elapsed().toMillis());
+        }
+    }
+
+    private void checkColumnCounters() throws SQLException {
+        try (var connection = getConnection()) {
+            var service = new BoardColumnCounterService(connection);
+            var drifts = service.check();
+            if (drifts.isEmpty()) {
+                System.out.println("All column card counters are consistent");
+                return;
+            }
+            drifts.forEach(d -> System.out.printf("Board %s column %s - %s stores %s cards but has %s\n",
+                    d.boardId(), d.columnId(), d.columnName(), d.storedAmount(), d.actualAmount()));
+            System.out.println("Rebuild the counters from the cards table? (y/n)");
+            if (scanner.next().trim().equalsIgnoreCase("y")) {
+                System.out.printf("%s column counters rebuilt\n", service.rebuild());
+            }
+        }
+    }
+
+    private void rebuildCardDwell() throws SQLException {
+        try (var connection = getConnection()) {
+            var start = System.nanoTime();
+            var rebuilt = new CardDwellService(connection).rebuild();
+            System.out.printf("%s card column dwell rows rebuilt in %s ms\n",
+                    rebuilt, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private void showAllBoardsReport() throws SQLException {
+        var reports = MultiBoardReportService.fromSystemProperties();
+        var boardIds = reports.findAllBoardIds();
+        var progress = new BoardReportProgress() {
+            @Override
+            public void completed(final Long boardId, final int done, final int total) {
+                System.out.printf("[%s/%s] board %s done\n", done, total, boardId);
+            }
+
+            @Override
+            public void failed(final Long boardId, final String reason, final int done, final int total) {
+                System.out.printf("[%s/%s] board %s failed: %s\n", done, total, boardId, reason);
+            }
+        };
+        var timeReports = reports.timeReports(boardIds, progress);
+        var blockReports = reports.blockReports(boardIds, progress);
+        for (var report : timeReports.reports().values()) {
+            var blocks = blockReports.reports().getOrDefault(report.boardId(), List.of());
+            System.out.printf("Board %s (%s): %s cards, average time %sh %sm, %s blocks\n",
+                    report.boardName(), report.boardId(), report.cards().size(),
+                    report.averageCompletionTime().toHours(), report.averageCompletionTime().toMinutesPart(),
+                    blocks.size());
+        }
+        System.out.printf("%s boards reported in %s ms (time) and %s ms (blocks)\n", boardIds.size(),
+                timeReports.elapsed().toMillis(), blockReports.elapsed().toMillis());
+    }
+
+    private void showPoolMetrics() {
+        getPoolMetrics().ifPresent(metrics -> {
+            System.out.printf("Connections active: %s, idle: %s, max: %s, waiting: %s\n",
+                    metrics.active(), metrics.idle(), metrics.maxSize(), metrics.waiting());
+            System.out.printf("Borrows: %s, average wait: %s ms, max wait: %s ms, timeouts: %s\n",
+                    metrics.borrows(), metrics.averageWait().toMillis(), metrics.maxWait().toMillis(), metrics.timeouts());
+            System.out.printf("Created: %s, destroyed: %s, failed validations: %s\n",
+                    metrics.created(), metrics.destroyed(), metrics.validationFailures());
+        });
+        var cacheStats = BoardSnapshotCache.shared().stats();
+        System.out.printf("Board cache size: %s/%s, hits: %s, misses: %s, hit rate: %.1f%%\n",
+                cacheStats.size(), cacheStats.maxSize(), cacheStats.hits(), cacheStats.misses(), cacheStats.hitRate() * 100);
+        System.out.printf("Board cache evictions: %s, invalidations: %s\n",
+                cacheStats.evictions(), cacheStats.invalidations());
+        MovementJournal.shared().ifPresent(journal -> System.out.printf(
+                "Movement journal records: %s, segments: %s\n", journal.size(), journal.segmentCount()));
+        MovementWriteBehind.shared().map(MovementWriteBehind::metrics).ifPresent(m -> System.out.printf(
+                "Movement write-behind (%s) queue: %s/%s, flushed: %s, dropped: %s, flushes: %s, " +
+                        "average batch: %.1f, average flush: %s ms, max flush: %s ms\n",
+                m.durability(), m.queueDepth(), m.queueCapacity(), m.flushed(), m.dropped(), m.flushes(),
+                m.averageBatchSize(), m.averageFlush().toMillis(), m.maxFlush().toMillis()));
+        OptimisticRetry.shared().stats().forEach(c -> System.out.printf(
+                "Board %s conflicts: %s, retries: %s, exhausted retries: %s\n",
+                c.boardId(), c.conflicts(), c.retries(), c.exhausted()));
+        getSqlMetrics().ifPresent(sql -> sql.stats().stream().limit(10).forEach(s -> System.out.printf(
+                "SQL calls: %s, total: %s ms, p50: %s ms, p99: %s ms, rows: %s, slow: %s, errors: %s - %s\n",
+                s.calls(), s.totalTime().toMillis(), s.p50().toMillis(), s.p99().toMillis(), s.rows(),
+                s.slowCalls(), s.errors(), s.sql())));
+        getQueryStats().stream().filter(q -> q.prepares() + q.reuses() > 0).forEach(q -> System.out.printf(
+                "Query %s prepares: %s, reuses: %s (%.1f%%), evictions: %s, executions: %s, p99: %s ms\n",
+                q.query(), q.prepares(), q.reuses(), q.reuseRate() * 100, q.evictions(), q.executions(),
+                q.p99().toMillis()));
+    }
+
     private BoardColumnEntity createColumn(final String name, final BoardColumnKindEnum kind, final int order) {
         var boardColumn = new BoardColumnEntity();
         boardColumn.setName(name);
@@ -0,0 +1,9 @@
+--liquibase formatted sql
+--changeset gustavo:202610180001
+--comment: access path indexes for blocks and card movements
+
+CREATE INDEX blocks_card_id_unblocked_at_idx ON BLOCKS (card_id, unblocked_at, blocked_at);
+CREATE INDEX card_movements_card_id_moved_at_idx ON CARD_MOVEMENTS (card_id, moved_at, to_column_id);
+
+--rollback DROP INDEX card_movements_card_id_moved_at_idx ON CARD_MOVEMENTS;
+--rollback DROP INDEX blocks_card_id_unblocked_at_idx ON BLOCKS;
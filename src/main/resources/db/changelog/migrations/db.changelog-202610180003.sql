@@ -0,0 +1,7 @@
+--liquibase formatted sql
+--changeset gustavo:202610180003
+--comment: card version for optimistic concurrency
+
+ALTER TABLE CARDS ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+--rollback ALTER TABLE CARDS DROP COLUMN version;
@@ -0,0 +1,39 @@
+--liquibase formatted sql
+--changeset gustavo:202610180004
+--comment: per card column dwell projection
+
+ALTER TABLE CARDS ADD COLUMN last_moved_at TIMESTAMP(3) NULL;
+
+CREATE TABLE CARD_COLUMN_DWELL(
+    card_id BIGINT NOT NULL,
+    board_column_id BIGINT NOT NULL,
+    dwell_ms BIGINT NOT NULL DEFAULT 0,
+    visits INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (card_id, board_column_id),
+    CONSTRAINT cards__dwell_fk FOREIGN KEY (card_id) REFERENCES CARDS(id) ON DELETE CASCADE,
+    CONSTRAINT boards_columns__dwell_fk FOREIGN KEY (board_column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+INSERT INTO CARD_COLUMN_DWELL (card_id, board_column_id, dwell_ms, visits)
+SELECT m.card_id,
+       m.previous_column_id,
+       SUM(TIMESTAMPDIFF(MICROSECOND, m.previous_moved_at, m.moved_at) DIV 1000),
+       COUNT(*)
+  FROM (SELECT card_id,
+               moved_at,
+               LAG(to_column_id) OVER w previous_column_id,
+               LAG(moved_at) OVER w previous_moved_at
+          FROM CARD_MOVEMENTS
+        WINDOW w AS (PARTITION BY card_id ORDER BY moved_at, id)) m
+ WHERE m.previous_moved_at IS NOT NULL
+ GROUP BY m.card_id, m.previous_column_id;
+
+UPDATE CARDS c
+  JOIN (SELECT card_id, MAX(moved_at) last_moved_at
+          FROM CARD_MOVEMENTS
+         GROUP BY card_id) m
+    ON m.card_id = c.id
+   SET c.last_moved_at = m.last_moved_at;
+
+--rollback DROP TABLE CARD_COLUMN_DWELL;
+--rollback ALTER TABLE CARDS DROP COLUMN last_moved_at;
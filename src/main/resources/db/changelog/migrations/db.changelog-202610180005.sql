@@ -0,0 +1,8 @@
+--liquibase formatted sql
+--changeset gustavo:202610180005
+--comment: card creation time for lead time analytics, existing cards stay NULL
+
+ALTER TABLE CARDS ADD COLUMN created_at TIMESTAMP(3) NULL;
+ALTER TABLE CARDS MODIFY COLUMN created_at TIMESTAMP(3) NULL DEFAULT CURRENT_TIMESTAMP(3);
+
+--rollback ALTER TABLE CARDS DROP COLUMN created_at;
@@ -0,0 +1,11 @@
+--liquibase formatted sql
+--changeset gustavo:202610180006
+--comment: changelog fingerprint recorded after each successful migration so startup can skip Liquibase
+
+CREATE TABLE SCHEMA_FINGERPRINT(
+    id TINYINT PRIMARY KEY,
+    fingerprint CHAR(64) NOT NULL,
+    migrated_at TIMESTAMP(3) NOT NULL
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE SCHEMA_FINGERPRINT
@@ -0,0 +1,52 @@
+--liquibase formatted sql
+--changeset gustavo:202610180007
+--comment: archive tables for finished and canceled cards and their history
+
+CREATE INDEX cards_board_column_id_last_moved_at_idx ON CARDS (board_column_id, last_moved_at);
+
+CREATE TABLE CARDS_ARCHIVE(
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    board_column_id BIGINT NOT NULL,
+    created_at TIMESTAMP(3) NULL,
+    last_moved_at TIMESTAMP(3) NULL,
+    archived_at TIMESTAMP(3) NOT NULL,
+    CONSTRAINT boards_columns__cards_archive_fk FOREIGN KEY (board_column_id) REFERENCES BOARDS_COLUMNS(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE BLOCKS_ARCHIVE(
+    id BIGINT PRIMARY KEY,
+    blocked_at TIMESTAMP NULL,
+    block_reason VARCHAR(255) NOT NULL,
+    unblocked_at TIMESTAMP NULL,
+    unblock_reason VARCHAR(255) NULL,
+    card_id BIGINT NOT NULL,
+    CONSTRAINT cards_archive__blocks_archive_fk FOREIGN KEY (card_id) REFERENCES CARDS_ARCHIVE(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE CARD_MOVEMENTS_ARCHIVE(
+    id BIGINT PRIMARY KEY,
+    card_id BIGINT NOT NULL,
+    from_column_id BIGINT NULL,
+    to_column_id BIGINT NOT NULL,
+    moved_at TIMESTAMP NULL,
+    CONSTRAINT cards_archive__movements_archive_fk FOREIGN KEY (card_id) REFERENCES CARDS_ARCHIVE(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE INDEX card_movements_archive_card_id_moved_at_idx ON CARD_MOVEMENTS_ARCHIVE (card_id, moved_at);
+
+CREATE TABLE CARD_COLUMN_DWELL_ARCHIVE(
+    card_id BIGINT NOT NULL,
+    board_column_id BIGINT NOT NULL,
+    dwell_ms BIGINT NOT NULL,
+    visits INT NOT NULL,
+    PRIMARY KEY (card_id, board_column_id),
+    CONSTRAINT cards_archive__dwell_archive_fk FOREIGN KEY (card_id) REFERENCES CARDS_ARCHIVE(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+--rollback DROP TABLE CARD_COLUMN_DWELL_ARCHIVE;
+--rollback DROP TABLE CARD_MOVEMENTS_ARCHIVE;
+--rollback DROP TABLE BLOCKS_ARCHIVE;
+--rollback DROP TABLE CARDS_ARCHIVE;
+--rollback DROP INDEX cards_board_column_id_last_moved_at_idx ON CARDS;
@@ -0,0 +1,284 @@
+package br.com.dio.queryplan;
+
+import br.com.dio.persistence.dao.BlockDAO;
+import br.com.dio.persistence.dao.BoardColumnDAO;
+import br.com.dio.persistence.dao.BoardDAO;
+import br.com.dio.persistence.dao.CardArchiveDAO;
+import br.com.dio.persistence.dao.CardDAO;
+import br.com.dio.persistence.dao.CardDwellDAO;
+import br.com.dio.persistence.dao.CardMovementDAO;
+import br.com.dio.persistence.entity.BlockEntity;
+import br.com.dio.persistence.entity.BoardColumnEntity;
+import br.com.dio.persistence.entity.BoardColumnKindEnum;
+import br.com.dio.persistence.entity.BoardEntity;
+import br.com.dio.persistence.entity.CardColumnDwellEntity;
+import br.com.dio.persistence.entity.CardEntity;
+import br.com.dio.persistence.entity.CardMovementEntity;
+import br.com.dio.persistence.migration.MigrationStrategy;
+import br.com.dio.service.BoardService;
+import br.com.dio.service.CardService;
+import br.com.dio.service.ReportService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static br.com.dio.persistence.config.ConnectionConfig.getConnection;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.CANCEL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.FINAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.INITIAL;
+import static br.com.dio.persistence.entity.BoardColumnKindEnum.PENDING;
+
+public class QueryPlanCheck {
+
+    private final int boards = Integer.getInteger("queryplan.boards", 5);
+    private final int cardsPerBoard = Integer.getInteger("queryplan.cardsPerBoard", 2_000);
+    private final int movementsPerCard = Integer.getInteger("queryplan.movementsPerCard", 3);
+    private final long rowThreshold = Long.getLong("queryplan.rowThreshold", 1_000L);
+
+    private final List<BoardEntity> seededBoards = new ArrayList<>();
+
+    public static void main(String[] args) throws SQLException {
+        var check = new QueryPlanCheck();
+        int violations;
+        try {
+            check.seed();
+            violations = check.explainAll();
+        } finally {
+            check.cleanUp();
+        }
+        if (violations > 0) {
+            System.err.printf("%s query plan violation(s) above %s rows\n", violations, check.rowThreshold);
+            System.exit(1);
+        }
+        System.out.println("All DAO statements use indexed access paths");
+    }
+
+    private void seed() throws SQLException {
+        try (var connection = getConnection()) {
+            new MigrationStrategy(connection).executeMigration();
+        }
+        for (int b = 0; b < boards; b++) {
+            try (var connection = getConnection()) {
+                var board = new BoardService(connection).insert(newBoard("query-plan-" + b));
+                var cards = new ArrayList<CardEntity>(cardsPerBoard);
+                for (int c = 0; c < cardsPerBoard; c++) {
+                    var card = new CardEntity();
+                    card.setTitle("Card " + c);
+                    card.setDescription("Query plan card " + c);
+                    card.setBoardColumn(board.getInitialColumn());
+                    cards.add(card);
+                }
+                new CardService(connection).createAll(cards);
+                seedHistory(connection, board, cards);
+                seededBoards.add(board);
+            }
+        }
+        try (var connection = getConnection()) {
+            new CardDwellDAO(connection).rebuildFromMovements();
+            connection.commit();
+        }
+        try (var connection = getConnection(); var statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE BOARDS, BOARDS_COLUMNS, CARDS, BLOCKS, CARD_MOVEMENTS, CARD_COLUMN_DWELL, " +
+                    "CARDS_ARCHIVE, BLOCKS_ARCHIVE, CARD_MOVEMENTS_ARCHIVE, CARD_COLUMN_DWELL_ARCHIVE");
+        }
+    }
+
+    private void seedHistory(final Connection connection, final BoardEntity board, final List<CardEntity> cards)
+            throws SQLException {
+        var movementSql = "INSERT INTO CARD_MOVEMENTS (card_id, from_column_id, to_column_id, moved_at) VALUES (?, ?, ?, ?);";
+        var blockSql = "INSERT INTO BLOCKS (blocked_at, block_reason, unblocked_at, unblock_reason, card_id) VALUES (?, ?, ?, ?, ?);";
+        var columns = board.getBoardColumns();
+        var start = Instant.now().minus(Duration.ofDays(30));
+        try (var movements = connection.prepareStatement(movementSql);
+             var blocks = connection.prepareStatement(blockSql)) {
+            for (int c = 0; c < cards.size(); c++) {
+                var cardId = cards.get(c).getId();
+                for (int m = 0; m < movementsPerCard; m++) {
+                    movements.setLong(1, cardId);
+                    movements.setLong(2, columns.get(m % 2).getId());
+                    movements.setLong(3, columns.get(m % 2 + 1).getId());
+                    movements.setTimestamp(4, Timestamp.from(start.plus(Duration.ofHours(m * 5L + c % 24))));
+                    movements.addBatch();
+                }
+                if (c % 5 == 0) {
+                    blocks.setTimestamp(1, Timestamp.from(start));
+                    blocks.setString(2, "Seeded block");
+                    blocks.setTimestamp(3, Timestamp.from(start.plus(Duration.ofHours(c % 48 + 1))));
+                    blocks.setString(4, "Seeded unblock");
+                    blocks.setLong(5, cardId);
+                    blocks.addBatch();
+                }
+            }
+            movements.executeBatch();
+            blocks.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private int explainAll() throws SQLException {
+        var capture = new StatementCapture();
+        var board = seededBoards.get(0);
+        var columnId = board.getInitialColumn().getId();
+        try (var connection = getConnection()) {
+            var cardId = new CardDAO(connection).findAllByBoard(board.getId()).get(0).getId();
+            var captured = capture.wrap(connection);
+
+            var boardDAO = new BoardDAO(captured);
+            boardDAO.findById(board.getId());
+            boardDAO.exists(board.getId());
+            var boardColumnDAO = new BoardColumnDAO(captured);
+            boardColumnDAO.findByBoardId(board.getId());
+            boardColumnDAO.findByBoardIdWithDetails(board.getId());
+            boardColumnDAO.findById(columnId);
+            boardColumnDAO.findCardsAfter(columnId, 0L, 21);
+            capture.bulk(boardColumnDAO::findCardsAmountDrift);
+            var cardDAO = new CardDAO(captured);
+            cardDAO.findById(cardId);
+            cardDAO.findAllByBoard(board.getId());
+            cardDAO.findStates(List.of(cardId, cardId + 1));
+            var movementDAO = new CardMovementDAO(captured);
+            movementDAO.getCardMovements(cardId);
+            movementDAO.getBoardTimeReports(board.getId());
+            capture.bulk(() -> movementDAO.streamAll(movement -> {}));
+            capture.bulk(() -> movementDAO.streamBoardFlow(board.getId(), OffsetDateTime.now(), event -> {}));
+            capture.bulk(() -> cardDAO.streamAllText(text -> {}));
+            var dwellDAO = new CardDwellDAO(captured);
+            dwellDAO.findTimePerColumn(cardId);
+            dwellDAO.findBoardTimeReports(board.getId());
+            new ReportService(captured).generateBlockReport(board.getId());
+            var archiveDAO = new CardArchiveDAO(captured);
+            archiveDAO.findBoardTimeReports(board.getId());
+            archiveDAO.streamBoardBlocks(board.getId(), block -> {});
+
+            var scratch = boardDAO.insert(newBoard("query-plan-scratch"));
+            for (var column : scratch.getBoardColumns()) {
+                column.setBoard(scratch);
+                boardColumnDAO.insert(column);
+            }
+            var card = new CardEntity();
+            card.setTitle("Scratch");
+            card.setDescription("Scratch card");
+            card.setBoardColumn(scratch.getInitialColumn());
+            cardDAO.insert(card);
+            cardDAO.insertAll(List.of(card));
+            cardDAO.moveToColumn(columnId, cardId, 0);
+            boardColumnDAO.addCardsAmount(columnId, 0);
+            capture.bulk(boardColumnDAO::rebuildCardsAmount);
+            movementDAO.recordMovement(cardId, columnId, columnId);
+            var movement = new CardMovementEntity();
+            movement.setCardId(cardId);
+            movement.setFromColumnId(columnId);
+            movement.setToColumnId(columnId);
+            movement.setMovedAt(OffsetDateTime.now());
+            movementDAO.recordMovements(List.of(movement));
+            dwellDAO.recordDeparture(cardId, columnId, OffsetDateTime.now());
+            capture.bulk(dwellDAO::rebuildFromMovements);
+            cardDAO.moveAllToColumns(Map.of(cardId, columnId), Map.of(cardId, 1L));
+            var blockDAO = new BlockDAO(captured);
+            blockDAO.block("Query plan", cardId, 2);
+            blockDAO.unblock("Query plan", cardId, 3);
+            var restored = new CardEntity();
+            restored.setTitle("Restored");
+            restored.setDescription("Restored card");
+            restored.setBoardColumn(scratch.getInitialColumn());
+            restored.setCreatedAt(OffsetDateTime.now());
+            cardDAO.restoreAll(List.of(restored));
+            var block = new BlockEntity();
+            block.setCardId(restored.getId());
+            block.setBlockedAt(OffsetDateTime.now());
+            block.setBlockReason("Query plan");
+            blockDAO.restoreAll(List.of(block));
+            var dwell = new CardColumnDwellEntity();
+            dwell.setCardId(restored.getId());
+            dwell.setBoardColumnId(scratch.getInitialColumn().getId());
+            dwellDAO.restoreAll(List.of(dwell), Map.of(restored.getId(), OffsetDateTime.now()));
+            cardDAO.moveToColumn(scratch.getCancelColumn().getId(), card.getId(), 0);
+            dwellDAO.recordDeparture(card.getId(), scratch.getInitialColumn().getId(), OffsetDateTime.now().minusDays(1));
+            archiveDAO.archiveFinishedBefore(OffsetDateTime.now(), 1);
+            boardDAO.delete(scratch.getId());
+            connection.rollback();
+        }
+
+        var violations = 0;
+        try (var connection = getConnection()) {
+            for (var statement : capture.getStatements()) {
+                violations += explain(connection, statement);
+            }
+        }
+        return violations;
+    }
+
+    private int explain(final Connection connection, final StatementCapture.CapturedStatement captured)
+            throws SQLException {
+        var sql = captured.sql().strip();
+        if (sql.endsWith(";")) {
+            sql = sql.substring(0, sql.length() - 1);
+        }
+        var violations = 0;
+        System.out.printf("\n%s%s\n", captured.bulk() ? "[bulk maintenance, scans allowed] " : "", sql);
+        try (var statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < captured.parameters().size(); i++) {
+                statement.setObject(i + 1, captured.parameters().get(i));
+            }
+            var resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                var table = resultSet.getString("table");
+                var type = resultSet.getString("type");
+                var rows = resultSet.getLong("rows");
+                var extra = resultSet.getString("Extra");
+                var fullScan = "ALL".equals(type) || "index".equals(type);
+                var filesort = extra != null && extra.contains("Using filesort");
+                var violation = !captured.bulk() && (fullScan || filesort) && rows > rowThreshold;
+                if (violation) {
+                    violations++;
+                }
+                System.out.printf("  %s table=%s type=%s key=%s rows=%s extra=%s\n",
+                        violation ? "FAIL" : "ok  ", table, type, resultSet.getString("key"), rows, extra);
+            }
+        }
+        return violations;
+    }
+
+    private void cleanUp() throws SQLException {
+        try (var connection = getConnection();
+             var movements = connection.prepareStatement(
+                     "DELETE cm FROM CARD_MOVEMENTS cm JOIN BOARDS_COLUMNS bc ON cm.to_column_id = bc.id WHERE bc.board_id = ?;");
+             var board = connection.prepareStatement("DELETE FROM BOARDS WHERE id = ?;")) {
+            for (var seeded : seededBoards) {
+                movements.setLong(1, seeded.getId());
+                movements.executeUpdate();
+                board.setLong(1, seeded.getId());
+                board.executeUpdate();
+            }
+            connection.commit();
+        }
+    }
+
+    private static BoardEntity newBoard(final String name) {
+        var board = new BoardEntity();
+        board.setName(name);
+        board.setBoardColumns(List.of(
+                column("Backlog", INITIAL, 0),
+                column("Doing", PENDING, 1),
+                column("Done", FINAL, 2),
+                column("Canceled", CANCEL, 3)
+        ));
+        return board;
+    }
+
+    private static BoardColumnEntity column(final String name, final BoardColumnKindEnum kind, final int order) {
+        var column = new BoardColumnEntity();
+        column.setName(name);
+        column.setKind(kind);
+        column.setOrder(order);
+        return column;
+    }
+
+}
@@ -0,0 +1,82 @@
+package br.com.dio.queryplan;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class StatementCapture {
+
+    private final Map<String, CapturedStatement> statements = new LinkedHashMap<>();
+    private boolean bulk;
+
+    public Connection wrap(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    var result = invoke(connection, method, args);
+                    if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                        return wrap(statement, (String) args[0]);
+                    }
+                    return result;
+                });
+    }
+
+    public Collection<CapturedStatement> getStatements() {
+        return statements.values();
+    }
+
+    public void bulk(final SqlAction action) throws SQLException {
+        bulk = true;
+        try {
+            action.run();
+        } finally {
+            bulk = false;
+        }
+    }
+
+    private PreparedStatement wrap(final PreparedStatement statement, final String sql) {
+        var parameters = new TreeMap<Integer, Object>();
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    var name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        parameters.put(index, name.equals("setNull") ? null : args[1]);
+                    }
+                    if (name.startsWith("execute")) {
+                        statements.putIfAbsent(sql, new CapturedStatement(sql, new ArrayList<>(parameters.values()), bulk));
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    public record CapturedStatement(String sql, List<Object> parameters, boolean bulk) {
+    }
+
+    @FunctionalInterface
+    public interface SqlAction {
+
+        void run() throws SQLException;
+
+    }
+
+}
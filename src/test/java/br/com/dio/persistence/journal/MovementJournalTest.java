@@ -0,0 +1,135 @@
+package br.com.dio.persistence.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MovementJournalTest {
+
+    private static final int SEGMENT_RECORDS = 4;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenReplaysEveryAppendedRecordInOrder() throws IOException {
+        try (var journal = MovementJournal.open(directory, SEGMENT_RECORDS, false)) {
+            journal.append(records(6));
+        }
+        try (var journal = MovementJournal.open(directory, SEGMENT_RECORDS, false)) {
+            assertEquals(6, journal.size());
+            assertEquals(2, journal.segmentCount());
+            assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L), cardIds(journal));
+        }
+    }
+
+    @Test
+    void truncatedLastRecordIsDiscardedAndItsSlotReused() throws IOException {
+        try (var journal = MovementJournal.open(directory, SEGMENT_RECORDS, false)) {
+            journal.append(records(3));
+        }
+        overwrite(segment(0), 2 * MovementJournal.RECORD_SIZE + 24, new byte[16]);
+
+        try (var journal = MovementJournal.open(directory, SEGMENT_RECORDS, false)) {
+            assertEquals(2, journal.size());
+            assertEquals(List.of(0L, 1L), cardIds(journal));
+            var appended = journal.append(List.of(record(42)));
+            assertEquals(2, appended.getFirst().sequence());
+        }
+        try (var journal = MovementJournal.open(directory, SEGMENT_RECORDS, false)) {
+            assertEquals(List.of(0L, 1L, 42L), cardIds(journal));
+        }
+    }
+
+    @Test
+    void corruptChecksumEndsTheValidLogAtThatRecord() throws IOException {
+        try (var journal = MovementJournal.open(directory, SEGMENT_RECORDS, false)) {
+            journal.append(records(4));
+        }
+        overwrite(segment(0), MovementJournal.RECORD_SIZE + 4, new byte[]{1, 2, 3, 4});
+
+        try (var journal = MovementJournal.open(directory, SEGMENT_RECORDS, false)) {
+            assertEquals(1, journal.size());
+            assertEquals(List.of(0L), cardIds(journal));
+        }
+    }
+
+    @Test
+    void partialSegmentFollowedByALaterSegmentFailsToOpen() throws IOException {
+        try (var journal = MovementJournal.open(directory, SEGMENT_RECORDS, false)) {
+            journal.append(records(SEGMENT_RECORDS + 2));
+        }
+        overwrite(segment(0), 3 * MovementJournal.RECORD_SIZE + 4, new byte[]{1, 2, 3, 4});
+
+        var ex = assertThrows(IOException.class, () -> MovementJournal.open(directory, SEGMENT_RECORDS, false));
+        assertTrue(ex.getMessage().contains("incomplete"));
+    }
+
+    @Test
+    void preparedRecordsAreReplayedOnlyOnceCommitted() throws IOException {
+        try (var journal = MovementJournal.open(directory, SEGMENT_RECORDS, false)) {
+            var committed = journal.prepare(List.of(record(1)));
+            var aborted = journal.prepare(List.of(record(2)));
+            journal.prepare(List.of(record(3)));
+            journal.commit(committed);
+            journal.abort(aborted);
+            assertEquals(List.of(1L), cardIds(journal));
+            assertEquals(1, journal.history().of(1).size());
+            assertTrue(journal.history().of(2).isEmpty());
+        }
+        try (var journal = MovementJournal.open(directory, SEGMENT_RECORDS, false)) {
+            assertEquals(List.of(1L), cardIds(journal));
+            var inDoubt = journal.inDoubt();
+            assertEquals(1, inDoubt.size());
+            assertEquals(3, inDoubt.getFirst().cardId());
+            journal.resolve(inDoubt);
+            assertEquals(List.of(1L, 3L), cardIds(journal));
+        }
+        try (var journal = MovementJournal.open(directory, SEGMENT_RECORDS, false)) {
+            assertTrue(journal.inDoubt().isEmpty());
+            assertEquals(List.of(1L, 3L), cardIds(journal));
+        }
+    }
+
+    private Path segment(final long base) {
+        return directory.resolve("movements-%020d.journal".formatted(base));
+    }
+
+    private static void overwrite(final Path file, final long position, final byte[] bytes) throws IOException {
+        try (var channel = FileChannel.open(file, READ, WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+
+    private static List<Long> cardIds(final MovementJournal journal) {
+        var ids = new ArrayList<Long>();
+        journal.replay(record -> ids.add(record.cardId()));
+        return ids;
+    }
+
+    private static List<JournalRecord> records(final int count) {
+        var records = new ArrayList<JournalRecord>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(record(i));
+        }
+        return records;
+    }
+
+    private static JournalRecord record(final long cardId) {
+        return JournalRecord.of(cardId, null, 1, OffsetDateTime.now());
+    }
+
+}
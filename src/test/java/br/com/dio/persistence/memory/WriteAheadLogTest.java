@@ -0,0 +1,151 @@
+package br.com.dio.persistence.memory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayAppliesEveryCommittedTransaction() throws IOException {
+        var file = directory.resolve("board.wal");
+        try (var log = WriteAheadLog.open(file, false)) {
+            var store = new InMemoryStore();
+            log.replay(store);
+            appendBoards(log, store, "first", "second", "third");
+        }
+
+        var store = new InMemoryStore();
+        try (var log = WriteAheadLog.open(file, false)) {
+            assertEquals(3, log.replay(store));
+        }
+        assertEquals("first", store.boards.get(1).name());
+        assertEquals("third", store.boards.get(3).name());
+        assertEquals(4, store.boards.nextId());
+    }
+
+    @Test
+    void truncatedLastRecordIsDroppedAndTheLogStaysAppendable() throws IOException {
+        var file = directory.resolve("board.wal");
+        try (var log = WriteAheadLog.open(file, false)) {
+            var store = new InMemoryStore();
+            log.replay(store);
+            appendBoards(log, store, "first", "second");
+        }
+        try (var channel = FileChannel.open(file, WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        var store = new InMemoryStore();
+        try (var log = WriteAheadLog.open(file, false)) {
+            assertEquals(1, log.replay(store));
+            assertNull(store.boards.get(2));
+            appendBoards(log, store, "replacement");
+        }
+
+        var reopened = new InMemoryStore();
+        try (var log = WriteAheadLog.open(file, false)) {
+            assertEquals(2, log.replay(reopened));
+        }
+        assertEquals("replacement", reopened.boards.get(2).name());
+    }
+
+    @Test
+    void corruptChecksumStopsReplayAndTruncatesTheTail() throws IOException {
+        var file = directory.resolve("board.wal");
+        long firstRecordEnd;
+        try (var log = WriteAheadLog.open(file, false)) {
+            var store = new InMemoryStore();
+            log.replay(store);
+            appendBoards(log, store, "first");
+            firstRecordEnd = Files.size(file);
+            appendBoards(log, store, "second", "third");
+        }
+        try (var channel = FileChannel.open(file, READ, WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), firstRecordEnd + Integer.BYTES * 2 + 6);
+        }
+
+        var store = new InMemoryStore();
+        try (var log = WriteAheadLog.open(file, false)) {
+            assertEquals(1, log.replay(store));
+        }
+        assertEquals("first", store.boards.get(1).name());
+        assertNull(store.boards.get(2));
+        assertNull(store.boards.get(3));
+        assertEquals(firstRecordEnd, Files.size(file));
+    }
+
+    @Test
+    void checkpointCompactsTheLogAndKeepsRowsAndSequences() throws IOException {
+        var file = directory.resolve("board.wal");
+        try (var log = WriteAheadLog.open(file, false, 2)) {
+            var store = new InMemoryStore();
+            log.replay(store);
+            appendBoards(log, store, "first", "second", "third");
+            store.boards.remove(3L);
+            log.append(List.of(new WriteAheadLog.Entry(store.boards, 3L, null)));
+            log.checkpoint(store);
+            appendBoards(log, store, "fourth");
+        }
+
+        var store = new InMemoryStore();
+        try (var log = WriteAheadLog.open(file, false, 2)) {
+            assertEquals(1, log.replay(store));
+        }
+        assertEquals("first", store.boards.get(1).name());
+        assertEquals("second", store.boards.get(2).name());
+        assertNull(store.boards.get(3));
+        assertEquals("fourth", store.boards.get(4).name());
+        assertEquals(5, store.boards.nextId());
+        assertFalse(Files.exists(directory.resolve("board.wal.checkpoint")));
+    }
+
+    @Test
+    void checkpointWritesLargeStoresAsSeveralRecords() throws IOException {
+        var file = directory.resolve("board.wal");
+        var names = new String[5_000];
+        for (var i = 0; i < names.length; i++) {
+            names[i] = "board-" + i;
+        }
+        try (var log = WriteAheadLog.open(file, false)) {
+            var store = new InMemoryStore();
+            log.replay(store);
+            appendBoards(log, store, names);
+            log.checkpoint(store);
+        }
+
+        var store = new InMemoryStore();
+        try (var log = WriteAheadLog.open(file, false)) {
+            assertEquals(0, log.replay(store));
+        }
+        assertEquals("board-0", store.boards.get(1).name());
+        assertEquals("board-4999", store.boards.get(5_000).name());
+        assertEquals(5_001, store.boards.nextId());
+    }
+
+    private static void appendBoards(final WriteAheadLog log, final InMemoryStore store, final String... names)
+            throws IOException {
+        for (var name : names) {
+            var id = store.boards.nextId();
+            var row = new BoardRow(id, name);
+            store.boards.put(id, row);
+            log.append(List.of(new WriteAheadLog.Entry(store.boards, id, row)));
+        }
+    }
+
+}